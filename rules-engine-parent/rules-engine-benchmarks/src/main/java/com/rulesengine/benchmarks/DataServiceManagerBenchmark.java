@@ -0,0 +1,96 @@
+package com.rulesengine.benchmarks;
+
+import com.rulesengine.demo.service.CustomDataSource;
+import com.rulesengine.demo.service.DataServiceManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link DataServiceManager#requestData(String, Object...)},
+ * {@link DataServiceManager#requestDataByName(String, String, Object...)} and
+ * {@link DataServiceManager#requestDataAsync(String, Object...)} and
+ * {@link DataServiceManager#requestDataBatch(String, List)}, with and without the result cache.
+ *
+ * The requested data type is provided by the last of the loaded data sources, and each source holds a list of
+ * records as its data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataServiceManagerBenchmark {
+    // The number of requests in a batch
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"1", "16"})
+    private int sourceCount;
+
+    @Param({"4", "64"})
+    private int factCount;
+
+    @Param({"0", "60"})
+    private int cacheTtlSeconds;
+
+    private DataServiceManager dataServiceManager;
+    private String dataType;
+    private String sourceName;
+    private List<Object[]> batchParameters;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFacts.quietLogging();
+        dataServiceManager = new DataServiceManager().setCacheTtl(Duration.ofSeconds(cacheTtlSeconds));
+        for (int i = 0; i < sourceCount; i++) {
+            dataType = "type" + i;
+            sourceName = "source" + i;
+            List<Map<String, Object>> records = new ArrayList<>();
+            for (int j = 0; j < 100; j++) {
+                records.add(BenchmarkFacts.facts(factCount));
+            }
+            CustomDataSource dataSource = new CustomDataSource(sourceName, dataType);
+            dataSource.addData(dataType, records);
+            dataServiceManager.loadDataSource(dataSource);
+        }
+        batchParameters = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batchParameters.add(new Object[] {"key" + i});
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> requestData() {
+        return dataServiceManager.requestData(dataType);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> requestDataByName() {
+        return dataServiceManager.requestDataByName(sourceName, dataType);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> requestDataAsync() {
+        return dataServiceManager.<List<Map<String, Object>>>requestDataAsync(dataType).join();
+    }
+
+    @Benchmark
+    public List<List<Map<String, Object>>> requestDataBatch() {
+        return dataServiceManager.requestDataBatch(dataType, batchParameters);
+    }
+}
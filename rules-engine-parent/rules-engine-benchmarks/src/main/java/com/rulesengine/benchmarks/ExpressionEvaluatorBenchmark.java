@@ -0,0 +1,55 @@
+package com.rulesengine.benchmarks;
+
+import com.rulesengine.core.engine.ExpressionEvaluatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.expression.EvaluationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link ExpressionEvaluatorService#evaluate(String, EvaluationContext, Class)}, which parses
+ * and evaluates an expression given as a string.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpressionEvaluatorBenchmark {
+
+    @Param({
+            "#amount > 100",
+            "#amount > 100 and #region == 'R9'",
+            "#region.toLowerCase().startsWith('r') ? #amount * 2 > 250 : false"
+    })
+    private String expression;
+
+    @Param({"4", "64"})
+    private int factCount;
+
+    private ExpressionEvaluatorService evaluatorService;
+    private EvaluationContext context;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFacts.quietLogging();
+        evaluatorService = new ExpressionEvaluatorService();
+        context = BenchmarkFacts.context(BenchmarkFacts.facts(factCount));
+    }
+
+    @Benchmark
+    public Boolean evaluate() {
+        return evaluatorService.evaluate(expression, context, Boolean.class);
+    }
+}
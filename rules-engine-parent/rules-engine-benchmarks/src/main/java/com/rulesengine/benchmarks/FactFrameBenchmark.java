@@ -0,0 +1,59 @@
+package com.rulesengine.benchmarks;
+
+import com.rulesengine.core.engine.FactFrame;
+import com.rulesengine.core.engine.FactSchema;
+import com.rulesengine.core.engine.RuleResult;
+import com.rulesengine.core.engine.RulesEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link RulesEngine#executeRulesForCategory(String, FactFrame)}, evaluating the rules of
+ * {@link RulesEngineBenchmark} on the primitive slots of a fact frame instead of a map of facts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FactFrameBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int ruleCount;
+
+    private RulesEngine engine;
+    private FactFrame frame;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFacts.quietLogging();
+        engine = new RulesEngine(RulesEngineBenchmark.createConfiguration(ruleCount));
+        frame = new FactSchema()
+                .withLong("amount")
+                .withString("region")
+                .newFrame()
+                .setLong("amount", BenchmarkFacts.AMOUNT)
+                .setString("region", BenchmarkFacts.REGION);
+
+        if (!engine.executeRulesForCategory(RulesEngineBenchmark.CATEGORY, frame).isTriggered()) {
+            throw new IllegalStateException("The last rule of the category should match the benchmark facts");
+        }
+    }
+
+    @Benchmark
+    public RuleResult executeRulesForCategory() {
+        return engine.executeRulesForCategory(RulesEngineBenchmark.CATEGORY, frame);
+    }
+}
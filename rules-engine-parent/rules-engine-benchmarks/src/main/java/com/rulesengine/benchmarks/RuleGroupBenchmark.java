@@ -0,0 +1,86 @@
+package com.rulesengine.benchmarks;
+
+import com.rulesengine.core.engine.RuleGroup;
+import com.rulesengine.core.engine.RuleGroupBuilder;
+import com.rulesengine.core.engine.RulesEngineConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link RuleGroup#evaluate(StandardEvaluationContext)} for AND and OR groups.
+ *
+ * Only the last rule of the group decides the result: in an AND group every other rule is true, and in an OR
+ * group every other rule is false. Evaluating in sequence order tests every rule; adaptive ordering should
+ * learn to test the deciding rule first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleGroupBenchmark {
+
+    @Param({"AND", "OR"})
+    private String operator;
+
+    @Param({"2", "8"})
+    private int groupSize;
+
+    @Param({"false", "true"})
+    private boolean adaptiveOrdering;
+
+    @Param({"4", "64"})
+    private int factCount;
+
+    private RuleGroup group;
+    private StandardEvaluationContext context;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFacts.quietLogging();
+        boolean and = "AND".equals(operator);
+        RulesEngineConfiguration configuration = new RulesEngineConfiguration();
+        RuleGroupBuilder builder = configuration.group()
+                .withName(operator + " group")
+                .withDescription("Group of " + groupSize + " rules");
+        if (and) {
+            builder.withAndOperator();
+        } else {
+            builder.withOrOperator();
+        }
+        if (adaptiveOrdering) {
+            builder.withAdaptiveOrdering();
+        }
+        group = builder.build();
+
+        for (int i = 0; i < groupSize; i++) {
+            boolean deciding = i == groupSize - 1;
+            // True for the other rules of an AND group and for the deciding rule of an OR group
+            int threshold = deciding == and ? 1000 + i : i;
+            group.addRule(configuration.rule()
+                    .withName("rule " + i)
+                    .withCondition("#amount > " + threshold)
+                    .withMessage("Amount above " + threshold)
+                    .build(), i + 1);
+        }
+        context = BenchmarkFacts.context(BenchmarkFacts.facts(factCount));
+    }
+
+    @Benchmark
+    public boolean evaluate() {
+        return group.evaluate(context);
+    }
+}
@@ -0,0 +1,52 @@
+package com.rulesengine.benchmarks;
+
+import com.rulesengine.core.engine.RuleResult;
+import com.rulesengine.core.engine.RuleResultFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of creating rule results with the standard and the {@link RuleResultFactory#LEAN lean} factory.
+ * Results are created from several threads, as they are when fact maps are evaluated in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RuleResultBenchmark {
+
+    @Param({"false", "true"})
+    private boolean leanMode;
+
+    private RuleResultFactory factory;
+
+    @Setup
+    public void setUp() {
+        factory = leanMode ? RuleResultFactory.LEAN : RuleResultFactory.STANDARD;
+    }
+
+    @Benchmark
+    public RuleResult match() {
+        return factory.match("rule", "Rule matched");
+    }
+
+    @Benchmark
+    public RuleResult noMatch() {
+        return factory.noMatch();
+    }
+}
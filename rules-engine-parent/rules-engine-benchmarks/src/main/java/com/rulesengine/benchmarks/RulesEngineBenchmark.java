@@ -0,0 +1,102 @@
+package com.rulesengine.benchmarks;
+
+import com.rulesengine.core.engine.RuleResult;
+import com.rulesengine.core.engine.RulesEngine;
+import com.rulesengine.core.engine.RulesEngineConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link RulesEngine#executeRulesForCategory(String, Map)} over a category of rules.
+ *
+ * Rule i of n tests "#region == 'R(i % 10)' and #amount >= (n - i) * 100", so with the benchmark facts only the
+ * last rule matches and a sequential evaluation has to test every rule. Each evaluation strategy of the engine
+ * is measured on the same rules and facts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RulesEngineBenchmark {
+    static final String CATEGORY = "benchmark";
+
+    /**
+     * How the engine evaluates the rules of a category.
+     */
+    public enum Strategy {
+        /** Rules in priority order with a standard evaluation context */
+        SEQUENTIAL,
+        /** Rules in priority order with a read-only data-binding context */
+        DATA_BINDING,
+        /** Rules that cannot match the facts are skipped by the rule index */
+        RULE_INDEX,
+        /** Conditions shared by rules are evaluated once in the rule network */
+        RULE_NETWORK
+    }
+
+    @Param({"10", "100", "1000"})
+    private int ruleCount;
+
+    @Param({"4", "64"})
+    private int factCount;
+
+    @Param({"SEQUENTIAL", "DATA_BINDING", "RULE_INDEX", "RULE_NETWORK"})
+    private Strategy strategy;
+
+    private RulesEngine engine;
+    private Map<String, Object> facts;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFacts.quietLogging();
+        engine = new RulesEngine(createConfiguration(ruleCount))
+                .setDataBindingContextEnabled(strategy == Strategy.DATA_BINDING)
+                .setRuleIndexEnabled(strategy == Strategy.RULE_INDEX)
+                .setRuleNetworkEnabled(strategy == Strategy.RULE_NETWORK);
+        facts = BenchmarkFacts.facts(factCount);
+
+        RuleResult result = engine.executeRulesForCategory(CATEGORY, facts);
+        if (!result.isTriggered()) {
+            throw new IllegalStateException("The last rule of the category should match the benchmark facts");
+        }
+    }
+
+    /**
+     * Create a configuration with a category of rules in which only the last rule matches the benchmark facts.
+     *
+     * @param ruleCount The number of rules in the category
+     * @return The configuration
+     */
+    static RulesEngineConfiguration createConfiguration(int ruleCount) {
+        RulesEngineConfiguration configuration = new RulesEngineConfiguration();
+        for (int i = 0; i < ruleCount; i++) {
+            configuration.registerRule(configuration.rule("R" + i)
+                    .withCategory(CATEGORY)
+                    .withName("rule " + i)
+                    .withCondition("#region == 'R" + (i % 10) + "' and #amount >= " + (ruleCount - i) * 100)
+                    .withMessage("Rule " + i + " matched")
+                    .withPriority(i)
+                    .build());
+        }
+        return configuration;
+    }
+
+    @Benchmark
+    public RuleResult executeRulesForCategory() {
+        return engine.executeRulesForCategory(CATEGORY, facts);
+    }
+}
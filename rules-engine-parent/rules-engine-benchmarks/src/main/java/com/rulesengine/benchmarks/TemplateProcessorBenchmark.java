@@ -0,0 +1,95 @@
+package com.rulesengine.benchmarks;
+
+import com.rulesengine.core.engine.CompiledTemplate;
+import com.rulesengine.core.engine.ExpressionEvaluatorService;
+import com.rulesengine.core.engine.TemplateFormat;
+import com.rulesengine.core.engine.TemplateProcessorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.expression.EvaluationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link TemplateProcessorService} for text, XML and JSON templates.
+ *
+ * The template has one placeholder per fact, and the padding facts contain characters that XML and JSON
+ * escape. Processing a template string is measured against rendering a template compiled once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateProcessorBenchmark {
+
+    @Param({"TEXT", "XML", "JSON"})
+    private TemplateFormat format;
+
+    @Param({"4", "64"})
+    private int factCount;
+
+    private TemplateProcessorService templateProcessor;
+    private String template;
+    private CompiledTemplate compiledTemplate;
+    private EvaluationContext context;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFacts.quietLogging();
+        templateProcessor = new TemplateProcessorService(new ExpressionEvaluatorService());
+        Map<String, Object> facts = BenchmarkFacts.facts(factCount);
+        template = createTemplate(facts);
+        compiledTemplate = templateProcessor.compileTemplate(template, format);
+        context = BenchmarkFacts.context(facts);
+    }
+
+    private String createTemplate(Map<String, Object> facts) {
+        StringBuilder builder = new StringBuilder();
+        switch (format) {
+            case XML:
+                builder.append("<facts>\n");
+                facts.keySet().forEach(name ->
+                        builder.append("  <").append(name).append(">#{#").append(name).append("}</")
+                                .append(name).append(">\n"));
+                return builder.append("</facts>").toString();
+            case JSON:
+                builder.append("{\n");
+                facts.keySet().forEach(name ->
+                        builder.append("  \"").append(name).append("\": \"#{#").append(name).append("}\",\n"));
+                return builder.append("  \"count\": ").append(facts.size()).append("\n}").toString();
+            default:
+                facts.keySet().forEach(name ->
+                        builder.append(name).append(" = #{#").append(name).append("}\n"));
+                return builder.toString();
+        }
+    }
+
+    @Benchmark
+    public String processTemplate() {
+        switch (format) {
+            case XML:
+                return templateProcessor.processXmlTemplate(template, context);
+            case JSON:
+                return templateProcessor.processJsonTemplate(template, context);
+            default:
+                return templateProcessor.processTemplate(template, context);
+        }
+    }
+
+    @Benchmark
+    public String renderCompiledTemplate() {
+        return compiledTemplate.render(context);
+    }
+}
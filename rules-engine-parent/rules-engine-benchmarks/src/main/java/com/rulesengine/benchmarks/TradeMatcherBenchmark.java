@@ -0,0 +1,122 @@
+package com.rulesengine.benchmarks;
+
+import com.rulesengine.core.service.LookupServiceRegistry;
+import com.rulesengine.demo.model.Trade;
+import com.rulesengine.demo.service.CategoryRoutedTradeMatcher;
+import com.rulesengine.demo.service.DemoTradeRecordMatcher;
+import com.rulesengine.demo.service.LookupService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmarks of matching trades against lookup services with {@link DemoTradeRecordMatcher}, which checks every
+ * trade against every lookup, and {@link CategoryRoutedTradeMatcher}, which only checks the lookup of its category.
+ *
+ * There are three lookup services, for instrument types, markets and trade statuses, each accepting the
+ * given number of values. Half of the trades carry an accepted value of their category, the other half a
+ * value no service accepts. The parallel benchmarks match the larger trade count on the common fork-join pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TradeMatcherBenchmark {
+    static final String[] CATEGORIES = {"InstrumentType", "Market", "TradeStatus"};
+    static final String[] SERVICE_NAMES = {"InstrumentTypes", "Markets", "TradeStatuses"};
+
+    @Param({"10", "1000", "10000"})
+    private int lookupSize;
+
+    @Param({"1000", "1000000"})
+    private int tradeCount;
+
+    private List<Trade> trades;
+    private List<String> validatorNames;
+    private DemoTradeRecordMatcher matcher;
+    private DemoTradeRecordMatcher parallelMatcher;
+    private CategoryRoutedTradeMatcher routedMatcher;
+
+    @Setup
+    public void setUp() {
+        LookupServiceRegistry registry = new LookupServiceRegistry();
+        validatorNames = new ArrayList<>();
+        for (int s = 0; s < SERVICE_NAMES.length; s++) {
+            List<String> values = new ArrayList<>();
+            for (int i = 0; i < lookupSize; i++) {
+                values.add(CATEGORIES[s] + i);
+            }
+            registry.registerService(new LookupService(SERVICE_NAMES[s], values));
+            validatorNames.add(SERVICE_NAMES[s]);
+        }
+        trades = createTrades(tradeCount, lookupSize);
+        matcher = new DemoTradeRecordMatcher(registry);
+        parallelMatcher = new DemoTradeRecordMatcher(registry, true);
+        routedMatcher = new CategoryRoutedTradeMatcher(registry);
+    }
+
+    /**
+     * Create trades of which every other one carries an accepted value of its category.
+     *
+     * @param tradeCount The number of trades
+     * @param lookupSize The number of values each lookup service accepts
+     * @return The trades
+     */
+    static List<Trade> createTrades(int tradeCount, int lookupSize) {
+        List<Trade> trades = new ArrayList<>(tradeCount);
+        for (int i = 0; i < tradeCount; i++) {
+            String category = CATEGORIES[i % CATEGORIES.length];
+            String value = i % 2 == 0 ? category + (i * 7919L % lookupSize) : "Unknown" + i;
+            trades.add(new Trade("T" + i, value, category));
+        }
+        return trades;
+    }
+
+    @Benchmark
+    public List<Trade> findMatchingRecords() {
+        return matcher.findMatchingRecords(trades, validatorNames);
+    }
+
+    @Benchmark
+    public List<Trade> findMatchingRecordsParallel() {
+        return parallelMatcher.findMatchingRecords(trades, validatorNames);
+    }
+
+    @Benchmark
+    public List<Trade> findMatchingRecordsRouted() {
+        return routedMatcher.findMatchingRecords(trades, validatorNames);
+    }
+
+    @Benchmark
+    public Map<Boolean, List<Trade>> partitionRecords() {
+        return matcher.partitionRecords(trades, validatorNames);
+    }
+
+    @Benchmark
+    public Map<Boolean, List<Trade>> partitionRecordsParallel() {
+        return parallelMatcher.partitionRecords(trades, validatorNames);
+    }
+
+    @Benchmark
+    public long matchRecords() {
+        LongAdder matching = new LongAdder();
+        matcher.matchRecords(trades.parallelStream(), validatorNames, trade -> matching.increment(), trade -> { });
+        return matching.sum();
+    }
+}
@@ -0,0 +1,215 @@
+package com.rulesengine.core.engine;
+
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A template that has been split once into literal text and parsed SpEL expressions.
+ * Placeholders are in the format #{expression}.
+ *
+ * Rendering only walks the segments, evaluates the expressions against the given context and escapes
+ * their values for the template's format, so a template that is rendered many times is scanned and
+ * parsed only once. A compiled template is immutable and can be rendered by several threads at once.
+ * Large outputs can be streamed to an Appendable (such as a Writer) or an OutputStream, in which case
+ * literal text and escaped values are written straight to the sink without building the whole result.
+ *
+ * Placeholders are handled the same way as by {@link TemplateProcessorService}: an expression that cannot be
+ * parsed or evaluated is kept as #{expression}, and an unclosed placeholder is treated as plain text.
+ */
+public final class CompiledTemplate {
+    private static final Logger LOGGER = Logger.getLogger(CompiledTemplate.class.getName());
+    private static final EngineLogging.EventLog EVENTS = EngineLogging.eventLog(LOGGER);
+
+    private final String template;
+    private final TemplateFormat format;
+    private final Segment[] segments;
+    private final int expressionCount;
+
+    /**
+     * Create a new CompiledTemplate by parsing the placeholders of a template.
+     *
+     * @param template The template to compile
+     * @param format The format of the template, which determines how values are escaped
+     * @param parser The parser used to parse the placeholder expressions
+     */
+    public CompiledTemplate(String template, TemplateFormat format, ExpressionParser parser) {
+        this.template = template;
+        this.format = format;
+        this.segments = compile(template, parser);
+        int count = 0;
+        for (Segment segment : segments) {
+            if (segment.expression != null) {
+                count++;
+            }
+        }
+        this.expressionCount = count;
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Compiled " + format + " template with " + template.length() + " characters into "
+                    + segments.length + " segments, " + expressionCount + " expressions");
+        }
+    }
+
+    private static Segment[] compile(String template, ExpressionParser parser) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int pos = 0;
+
+        while (pos < template.length()) {
+            int startExpr = template.indexOf("#{", pos);
+            if (startExpr == -1) {
+                literal.append(template, pos, template.length());
+                break;
+            }
+
+            literal.append(template, pos, startExpr);
+            int endExpr = template.indexOf("}", startExpr);
+            if (endExpr == -1) {
+                // Unclosed expression, append the rest as is
+                LOGGER.warning("Unclosed expression found at position " + startExpr + ", treating as plain text");
+                literal.append(template, startExpr, template.length());
+                break;
+            }
+
+            String expr = template.substring(startExpr + 2, endExpr);
+            try {
+                Expression expression = parser.parseExpression(expr);
+                if (literal.length() > 0) {
+                    segments.add(new Segment(literal.toString(), null));
+                    literal.setLength(0);
+                }
+                segments.add(new Segment(expr, expression));
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Error parsing expression '" + expr + "': " + e.getMessage(), e);
+                // Keep the original expression on error
+                literal.append("#{").append(expr).append("}");
+            }
+
+            pos = endExpr + 1;
+        }
+
+        if (literal.length() > 0) {
+            segments.add(new Segment(literal.toString(), null));
+        }
+        return segments.toArray(new Segment[0]);
+    }
+
+    /**
+     * Render the template, replacing each placeholder with the escaped value of its expression.
+     *
+     * @param context The evaluation context
+     * @return The rendered template
+     */
+    public String render(EvaluationContext context) {
+        StringBuilder result = new StringBuilder(template.length() + 16 * expressionCount);
+        try {
+            render(context, result);
+        } catch (IOException e) {
+            // Appending to a StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Render the template, streaming literal text and escaped values to an Appendable such as a Writer.
+     * The Appendable is neither flushed nor closed.
+     *
+     * @param context The evaluation context
+     * @param out The Appendable to write the rendered template to
+     * @return The number of expressions that were evaluated successfully
+     * @throws IOException if the Appendable cannot be written to
+     */
+    public int render(EvaluationContext context, Appendable out) throws IOException {
+        int expressionsProcessed = 0;
+        for (Segment segment : segments) {
+            if (segment.expression == null) {
+                out.append(segment.text);
+                continue;
+            }
+            Object value;
+            try {
+                value = segment.expression.getValue(context);
+            } catch (Exception e) {
+                EVENTS.warning("Error evaluating expression", segment.text, e.getMessage(), e);
+                // Keep the original expression on error
+                out.append("#{").append(segment.text).append("}");
+                continue;
+            }
+            if (value != null) {
+                format.escape(value instanceof CharSequence ? (CharSequence) value : value.toString(), out);
+            }
+            expressionsProcessed++;
+        }
+        return expressionsProcessed;
+    }
+
+    /**
+     * Render the template, streaming it to an OutputStream encoded as UTF-8.
+     * The output is buffered and flushed once rendering is complete; the stream is not closed.
+     *
+     * @param context The evaluation context
+     * @param out The OutputStream to write the rendered template to
+     * @return The number of expressions that were evaluated successfully
+     * @throws IOException if the OutputStream cannot be written to
+     */
+    public int render(EvaluationContext context, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        int expressionsProcessed = render(context, writer);
+        writer.flush();
+        return expressionsProcessed;
+    }
+
+    /**
+     * Get the template this compiled template was created from.
+     *
+     * @return The template
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Get the format of the template.
+     *
+     * @return The template format
+     */
+    public TemplateFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Get the number of placeholder expressions in the template.
+     *
+     * @return The number of expressions
+     */
+    public int getExpressionCount() {
+        return expressionCount;
+    }
+
+    /**
+     * A literal piece of the template, or a placeholder with its parsed expression.
+     */
+    private static final class Segment {
+        // The literal text, or the expression string of a placeholder
+        private final String text;
+        private final Expression expression;
+
+        Segment(String text, Expression expression) {
+            this.text = text;
+            this.expression = expression;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.rulesengine.core.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable view of the rules, rule groups and decision tables registered with a RulesEngineConfiguration.
+ * Every registration publishes a new snapshot, so readers can evaluate against the current
+ * snapshot without locking while rules are being added.
+ *
+ * Rules are kept per category name, already sorted by priority (lower numbers = higher priority).
+ * Rules with the same priority keep their registration order.
+ *
+ * A {@link RuleIndex} is built for a category on first request and carried over to later snapshots
+ * for as long as the category's rules do not change.
+ */
+public final class ConfigurationSnapshot {
+    static final ConfigurationSnapshot EMPTY = new ConfigurationSnapshot(0, Collections.emptyMap(),
+            Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    private final long version;
+    private final Map<String, List<RuleBase>> rulesByCategory;
+    private final Map<String, Rule> rulesById;
+    private final Map<String, RuleGroup> ruleGroupsById;
+    private final Map<String, DecisionTable> decisionTablesById;
+    // Built on demand, so that registering many rules one at a time does not rebuild indexes each time
+    private final Map<String, RuleIndex> ruleIndexes;
+
+    private ConfigurationSnapshot(long version, Map<String, List<RuleBase>> rulesByCategory,
+                                  Map<String, Rule> rulesById, Map<String, RuleGroup> ruleGroupsById,
+                                  Map<String, DecisionTable> decisionTablesById, Map<String, RuleIndex> ruleIndexes) {
+        this.version = version;
+        this.rulesByCategory = rulesByCategory;
+        this.rulesById = rulesById;
+        this.ruleGroupsById = ruleGroupsById;
+        this.decisionTablesById = decisionTablesById;
+        this.ruleIndexes = new ConcurrentHashMap<>(ruleIndexes);
+    }
+
+    /**
+     * Create a new snapshot that also contains the given rules.
+     *
+     * @param rules The rules to add
+     * @return The new snapshot
+     */
+    ConfigurationSnapshot withRules(Collection<Rule> rules) {
+        Map<String, Rule> newRulesById = new HashMap<>(rulesById);
+        Map<String, List<RuleBase>> newRulesByCategory = new HashMap<>(rulesByCategory);
+        Map<String, List<RuleBase>> copiedLists = new HashMap<>();
+
+        for (Rule rule : rules) {
+            newRulesById.put(rule.getId(), rule);
+            addToCategories(rule, newRulesByCategory, copiedLists);
+        }
+
+        return new ConfigurationSnapshot(version + 1, freeze(newRulesByCategory, copiedLists),
+                Collections.unmodifiableMap(newRulesById), ruleGroupsById, decisionTablesById,
+                unchangedIndexes(copiedLists.keySet()));
+    }
+
+    /**
+     * Create a new snapshot that also contains the given rule group.
+     *
+     * @param group The rule group to add
+     * @return The new snapshot
+     */
+    ConfigurationSnapshot withRuleGroup(RuleGroup group) {
+        Map<String, RuleGroup> newRuleGroupsById = new HashMap<>(ruleGroupsById);
+        Map<String, List<RuleBase>> newRulesByCategory = new HashMap<>(rulesByCategory);
+        Map<String, List<RuleBase>> copiedLists = new HashMap<>();
+
+        newRuleGroupsById.put(group.getId(), group);
+        addToCategories(group, newRulesByCategory, copiedLists);
+
+        return new ConfigurationSnapshot(version + 1, freeze(newRulesByCategory, copiedLists),
+                rulesById, Collections.unmodifiableMap(newRuleGroupsById), decisionTablesById,
+                unchangedIndexes(copiedLists.keySet()));
+    }
+
+    /**
+     * Create a new snapshot that also contains the given decision table.
+     *
+     * @param table The decision table to add
+     * @return The new snapshot
+     */
+    ConfigurationSnapshot withDecisionTable(DecisionTable table) {
+        Map<String, DecisionTable> newDecisionTablesById = new HashMap<>(decisionTablesById);
+        Map<String, List<RuleBase>> newRulesByCategory = new HashMap<>(rulesByCategory);
+        Map<String, List<RuleBase>> copiedLists = new HashMap<>();
+
+        newDecisionTablesById.put(table.getId(), table);
+        addToCategories(table, newRulesByCategory, copiedLists);
+
+        return new ConfigurationSnapshot(version + 1, freeze(newRulesByCategory, copiedLists),
+                rulesById, ruleGroupsById, Collections.unmodifiableMap(newDecisionTablesById),
+                unchangedIndexes(copiedLists.keySet()));
+    }
+
+    /**
+     * Insert a rule into the list of each of its categories, keeping the lists sorted by priority.
+     * Each affected list is copied once per snapshot, and the copies are tracked in copiedLists.
+     */
+    private static void addToCategories(RuleBase rule, Map<String, List<RuleBase>> rulesByCategory,
+                                        Map<String, List<RuleBase>> copiedLists) {
+        for (Category category : rule.getCategories()) {
+            String categoryName = category.getName();
+            List<RuleBase> rules = copiedLists.computeIfAbsent(categoryName, name -> {
+                List<RuleBase> existing = rulesByCategory.get(name);
+                return existing != null ? new ArrayList<>(existing) : new ArrayList<>();
+            });
+            rules.add(insertionPoint(rules, rule.getPriority()), rule);
+        }
+    }
+
+    /**
+     * Find the position after the last rule whose priority is less than or equal to the given priority.
+     */
+    private static int insertionPoint(List<RuleBase> rules, int priority) {
+        int low = 0;
+        int high = rules.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (rules.get(middle).getPriority() <= priority) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Get the rule indexes of this snapshot whose categories are not in the given set of changed categories.
+     */
+    private Map<String, RuleIndex> unchangedIndexes(Set<String> changedCategories) {
+        Map<String, RuleIndex> unchanged = new HashMap<>(ruleIndexes);
+        unchanged.keySet().removeAll(changedCategories);
+        return unchanged;
+    }
+
+    private static Map<String, List<RuleBase>> freeze(Map<String, List<RuleBase>> rulesByCategory,
+                                                     Map<String, List<RuleBase>> copiedLists) {
+        for (Map.Entry<String, List<RuleBase>> entry : copiedLists.entrySet()) {
+            rulesByCategory.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(rulesByCategory);
+    }
+
+    /**
+     * Get the version of this snapshot. Each registration increments the version by one.
+     *
+     * @return The version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the rules and rule groups for a category, sorted by priority.
+     *
+     * @param categoryName The name of the category
+     * @return An unmodifiable list of rules and rule groups, empty if the category has none
+     */
+    public List<RuleBase> getRulesForCategory(String categoryName) {
+        List<RuleBase> rules = rulesByCategory.get(categoryName);
+        return rules != null ? rules : Collections.emptyList();
+    }
+
+    /**
+     * Get the rule index for a category, building it if it has not been built yet
+     * or if a rule has since been added to one of the category's rule groups.
+     *
+     * @param categoryName The name of the category
+     * @return The rule index over the category's rules and rule groups
+     */
+    public RuleIndex getRuleIndex(String categoryName) {
+        RuleIndex index = ruleIndexes.get(categoryName);
+        if (index == null || !index.isUpToDate()) {
+            index = new RuleIndex(getRulesForCategory(categoryName));
+            ruleIndexes.put(categoryName, index);
+        }
+        return index;
+    }
+
+    /**
+     * Get the names of all categories that have rules or rule groups.
+     *
+     * @return An unmodifiable collection of category names
+     */
+    public Collection<String> getCategoryNames() {
+        return rulesByCategory.keySet();
+    }
+
+    /**
+     * Get a rule by its ID.
+     *
+     * @param id The ID of the rule
+     * @return The rule, or null if not found
+     */
+    public Rule getRuleById(String id) {
+        return rulesById.get(id);
+    }
+
+    /**
+     * Get a rule group by its ID.
+     *
+     * @param id The ID of the rule group
+     * @return The rule group, or null if not found
+     */
+    public RuleGroup getRuleGroupById(String id) {
+        return ruleGroupsById.get(id);
+    }
+
+    /**
+     * Get a decision table by its ID.
+     *
+     * @param id The ID of the decision table
+     * @return The decision table, or null if not found
+     */
+    public DecisionTable getDecisionTableById(String id) {
+        return decisionTablesById.get(id);
+    }
+
+    /**
+     * Get all rules in this snapshot.
+     *
+     * @return An unmodifiable collection of rules
+     */
+    public Collection<Rule> getRules() {
+        return rulesById.values();
+    }
+
+    /**
+     * Get all rule groups in this snapshot.
+     *
+     * @return An unmodifiable collection of rule groups
+     */
+    public Collection<RuleGroup> getRuleGroups() {
+        return ruleGroupsById.values();
+    }
+
+    /**
+     * Get all decision tables in this snapshot.
+     *
+     * @return An unmodifiable collection of decision tables
+     */
+    public Collection<DecisionTable> getDecisionTables() {
+        return decisionTablesById.values();
+    }
+}
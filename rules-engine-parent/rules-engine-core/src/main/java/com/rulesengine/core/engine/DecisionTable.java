@@ -0,0 +1,477 @@
+package com.rulesengine.core.engine;
+
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * A decision table: a set of rows, each of which tests a fixed list of input columns and produces an output message.
+ * A table replaces the many rules that would otherwise be needed to cover every combination of inputs, such as
+ * membership level x category x price band.
+ *
+ * Each input is a SpEL expression, evaluated once per execution. Each cell of a row is an input entry:
+ * any value, one or more exact values, or a numeric range. When the table is built, every column is compiled
+ * into a hash map from exact value to the rows that accept it and a sorted array of range bounds with the rows
+ * that accept each interval between them. Evaluating the table therefore costs one input evaluation and a few
+ * map probes and binary searches per column, however many rows the table has.
+ *
+ * Exact values are compared like SpEL's "==": strings by content and numbers by value, so 5, 5L and 5.0 are equal,
+ * while the character 'A' and the string "A" are not.
+ * Ranges accept any Number and compare it as a double; a null or non-numeric input is not in any range.
+ *
+ * The hit policy decides which of the matching rows produce an output:
+ * {@link HitPolicy#FIRST} the first matching row in table order, {@link HitPolicy#COLLECT} all of them.
+ */
+public final class DecisionTable implements RuleBase {
+    private static final Logger LOGGER = Logger.getLogger(DecisionTable.class.getName());
+
+    // An input that only reads a variable is looked up directly instead of being evaluated;
+    // #root and #this are not variables and are left to SpEL
+    private static final Pattern VARIABLE_INPUT = Pattern.compile("#(?!(?:root|this)$)[A-Za-z_$][A-Za-z0-9_$]*");
+
+    /**
+     * Which of the matching rows of a decision table produce an output.
+     */
+    public enum HitPolicy {
+        /** Only the first matching row, in table order */
+        FIRST,
+        /** Every matching row, in table order */
+        COLLECT
+    }
+
+    private final UUID uuid;
+    private final String id;
+    private final Set<Category> categories;
+    private final String name;
+    private final String description;
+    private final int priority;
+    private final HitPolicy hitPolicy;
+    private final List<String> inputs;
+    private final Expression[] inputExpressions;
+    private final String[] inputVariables;
+    private final Column[] columns;
+    private final String[] outputs;
+    private final BitSet allRows;
+
+    /**
+     * Create a new decision table. Tables are normally created with a {@link DecisionTableBuilder}.
+     *
+     * @param id The unique identifier of the decision table
+     * @param categories The set of categories this decision table belongs to
+     * @param name The name of the decision table
+     * @param description The description of what the decision table does
+     * @param priority The priority of the decision table (lower numbers = higher priority)
+     * @param hitPolicy Which of the matching rows produce an output
+     * @param inputs The input expressions, one per column
+     * @param inputExpressions The parsed input expressions
+     * @param rows The input entries of each row, one per column
+     * @param outputs The output message of each row
+     * @throws IllegalArgumentException if a row does not have one entry per column
+     */
+    public DecisionTable(String id, Set<Category> categories, String name, String description, int priority,
+                         HitPolicy hitPolicy, List<String> inputs, List<Expression> inputExpressions,
+                         List<InputEntry[]> rows, List<String> outputs) {
+        this.uuid = UUID.randomUUID();
+        this.id = id;
+        this.categories = new HashSet<>(categories);
+        this.name = name;
+        this.description = description;
+        this.priority = priority;
+        this.hitPolicy = hitPolicy;
+        this.inputs = Collections.unmodifiableList(new ArrayList<>(inputs));
+        this.inputExpressions = inputExpressions.toArray(new Expression[0]);
+        this.outputs = outputs.toArray(new String[0]);
+        this.allRows = new BitSet(rows.size());
+        allRows.set(0, rows.size());
+
+        this.inputVariables = new String[inputs.size()];
+        for (int i = 0; i < inputVariables.length; i++) {
+            String input = inputs.get(i).trim();
+            if (VARIABLE_INPUT.matcher(input).matches()) {
+                inputVariables[i] = input.substring(1);
+            }
+        }
+
+        for (int row = 0; row < rows.size(); row++) {
+            if (rows.get(row).length != inputs.size()) {
+                throw new IllegalArgumentException("Row " + row + " of decision table '" + name + "' has "
+                        + rows.get(row).length + " entries but the table has " + inputs.size() + " inputs");
+            }
+        }
+        this.columns = new Column[inputs.size()];
+        for (int column = 0; column < columns.length; column++) {
+            columns[column] = new Column(rows, column);
+        }
+        LOGGER.fine("Decision table '" + name + "' compiled with " + inputs.size() + " inputs and "
+                + rows.size() + " rows");
+    }
+
+    /**
+     * Evaluate the table against an evaluation context and return the outputs of the matching rows.
+     *
+     * @param context The evaluation context holding the facts
+     * @return The outputs of the matching rows selected by the hit policy, in table order; empty if no row matches
+     * @throws org.springframework.expression.EvaluationException if an input expression cannot be evaluated
+     */
+    public List<String> evaluate(EvaluationContext context) {
+        BitSet rows = matchingRows(context);
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (hitPolicy == HitPolicy.FIRST) {
+            return Collections.singletonList(outputs[rows.nextSetBit(0)]);
+        }
+        List<String> matched = new ArrayList<>(rows.cardinality());
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            matched.add(outputs[row]);
+        }
+        return matched;
+    }
+
+    /**
+     * Find the rows whose entries accept every input.
+     *
+     * @param context The evaluation context holding the facts
+     * @return The positions of the matching rows
+     */
+    BitSet matchingRows(EvaluationContext context) {
+        BitSet rows = (BitSet) allRows.clone();
+        for (int i = 0; i < columns.length && !rows.isEmpty(); i++) {
+            Object value = inputVariables[i] != null
+                    ? context.lookupVariable(inputVariables[i])
+                    : inputExpressions[i].getValue(context);
+            columns[i].retainMatching(value, rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Check whether the table's inputs may be skipped without changing the outcome of other evaluations.
+     *
+     * @return true if every input expression is {@link ExpressionInspector#isPure(Expression) pure}, false otherwise
+     */
+    public boolean isPure() {
+        for (Expression expression : inputExpressions) {
+            if (!ExpressionInspector.isPure(expression)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Normalize a value for exact matching, so that values SpEL's "==" treats as equal have the same key.
+     * A Character keeps its own key, since "==" does not treat it as equal to a one-character string.
+     */
+    private static Object key(Object value) {
+        if (value instanceof CharSequence) {
+            return value.toString();
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Number) {
+            double number = ((Number) value).doubleValue();
+            long integral = (long) number;
+            return integral == number ? (Object) integral : (Object) number;
+        }
+        return value;
+    }
+
+    /**
+     * The compiled lookup structures of one input column.
+     */
+    private static final class Column {
+        // Rows whose entry accepts any value
+        private final BitSet anyRows = new BitSet();
+        // Rows by the exact values their entries accept
+        private final Map<Object, BitSet> exactRows = new HashMap<>();
+        // Distinct range bounds in ascending order
+        private final double[] bounds;
+        // Rows by interval: 2k is the open interval below bounds[k], 2k + 1 is bounds[k] itself,
+        // and the last one is the open interval above the highest bound
+        private final BitSet[] rangeRows;
+
+        Column(List<InputEntry[]> rows, int column) {
+            TreeSet<Double> boundSet = new TreeSet<>();
+            for (int row = 0; row < rows.size(); row++) {
+                InputEntry entry = rows.get(row)[column];
+                if (entry.values != null) {
+                    for (Object value : entry.values) {
+                        exactRows.computeIfAbsent(key(value), v -> new BitSet()).set(row);
+                    }
+                } else if (entry.isRange()) {
+                    addBound(boundSet, entry.lower);
+                    addBound(boundSet, entry.upper);
+                } else {
+                    anyRows.set(row);
+                }
+            }
+
+            this.bounds = new double[boundSet.size()];
+            int b = 0;
+            for (Double bound : boundSet) {
+                bounds[b++] = bound;
+            }
+            this.rangeRows = new BitSet[boundSet.isEmpty() ? 0 : 2 * bounds.length + 1];
+            for (int i = 0; i < rangeRows.length; i++) {
+                rangeRows[i] = new BitSet();
+            }
+            for (int row = 0; row < rows.size(); row++) {
+                InputEntry entry = rows.get(row)[column];
+                if (entry.values == null && entry.isRange()) {
+                    for (int i = 0; i < rangeRows.length; i++) {
+                        if (accepts(entry, i)) {
+                            rangeRows[i].set(row);
+                        }
+                    }
+                }
+            }
+        }
+
+        private static void addBound(TreeSet<Double> boundSet, double bound) {
+            if (!Double.isInfinite(bound)) {
+                boundSet.add(bound);
+            }
+        }
+
+        /**
+         * Check whether a range entry accepts the values of an interval. Because every finite bound of the entry
+         * is one of the column's bounds, the entry either accepts the whole interval or none of it.
+         */
+        private boolean accepts(InputEntry entry, int interval) {
+            if (interval % 2 == 1) {
+                return entry.contains(bounds[interval / 2]);
+            }
+            double below = interval == 0 ? Double.NEGATIVE_INFINITY : bounds[interval / 2 - 1];
+            double above = interval == rangeRows.length - 1 ? Double.POSITIVE_INFINITY : bounds[interval / 2];
+            return entry.lower <= below && entry.upper >= above;
+        }
+
+        /**
+         * Clear the rows whose entry in this column does not accept the value.
+         */
+        void retainMatching(Object value, BitSet rows) {
+            BitSet accepted = (BitSet) anyRows.clone();
+            BitSet exact = exactRows.get(key(value));
+            if (exact != null) {
+                accepted.or(exact);
+            }
+            if (rangeRows.length > 0 && value instanceof Number) {
+                double number = ((Number) value).doubleValue();
+                if (!Double.isNaN(number)) {
+                    int position = Arrays.binarySearch(bounds, number);
+                    accepted.or(rangeRows[position >= 0 ? 2 * position + 1 : 2 * (-position - 1)]);
+                }
+            }
+            rows.and(accepted);
+        }
+    }
+
+    /**
+     * Create an input entry that accepts any value, including null.
+     *
+     * @return The input entry
+     */
+    public static InputEntry any() {
+        return InputEntry.ANY;
+    }
+
+    /**
+     * Create an input entry that accepts any of the given values.
+     *
+     * @param values The accepted values
+     * @return The input entry
+     */
+    public static InputEntry oneOf(Object... values) {
+        return new InputEntry(Arrays.asList(values), Double.NEGATIVE_INFINITY, false, Double.POSITIVE_INFINITY, false);
+    }
+
+    /**
+     * Create an input entry that accepts numbers from lower (inclusive) up to upper (exclusive),
+     * so that consecutive bands such as between(0, 200) and between(200, 500) do not overlap.
+     *
+     * @param lower The lowest accepted number
+     * @param upper The first number above the range
+     * @return The input entry
+     */
+    public static InputEntry between(double lower, double upper) {
+        return new InputEntry(null, lower, true, upper, false);
+    }
+
+    /**
+     * Create an input entry that accepts numbers greater than or equal to a bound.
+     *
+     * @param lower The lowest accepted number
+     * @return The input entry
+     */
+    public static InputEntry atLeast(double lower) {
+        return new InputEntry(null, lower, true, Double.POSITIVE_INFINITY, false);
+    }
+
+    /**
+     * Create an input entry that accepts numbers greater than a bound.
+     *
+     * @param lower The number just below the range
+     * @return The input entry
+     */
+    public static InputEntry greaterThan(double lower) {
+        return new InputEntry(null, lower, false, Double.POSITIVE_INFINITY, false);
+    }
+
+    /**
+     * Create an input entry that accepts numbers less than or equal to a bound.
+     *
+     * @param upper The highest accepted number
+     * @return The input entry
+     */
+    public static InputEntry atMost(double upper) {
+        return new InputEntry(null, Double.NEGATIVE_INFINITY, false, upper, true);
+    }
+
+    /**
+     * Create an input entry that accepts numbers less than a bound.
+     *
+     * @param upper The number just above the range
+     * @return The input entry
+     */
+    public static InputEntry lessThan(double upper) {
+        return new InputEntry(null, Double.NEGATIVE_INFINITY, false, upper, false);
+    }
+
+    /**
+     * One cell of a decision table row: the values the row accepts for one input.
+     * An entry is either any value, a set of exact values, or a numeric range.
+     */
+    public static final class InputEntry {
+        static final InputEntry ANY = new InputEntry(null, Double.NEGATIVE_INFINITY, false,
+                Double.POSITIVE_INFINITY, false);
+
+        private final List<Object> values;
+        private final double lower;
+        private final boolean lowerInclusive;
+        private final double upper;
+        private final boolean upperInclusive;
+
+        private InputEntry(List<Object> values, double lower, boolean lowerInclusive, double upper,
+                           boolean upperInclusive) {
+            if (Double.isNaN(lower) || Double.isNaN(upper) || lower > upper) {
+                throw new IllegalArgumentException("Invalid range: " + lower + " to " + upper);
+            }
+            this.values = values;
+            this.lower = lower;
+            this.lowerInclusive = lowerInclusive;
+            this.upper = upper;
+            this.upperInclusive = upperInclusive;
+        }
+
+        boolean isRange() {
+            return lower != Double.NEGATIVE_INFINITY || upper != Double.POSITIVE_INFINITY;
+        }
+
+        boolean contains(double number) {
+            return (lower < number || (lowerInclusive && lower == number))
+                    && (number < upper || (upperInclusive && number == upper));
+        }
+
+        @Override
+        public String toString() {
+            if (values != null) {
+                return values.size() == 1 ? String.valueOf(values.get(0)) : values.toString();
+            }
+            if (!isRange()) {
+                return "-";
+            }
+            return (lowerInclusive ? "[" : "(") + lower + ".." + upper + (upperInclusive ? "]" : ")");
+        }
+    }
+
+    /**
+     * Get the UUID of the decision table.
+     *
+     * @return The UUID
+     */
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public Set<Category> getCategories() {
+        return categories;
+    }
+
+    @Override
+    public boolean hasCategory(Category category) {
+        return this.categories.contains(category);
+    }
+
+    /**
+     * Check if this decision table has a category with the specified name.
+     *
+     * @param categoryName The name of the category to check
+     * @return True if the decision table has a category with the specified name, false otherwise
+     */
+    public boolean hasCategory(String categoryName) {
+        return this.categories.stream().anyMatch(c -> c.getName().equals(categoryName));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Get the hit policy of the decision table.
+     *
+     * @return The hit policy
+     */
+    public HitPolicy getHitPolicy() {
+        return hitPolicy;
+    }
+
+    /**
+     * Get the input expressions of the decision table, one per column.
+     *
+     * @return An unmodifiable list of input expressions
+     */
+    public List<String> getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Get the number of rows in the decision table.
+     *
+     * @return The number of rows
+     */
+    public int getRowCount() {
+        return outputs.length;
+    }
+}
@@ -0,0 +1,250 @@
+package com.rulesengine.core.engine;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Builder class for creating DecisionTable instances.
+ * This provides a fluent API for declaring the inputs and rows of a decision table.
+ *
+ * Example:
+ * <pre>
+ * DecisionTable discounts = config.decisionTable("T1")
+ *     .withName("Order discount")
+ *     .withCategory("order-discount")
+ *     .withInputs("#customer.membershipLevel", "#order.calculateTotal()")
+ *     .withRow("Gold, large order: 18%", "Gold", DecisionTable.atLeast(200))
+ *     .withRow("Gold: 15%", "Gold", DecisionTable.any())
+ *     .withRow("Silver: 8%", "Silver", DecisionTable.any())
+ *     .build();
+ * </pre>
+ */
+public class DecisionTableBuilder {
+    private static final ExpressionParser DEFAULT_PARSER = new SpelExpressionParser();
+
+    private String id;
+    private Set<Category> categories = new HashSet<>();
+    private String name;
+    private String description;
+    private int priority = 100; // Default priority
+    private DecisionTable.HitPolicy hitPolicy = DecisionTable.HitPolicy.FIRST;
+    private final List<String> inputs = new ArrayList<>();
+    private final List<DecisionTable.InputEntry[]> rows = new ArrayList<>();
+    private final List<String> outputs = new ArrayList<>();
+    private ExpressionParser parser = DEFAULT_PARSER;
+
+    /**
+     * Create a new DecisionTableBuilder with a generated ID.
+     */
+    public DecisionTableBuilder() {
+        this.id = "T" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Create a new DecisionTableBuilder with the specified ID.
+     *
+     * @param id The unique identifier for the decision table
+     */
+    public DecisionTableBuilder(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Set the ID for the decision table.
+     *
+     * @param id The unique identifier for the decision table
+     * @return This builder for method chaining
+     */
+    public DecisionTableBuilder withId(String id) {
+        this.id = id;
+        return this;
+    }
+
+    /**
+     * Add a category to the decision table.
+     *
+     * @param category The category to add
+     * @return This builder for method chaining
+     */
+    public DecisionTableBuilder withCategory(Category category) {
+        this.categories.add(category);
+        return this;
+    }
+
+    /**
+     * Add a category to the decision table by name.
+     *
+     * @param categoryName The name of the category to add
+     * @return This builder for method chaining
+     */
+    public DecisionTableBuilder withCategory(String categoryName) {
+        this.categories.add(new Category(categoryName, priority));
+        return this;
+    }
+
+    /**
+     * Set the categories for the decision table by name, replacing any existing categories.
+     *
+     * @param categoryNames The set of category names for the decision table
+     * @return This builder for method chaining
+     */
+    public DecisionTableBuilder withCategoryNames(Set<String> categoryNames) {
+        this.categories = categoryNames.stream()
+            .map(name -> new Category(name, priority))
+            .collect(Collectors.toSet());
+        return this;
+    }
+
+    /**
+     * Set the name for the decision table.
+     *
+     * @param name The name of the decision table
+     * @return This builder for method chaining
+     */
+    public DecisionTableBuilder withName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * Set the description for the decision table.
+     *
+     * @param description The description of what the decision table does
+     * @return This builder for method chaining
+     */
+    public DecisionTableBuilder withDescription(String description) {
+        this.description = description;
+        return this;
+    }
+
+    /**
+     * Set the priority for the decision table.
+     *
+     * @param priority The priority of the decision table (lower numbers = higher priority)
+     * @return This builder for method chaining
+     */
+    public DecisionTableBuilder withPriority(int priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * Set the hit policy for the decision table. The default is {@link DecisionTable.HitPolicy#FIRST}.
+     *
+     * @param hitPolicy Which of the matching rows produce an output
+     * @return This builder for method chaining
+     */
+    public DecisionTableBuilder withHitPolicy(DecisionTable.HitPolicy hitPolicy) {
+        this.hitPolicy = hitPolicy;
+        return this;
+    }
+
+    /**
+     * Add input columns to the decision table.
+     *
+     * @param inputs The SpEL expressions that compute the inputs, such as "#customer.membershipLevel"
+     * @return This builder for method chaining
+     */
+    public DecisionTableBuilder withInputs(String... inputs) {
+        for (String input : inputs) {
+            this.inputs.add(input);
+        }
+        return this;
+    }
+
+    /**
+     * Add a row to the decision table. Rows are matched in the order in which they are added.
+     * Each entry is either a {@link DecisionTable.InputEntry}, null for any value, or a value that
+     * the input must equal.
+     *
+     * @param output The message produced when the row matches
+     * @param entries The entries of the row, one per input column
+     * @return This builder for method chaining
+     */
+    public DecisionTableBuilder withRow(String output, Object... entries) {
+        DecisionTable.InputEntry[] row = new DecisionTable.InputEntry[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            Object entry = entries[i];
+            if (entry == null) {
+                row[i] = DecisionTable.any();
+            } else if (entry instanceof DecisionTable.InputEntry) {
+                row[i] = (DecisionTable.InputEntry) entry;
+            } else {
+                row[i] = DecisionTable.oneOf(entry);
+            }
+        }
+        this.rows.add(row);
+        this.outputs.add(output);
+        return this;
+    }
+
+    /**
+     * Set the parser used to parse the input expressions when the decision table is built.
+     *
+     * @param parser The expression parser to use
+     * @return This builder for method chaining
+     */
+    public DecisionTableBuilder withParser(ExpressionParser parser) {
+        this.parser = parser;
+        return this;
+    }
+
+    /**
+     * Build a DecisionTable instance with the current builder state, compiling its rows into lookup structures.
+     * If no categories have been added, a default category will be used.
+     * If no description has been set, the name will be used as the description.
+     *
+     * @return A new DecisionTable instance
+     * @throws IllegalStateException if the name, inputs or rows are not set, if a row does not have one entry
+     *         per input, or if an input is not a valid SpEL expression
+     */
+    public DecisionTable build() {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalStateException("Decision table name must be set");
+        }
+        if (inputs.isEmpty()) {
+            throw new IllegalStateException("Decision table inputs must be set");
+        }
+        if (rows.isEmpty()) {
+            throw new IllegalStateException("Decision table must have at least one row");
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i).length != inputs.size()) {
+                throw new IllegalStateException("Row " + i + " has " + rows.get(i).length
+                        + " entries but the decision table has " + inputs.size() + " inputs");
+            }
+        }
+
+        // Use name as description if description is not set
+        if (description == null || description.isEmpty()) {
+            description = name;
+        }
+
+        // Add default category if no categories are specified
+        if (categories.isEmpty()) {
+            categories.add(new Category("default", priority));
+        }
+
+        List<Expression> expressions = new ArrayList<>(inputs.size());
+        for (String input : inputs) {
+            try {
+                expressions.add(parser.parseExpression(input));
+            } catch (ParseException e) {
+                throw new IllegalStateException("Decision table input is not a valid expression: '" + input + "': "
+                        + e.getMessage(), e);
+            }
+        }
+
+        return new DecisionTable(id, categories, name, description, priority, hitPolicy, inputs, expressions,
+                rows, outputs);
+    }
+}
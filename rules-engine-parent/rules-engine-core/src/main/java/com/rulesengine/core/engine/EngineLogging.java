@@ -0,0 +1,282 @@
+package com.rulesengine.core.engine;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Controls how the rules engine logs the events of each request, such as a rule matching or a rule failing.
+ *
+ * In {@link Mode#VERBOSE} mode, the default, every event is logged at INFO or WARNING as it happens.
+ * In {@link Mode#PRODUCTION} mode, events are counted instead and logged as one summary per interval, with
+ * the count of each event per rule, category or expression. Optionally one event in every
+ * {@link #setSampleRate(int) sample rate} is still logged as it happens, and the first occurrence of each
+ * warning in an interval is always logged in full.
+ *
+ * In either mode, diagnostics at FINE and below are only built when the logger is enabled for them.
+ * <pre>
+ * EngineLogging.setMode(EngineLogging.Mode.PRODUCTION);
+ * EngineLogging.setSummaryInterval(Duration.ofMinutes(5));
+ * </pre>
+ */
+public final class EngineLogging {
+
+    /**
+     * How the events of each request are logged.
+     */
+    public enum Mode {
+        /** Every event is logged as it happens */
+        VERBOSE,
+        /** Events are counted and logged as a summary per interval */
+        PRODUCTION
+    }
+
+    // Distinct details counted per event in one interval, further details are counted together
+    static final int MAX_DETAILS_PER_EVENT = 100;
+    private static final String OTHER_DETAILS = "(other)";
+
+    private static final List<EventLog> EVENT_LOGS = new CopyOnWriteArrayList<>();
+    private static volatile Mode mode = Mode.VERBOSE;
+    private static volatile Duration summaryInterval = Duration.ofMinutes(1);
+    private static volatile int sampleRate;
+
+    private EngineLogging() {
+    }
+
+    /**
+     * Set the logging mode. Events counted in production mode are logged when switching to verbose mode.
+     *
+     * @param newMode The logging mode
+     * @throws IllegalArgumentException if the mode is null
+     */
+    public static void setMode(Mode newMode) {
+        if (newMode == null) {
+            throw new IllegalArgumentException("Logging mode must not be null");
+        }
+        Mode oldMode = mode;
+        mode = newMode;
+        if (oldMode == Mode.PRODUCTION && newMode != Mode.PRODUCTION) {
+            flush();
+        }
+    }
+
+    /**
+     * Get the logging mode.
+     *
+     * @return The logging mode
+     */
+    public static Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Set how often counted events are summarised in production mode. The default is one minute.
+     * A summary is logged by the first event after the interval has elapsed, or by {@link #flush()}.
+     *
+     * @param interval The interval between summaries
+     * @throws IllegalArgumentException if the interval is null, zero or negative
+     */
+    public static void setSummaryInterval(Duration interval) {
+        if (interval == null || interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Summary interval must be positive");
+        }
+        summaryInterval = interval;
+    }
+
+    /**
+     * Get how often counted events are summarised in production mode.
+     *
+     * @return The interval between summaries
+     */
+    public static Duration getSummaryInterval() {
+        return summaryInterval;
+    }
+
+    /**
+     * Set how many events are counted in production mode for each one that is also logged as it happens.
+     * The default, 0, logs no event as it happens.
+     *
+     * @param rate Log one event in this many, or 0 to log none
+     * @throws IllegalArgumentException if the rate is negative
+     */
+    public static void setSampleRate(int rate) {
+        if (rate < 0) {
+            throw new IllegalArgumentException("Sample rate must not be negative");
+        }
+        sampleRate = rate;
+    }
+
+    /**
+     * Get how many events are counted in production mode for each one that is also logged as it happens.
+     *
+     * @return The sample rate, or 0 if no event is logged as it happens
+     */
+    public static int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Log a summary of the events counted so far, for example before shutting down.
+     */
+    public static void flush() {
+        for (EventLog eventLog : EVENT_LOGS) {
+            eventLog.summarize();
+        }
+    }
+
+    /**
+     * Create the event log of a class.
+     *
+     * @param logger The logger of the class
+     * @return The event log
+     */
+    static EventLog eventLog(Logger logger) {
+        EventLog eventLog = new EventLog(logger);
+        EVENT_LOGS.add(eventLog);
+        return eventLog;
+    }
+
+    /**
+     * Logs the events of a class according to the current mode. An event has a fixed description, such as
+     * "Rule matched", and optionally a detail, such as the name of the rule; in verbose mode it is logged as
+     * "description: detail". Counts may miss the odd event that happens while a summary is being logged.
+     */
+    static final class EventLog {
+        private final Logger logger;
+        private final AtomicReference<Map<String, Map<String, LongAdder>>> events =
+                new AtomicReference<>(new ConcurrentHashMap<>());
+        private final AtomicReference<Map<String, Map<String, LongAdder>>> warnings =
+                new AtomicReference<>(new ConcurrentHashMap<>());
+        private final AtomicLong sampleCount = new AtomicLong();
+        private final AtomicLong nextSummary = new AtomicLong(System.nanoTime() + summaryInterval.toNanos());
+
+        private EventLog(Logger logger) {
+            this.logger = logger;
+        }
+
+        /**
+         * Check whether events are logged as they happen, so that a message describing a request in more
+         * detail than its events is worth building.
+         *
+         * @return true in verbose mode when the logger is enabled for INFO, false otherwise
+         */
+        boolean isVerbose() {
+            return mode == Mode.VERBOSE && logger.isLoggable(Level.INFO);
+        }
+
+        /**
+         * Log or count an event at INFO.
+         *
+         * @param event The description of the event
+         * @param detail The detail of the event, or null if it has none
+         */
+        void info(String event, String detail) {
+            if (!logger.isLoggable(Level.INFO)) {
+                return;
+            }
+            if (mode == Mode.VERBOSE) {
+                logger.info(detail != null ? event + ": " + detail : event);
+                return;
+            }
+            counter(events, event, detail).increment();
+            int rate = sampleRate;
+            if (rate > 0 && sampleCount.incrementAndGet() % rate == 0) {
+                logger.info("Sampled event: " + (detail != null ? event + ": " + detail : event));
+            }
+            summarizeIfDue();
+        }
+
+        /**
+         * Log or count an event at WARNING. The message is logged as "description 'detail': reason".
+         *
+         * @param event The description of the event
+         * @param detail The detail of the event, such as the name of the failing rule
+         * @param reason The reason for the warning
+         * @param thrown The exception that caused the warning, or null to log the message only
+         */
+        void warning(String event, String detail, String reason, Throwable thrown) {
+            if (!logger.isLoggable(Level.WARNING)) {
+                return;
+            }
+            if (mode == Mode.PRODUCTION) {
+                LongAdder counter = counter(warnings, event, detail);
+                boolean first = counter.sum() == 0;
+                counter.increment();
+                summarizeIfDue();
+                if (!first) {
+                    return;
+                }
+            }
+            logger.log(Level.WARNING, event + " '" + detail + "': " + reason, thrown);
+        }
+
+        private static LongAdder counter(AtomicReference<Map<String, Map<String, LongAdder>>> counts,
+                                         String event, String detail) {
+            Map<String, LongAdder> details = counts.get().computeIfAbsent(event, e -> new ConcurrentHashMap<>());
+            String key = detail != null ? detail : "";
+            LongAdder counter = details.get(key);
+            if (counter == null) {
+                if (details.size() >= MAX_DETAILS_PER_EVENT) {
+                    key = OTHER_DETAILS;
+                }
+                counter = details.computeIfAbsent(key, k -> new LongAdder());
+            }
+            return counter;
+        }
+
+        private void summarizeIfDue() {
+            long next = nextSummary.get();
+            long now = System.nanoTime();
+            if (now - next >= 0 && nextSummary.compareAndSet(next, now + summaryInterval.toNanos())) {
+                summarize();
+            }
+        }
+
+        /**
+         * Log the events counted since the last summary and start counting again.
+         */
+        void summarize() {
+            String summary = summary(events.getAndSet(new ConcurrentHashMap<>()));
+            if (summary != null) {
+                logger.info("Events since the last summary: " + summary);
+            }
+            summary = summary(warnings.getAndSet(new ConcurrentHashMap<>()));
+            if (summary != null) {
+                logger.warning("Warnings since the last summary: " + summary);
+            }
+        }
+
+        /**
+         * Describe counted events as "description: detail x count, detail x count; description x count".
+         *
+         * @param counts The counts by event and detail
+         * @return The description, or null if no events were counted
+         */
+        private static String summary(Map<String, Map<String, LongAdder>> counts) {
+            StringBuilder summary = new StringBuilder();
+            counts.forEach((event, details) -> {
+                if (summary.length() > 0) {
+                    summary.append("; ");
+                }
+                summary.append(event);
+                String separator = ": ";
+                for (Map.Entry<String, LongAdder> entry : details.entrySet()) {
+                    if (entry.getKey().isEmpty()) {
+                        summary.append(" x").append(entry.getValue().sum());
+                    } else {
+                        summary.append(separator).append(entry.getKey()).append(" x").append(entry.getValue().sum());
+                        separator = ", ";
+                    }
+                }
+            });
+            return summary.length() > 0 ? summary.toString() : null;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.rulesengine.core.engine;
+
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.expression.AccessException;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.MethodExecutor;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.spel.support.DataBindingMethodResolver;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Factory for the evaluation contexts used to evaluate rules against a set of facts.
+ *
+ * A new StandardEvaluationContext creates its own property accessors, method and constructor resolvers,
+ * type locator and type converter on first use, and the reflective accessors and resolvers warm up their
+ * caches again for every context. This factory creates those delegates once and shares them between all
+ * contexts it hands out, so only the variable bindings change from one evaluation to the next.
+ *
+ * Contexts are either created fresh with {@link #createContext(Map)}, or borrowed from a per-thread pool
+ * with {@link #acquireContext(Map)} and handed back with {@link #releaseContext(StandardEvaluationContext)}.
+ * Rules that only read data can be evaluated with the lighter read-only data-binding context returned by
+ * {@link #getDataBindingContext(StandardEvaluationContext)}, which carries the same variables.
+ */
+public class EvaluationContextFactory {
+    private static final Logger LOGGER = Logger.getLogger(EvaluationContextFactory.class.getName());
+
+    // Resolves instance methods like DataBindingMethodResolver, but reports methods on Class objects as not found
+    // instead of throwing IllegalArgumentException, so the engine can recognise the rejection
+    private static final MethodResolver DATA_BINDING_METHODS = new MethodResolver() {
+        private final DataBindingMethodResolver delegate = DataBindingMethodResolver.forInstanceMethodInvocation();
+
+        @Override
+        public MethodExecutor resolve(EvaluationContext context, Object targetObject, String name,
+                                      List<TypeDescriptor> argumentTypes) throws AccessException {
+            return targetObject instanceof Class ? null : delegate.resolve(context, targetObject, name, argumentTypes);
+        }
+    };
+
+    // Holds the shared delegates; never used for evaluation itself
+    private final StandardEvaluationContext template;
+    private final ThreadLocal<TrackedEvaluationContext> threadContexts;
+
+    /**
+     * Create a new EvaluationContextFactory with the default SpEL delegates.
+     */
+    public EvaluationContextFactory() {
+        this(new StandardEvaluationContext());
+    }
+
+    /**
+     * Create a new EvaluationContextFactory whose contexts share the delegates of the given template.
+     * This allows custom property accessors, resolvers, type locators or converters to be configured once.
+     *
+     * @param template The context whose delegates are shared by all contexts created by this factory
+     */
+    public EvaluationContextFactory(StandardEvaluationContext template) {
+        this.template = template;
+        // The getters create the default delegates if none are configured, so they exist before they are shared
+        template.getPropertyAccessors();
+        template.getConstructorResolvers();
+        template.getMethodResolvers();
+        template.getTypeLocator();
+        template.getTypeConverter();
+        this.threadContexts = ThreadLocal.withInitial(this::newReusableContext);
+        LOGGER.fine("EvaluationContextFactory initialized with " + template.getPropertyAccessors().size()
+                + " property accessors");
+    }
+
+    /**
+     * Create a new evaluation context with the provided facts bound as variables.
+     * The context shares this factory's delegates and may be kept by the caller.
+     *
+     * @param facts The facts to add to the context, may be null
+     * @return A new evaluation context
+     */
+    public StandardEvaluationContext createContext(Map<String, Object> facts) {
+        TrackedEvaluationContext context = new TrackedEvaluationContext();
+        template.applyDelegatesTo(context);
+        bindFacts(context, facts);
+        return context;
+    }
+
+    /**
+     * Borrow the current thread's evaluation context with the provided facts bound as variables.
+     * The context must be handed back with {@link #releaseContext(StandardEvaluationContext)} once the
+     * evaluation is complete and must not be used afterwards. If the thread's context is already in use,
+     * for example by a nested evaluation, a new context is created instead.
+     *
+     * @param facts The facts to add to the context, may be null
+     * @return An evaluation context for use by the current thread
+     */
+    public StandardEvaluationContext acquireContext(Map<String, Object> facts) {
+        TrackedEvaluationContext context = threadContexts.get();
+        if (context.inUse) {
+            LOGGER.fine("Thread context already in use, creating a new context");
+            return createContext(facts);
+        }
+        context.inUse = true;
+        bindFacts(context, facts);
+        return context;
+    }
+
+    /**
+     * Hand back a context obtained from {@link #acquireContext(Map)}, removing all of its variables.
+     * Contexts that were created rather than borrowed are ignored.
+     *
+     * @param context The context to release
+     */
+    public void releaseContext(StandardEvaluationContext context) {
+        if (context instanceof TrackedEvaluationContext) {
+            TrackedEvaluationContext tracked = (TrackedEvaluationContext) context;
+            if (tracked.inUse) {
+                tracked.clearVariables();
+                tracked.inUse = false;
+            }
+        }
+    }
+
+    /**
+     * Get a read-only data-binding context with the same variables as a context created or acquired from
+     * an EvaluationContextFactory. It supports reading variables, properties and public instance methods only,
+     * and is kept in step with variables set on the given context until that context is released.
+     *
+     * @param context The context obtained from {@link #createContext(Map)} or {@link #acquireContext(Map)}
+     * @return The read-only data-binding context
+     * @throws IllegalArgumentException if the context was not obtained from an EvaluationContextFactory
+     */
+    public EvaluationContext getDataBindingContext(StandardEvaluationContext context) {
+        if (!(context instanceof TrackedEvaluationContext)) {
+            throw new IllegalArgumentException("Context was not obtained from an EvaluationContextFactory");
+        }
+        return ((TrackedEvaluationContext) context).getDataBindingContext();
+    }
+
+    private TrackedEvaluationContext newReusableContext() {
+        TrackedEvaluationContext context = new TrackedEvaluationContext();
+        template.applyDelegatesTo(context);
+        return context;
+    }
+
+    private static void bindFacts(StandardEvaluationContext context, Map<String, Object> facts) {
+        if (facts != null) {
+            for (Map.Entry<String, Object> fact : facts.entrySet()) {
+                context.setVariable(fact.getKey(), fact.getValue());
+            }
+        }
+    }
+
+    /**
+     * An evaluation context that remembers which variables were set, so that they can be cleared
+     * and copied to its read-only data-binding counterpart.
+     */
+    private static final class TrackedEvaluationContext extends StandardEvaluationContext {
+        private final List<String> variableNames = new ArrayList<>();
+        private boolean inUse;
+        // Created on first use, and only bound while dataBindingBound is set
+        private SimpleEvaluationContext dataBindingContext;
+        private boolean dataBindingBound;
+
+        @Override
+        public void setVariable(String name, Object value) {
+            super.setVariable(name, value);
+            if (value != null) {
+                variableNames.add(name);
+            }
+            if (dataBindingBound) {
+                dataBindingContext.setVariable(name, value);
+            }
+        }
+
+        EvaluationContext getDataBindingContext() {
+            if (dataBindingContext == null) {
+                TypeConverter typeConverter = getTypeConverter();
+                dataBindingContext = SimpleEvaluationContext.forReadOnlyDataBinding()
+                        .withMethodResolvers(DATA_BINDING_METHODS)
+                        .withTypeConverter(typeConverter)
+                        .build();
+            }
+            if (!dataBindingBound) {
+                for (String name : variableNames) {
+                    dataBindingContext.setVariable(name, lookupVariable(name));
+                }
+                dataBindingBound = true;
+            }
+            return dataBindingContext;
+        }
+
+        void clearVariables() {
+            for (String name : variableNames) {
+                // Setting a null value removes the variable
+                super.setVariable(name, null);
+                if (dataBindingBound) {
+                    dataBindingContext.setVariable(name, null);
+                }
+            }
+            variableNames.clear();
+            dataBindingBound = false;
+        }
+    }
+}
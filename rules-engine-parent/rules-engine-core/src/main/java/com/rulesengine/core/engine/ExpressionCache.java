@@ -0,0 +1,315 @@
+package com.rulesengine.core.engine;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * A bounded, thread-safe cache of parsed SpEL expressions keyed by their expression string.
+ * Parsing a condition is far more expensive than evaluating it, so the rules engine parses each
+ * distinct condition once and reuses the resulting Expression for every subsequent evaluation.
+ *
+ * When the cache is full, entries are evicted according to the configured {@link EvictionPolicy}.
+ * Hit, miss and eviction counters are maintained so that the cache can be sized appropriately.
+ *
+ * Lookups never lock: a hit only records the time of the access on its entry. Inserting a newly parsed
+ * expression and evicting are serialized, and eviction scans the entries for the least recently used or the
+ * first inserted one, which is cheap next to the parse that caused it.
+ *
+ * A cache created with a {@link SpelCompilerMode} other than OFF parses with a compiling parser, so
+ * expressions it returns are compiled to bytecode by Spring once they have been evaluated.
+ */
+public class ExpressionCache {
+    private static final Logger LOGGER = Logger.getLogger(ExpressionCache.class.getName());
+
+    /** The default maximum number of parsed expressions held by a cache. */
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    /**
+     * Enum representing the strategy used to choose which entry to evict when the cache is full.
+     */
+    public enum EvictionPolicy {
+        /** Evict the least recently used expression */
+        LRU,
+        /** Evict the expression that was parsed first */
+        FIFO
+    }
+
+    private final ExpressionParser parser;
+    private final SpelCompilerMode compilerMode;
+    private final boolean useRuleExpressions;
+    private final int capacity;
+    private final EvictionPolicy evictionPolicy;
+    private final Map<String, Entry> expressions = new ConcurrentHashMap<>();
+    private final Object insertLock = new Object();
+    // Insertion order of the entries, for FIFO eviction; guarded by insertLock
+    private long insertions;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create a new ExpressionCache with a default parser, the default capacity and LRU eviction.
+     * Rule conditions already parsed by a RuleBuilder are used as they are.
+     */
+    public ExpressionCache() {
+        this(new SpelExpressionParser(), SpelCompilerMode.OFF, DEFAULT_CAPACITY, EvictionPolicy.LRU, true);
+    }
+
+    /**
+     * Create a new ExpressionCache with the specified parser, the default capacity and LRU eviction.
+     *
+     * @param parser The expression parser used to parse cache misses
+     */
+    public ExpressionCache(ExpressionParser parser) {
+        this(parser, DEFAULT_CAPACITY, EvictionPolicy.LRU);
+    }
+
+    /**
+     * Create a new ExpressionCache with the specified parser, capacity and eviction policy.
+     *
+     * @param parser The expression parser used to parse cache misses
+     * @param capacity The maximum number of parsed expressions to hold
+     * @param evictionPolicy The policy used to choose which entry to evict when the cache is full
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public ExpressionCache(ExpressionParser parser, int capacity, EvictionPolicy evictionPolicy) {
+        this(parser, SpelCompilerMode.OFF, capacity, evictionPolicy, false);
+    }
+
+    /**
+     * Create a new ExpressionCache that parses with the specified SpEL compiler mode,
+     * the default capacity and LRU eviction.
+     *
+     * @param compilerMode The SpEL compiler mode (OFF, IMMEDIATE or MIXED)
+     */
+    public ExpressionCache(SpelCompilerMode compilerMode) {
+        this(compilerMode, DEFAULT_CAPACITY, EvictionPolicy.LRU);
+    }
+
+    /**
+     * Create a new ExpressionCache that parses with the specified SpEL compiler mode, capacity and eviction policy.
+     * Expressions that cannot be compiled are still returned and are evaluated in interpreted mode.
+     *
+     * @param compilerMode The SpEL compiler mode (OFF, IMMEDIATE or MIXED)
+     * @param capacity The maximum number of parsed expressions to hold
+     * @param evictionPolicy The policy used to choose which entry to evict when the cache is full
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public ExpressionCache(SpelCompilerMode compilerMode, int capacity, EvictionPolicy evictionPolicy) {
+        this(new SpelExpressionParser(new SpelParserConfiguration(compilerMode, ExpressionCache.class.getClassLoader())),
+                compilerMode, capacity, evictionPolicy, false);
+    }
+
+    private ExpressionCache(ExpressionParser parser, SpelCompilerMode compilerMode, int capacity,
+                            EvictionPolicy evictionPolicy, boolean useRuleExpressions) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Expression cache capacity must be positive");
+        }
+        this.parser = parser;
+        this.compilerMode = compilerMode;
+        // Rules are parsed by the default parser, so any other parser or a compiling one parses its own copy
+        this.useRuleExpressions = useRuleExpressions;
+        this.capacity = capacity;
+        this.evictionPolicy = evictionPolicy;
+        LOGGER.fine("ExpressionCache initialized with capacity " + capacity + " and " + evictionPolicy + " eviction");
+    }
+
+    /**
+     * Get the parsed form of an expression string, parsing and caching it on a miss.
+     * Expressions that fail to parse are not cached.
+     *
+     * @param expressionString The SpEL expression string
+     * @return The parsed expression
+     * @throws org.springframework.expression.ParseException if the expression cannot be parsed
+     */
+    public Expression get(String expressionString) {
+        Entry entry = expressions.get(expressionString);
+        if (entry != null) {
+            hits.increment();
+            if (evictionPolicy == EvictionPolicy.LRU) {
+                entry.lastAccess = System.nanoTime();
+            }
+            return entry.expression;
+        }
+
+        // Parse outside the lock so that a slow parse does not block other misses
+        misses.increment();
+        Expression parsed = parser.parseExpression(expressionString);
+
+        synchronized (insertLock) {
+            Entry existing = expressions.get(expressionString);
+            if (existing != null) {
+                return existing.expression;
+            }
+            if (expressions.size() >= capacity) {
+                evictOne();
+            }
+            expressions.put(expressionString, new Entry(parsed, ++insertions));
+            return parsed;
+        }
+    }
+
+    /**
+     * Remove the least recently used or the first inserted entry. Must be called holding insertLock.
+     */
+    private void evictOne() {
+        String eldestKey = null;
+        long eldest = Long.MAX_VALUE;
+        for (Map.Entry<String, Entry> candidate : expressions.entrySet()) {
+            Entry entry = candidate.getValue();
+            long order = evictionPolicy == EvictionPolicy.LRU ? entry.lastAccess : entry.insertion;
+            if (eldestKey == null || order < eldest) {
+                eldestKey = candidate.getKey();
+                eldest = order;
+            }
+        }
+        if (eldestKey != null) {
+            expressions.remove(eldestKey);
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Get the parsed form of a rule condition.
+     * A cache created with the default parser uses the rule's own parsed expression, so rules built by a
+     * RuleBuilder are never re-parsed. Any other cache parses and caches the condition with its own parser.
+     *
+     * @param rule The rule whose condition is needed
+     * @return The parsed condition
+     * @throws org.springframework.expression.ParseException if the condition cannot be parsed
+     */
+    public Expression get(Rule rule) {
+        return useRuleExpressions ? rule.getExpression() : get(rule.getCondition());
+    }
+
+    /**
+     * Remove all parsed expressions from the cache. The counters are not reset.
+     */
+    public void clear() {
+        synchronized (insertLock) {
+            expressions.clear();
+        }
+    }
+
+    /**
+     * Get the number of parsed expressions currently held by the cache.
+     *
+     * @return The number of cached expressions
+     */
+    public int size() {
+        return expressions.size();
+    }
+
+    /**
+     * Get the maximum number of parsed expressions held by the cache.
+     *
+     * @return The capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Get the eviction policy of the cache.
+     *
+     * @return The eviction policy
+     */
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    /**
+     * Get the expression parser used to parse cache misses.
+     *
+     * @return The expression parser
+     */
+    public ExpressionParser getParser() {
+        return parser;
+    }
+
+    /**
+     * Get the SpEL compiler mode this cache was created with.
+     * Caches created from an explicit parser report OFF.
+     *
+     * @return The compiler mode
+     */
+    public SpelCompilerMode getCompilerMode() {
+        return compilerMode;
+    }
+
+    /**
+     * Get the number of lookups that were served from the cache.
+     *
+     * @return The hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of lookups that required the expression to be parsed.
+     *
+     * @return The miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the number of expressions that were evicted because the cache was full.
+     *
+     * @return The eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Get the fraction of lookups that were served from the cache.
+     *
+     * @return The hit rate between 0.0 and 1.0, or 0.0 if there have been no lookups
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * A parsed expression with the order in which it was inserted and the time it was last used.
+     */
+    private static final class Entry {
+        private final Expression expression;
+        private final long insertion;
+        // Written by every hit without locking; only read when choosing an entry to evict
+        private volatile long lastAccess;
+
+        Entry(Expression expression, long insertion) {
+            this.expression = expression;
+            this.insertion = insertion;
+            this.lastAccess = System.nanoTime();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ExpressionCache{" +
+                "size=" + size() +
+                ", capacity=" + capacity +
+                ", evictionPolicy=" + evictionPolicy +
+                ", compilerMode=" + compilerMode +
+                ", hits=" + getHitCount() +
+                ", misses=" + getMissCount() +
+                ", evictions=" + getEvictionCount() +
+                '}';
+    }
+}
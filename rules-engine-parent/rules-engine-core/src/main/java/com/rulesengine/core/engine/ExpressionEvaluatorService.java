@@ -14,6 +14,7 @@ import java.util.logging.Logger;
  */
 public class ExpressionEvaluatorService {
     private static final Logger LOGGER = Logger.getLogger(ExpressionEvaluatorService.class.getName());
+    private static final EngineLogging.EventLog EVENTS = EngineLogging.eventLog(LOGGER);
     private final ExpressionParser parser;
 
     /**
@@ -44,8 +45,10 @@ public class ExpressionEvaluatorService {
      * @return The result of the evaluation
      */
     public <T> T evaluate(String expression, EvaluationContext context, Class<T> resultType) {
-        LOGGER.info("Evaluating expression: " + expression);
-        LOGGER.fine("Expected result type: " + resultType.getSimpleName());
+        EVENTS.info("Evaluating expression", expression);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Expected result type: " + resultType.getSimpleName());
+        }
 
         try {
             LOGGER.fine("Parsing expression");
@@ -54,10 +57,12 @@ public class ExpressionEvaluatorService {
             LOGGER.fine("Evaluating expression against context");
             T result = exp.getValue(context, resultType);
 
-            LOGGER.info("Expression: " + expression + " => " + result);
+            if (EVENTS.isVerbose()) {
+                LOGGER.info("Expression: " + expression + " => " + result);
+            }
             return result;
         } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Error evaluating expression '" + expression + "': " + e.getMessage(), e);
+            EVENTS.warning("Error evaluating expression", expression, e.getMessage(), e);
             return null;
         }
     }
@@ -73,8 +78,10 @@ public class ExpressionEvaluatorService {
      * @return A RuleResult containing the outcome of the evaluation
      */
     public <T> RuleResult evaluateWithResult(String expression, EvaluationContext context, Class<T> resultType) {
-        LOGGER.info("Evaluating expression with result tracking: " + expression);
-        LOGGER.fine("Expected result type: " + resultType.getSimpleName());
+        EVENTS.info("Evaluating expression with result tracking", expression);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Expected result type: " + resultType.getSimpleName());
+        }
 
         try {
             LOGGER.fine("Parsing expression");
@@ -83,7 +90,9 @@ public class ExpressionEvaluatorService {
             LOGGER.fine("Evaluating expression against context");
             T result = exp.getValue(context, resultType);
 
-            LOGGER.info("Expression: " + expression + " => " + result);
+            if (EVENTS.isVerbose()) {
+                LOGGER.info("Expression: " + expression + " => " + result);
+            }
 
             // Create a RuleResult based on the evaluation outcome
             if (result == null) {
@@ -102,7 +111,7 @@ public class ExpressionEvaluatorService {
                 return RuleResult.match("Expression", "Expression evaluated successfully: " + expression);
             }
         } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Error evaluating expression '" + expression + "': " + e.getMessage(), e);
+            EVENTS.warning("Error evaluating expression", expression, e.getMessage(), e);
             return RuleResult.error("Expression", "Error evaluating expression: " + e.getMessage());
         }
     }
@@ -117,8 +126,10 @@ public class ExpressionEvaluatorService {
      * @return The result of the evaluation
      */
     public <T> T evaluateQuietly(String expression, EvaluationContext context, Class<T> resultType) {
-        LOGGER.fine("Quietly evaluating expression: " + expression);
-        LOGGER.finest("Expected result type: " + resultType.getSimpleName());
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Quietly evaluating expression: " + expression);
+            LOGGER.finest("Expected result type: " + resultType.getSimpleName());
+        }
 
         try {
             Expression exp = parser.parseExpression(expression);
@@ -126,7 +137,33 @@ public class ExpressionEvaluatorService {
             LOGGER.finest("Expression evaluated successfully");
             return result;
         } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Error evaluating expression '" + expression + "': " + e.getMessage(), e);
+            EVENTS.warning("Error evaluating expression", expression, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Evaluates an already parsed SpEL expression and returns the result without printing.
+     * Use this overload when the expression has been parsed in advance, for example a rule condition.
+     * 
+     * @param expression The parsed SpEL expression to evaluate
+     * @param context The evaluation context
+     * @param resultType The expected result type
+     * @param <T> The type of the result
+     * @return The result of the evaluation
+     */
+    public <T> T evaluateQuietly(Expression expression, EvaluationContext context, Class<T> resultType) {
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Quietly evaluating parsed expression: " + expression.getExpressionString());
+            LOGGER.finest("Expected result type: " + resultType.getSimpleName());
+        }
+
+        try {
+            T result = expression.getValue(context, resultType);
+            LOGGER.finest("Expression evaluated successfully");
+            return result;
+        } catch (Exception e) {
+            EVENTS.warning("Error evaluating expression", expression.getExpressionString(), e.getMessage(), e);
             return null;
         }
     }
@@ -0,0 +1,126 @@
+package com.rulesengine.core.engine;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.Assign;
+import org.springframework.expression.spel.ast.BeanReference;
+import org.springframework.expression.spel.ast.ConstructorReference;
+import org.springframework.expression.spel.ast.FunctionReference;
+import org.springframework.expression.spel.ast.MethodReference;
+import org.springframework.expression.spel.ast.OpDec;
+import org.springframework.expression.spel.ast.OpInc;
+import org.springframework.expression.spel.ast.TypeReference;
+import org.springframework.expression.spel.standard.SpelExpression;
+
+/**
+ * Utility class for inspecting the abstract syntax tree of parsed SpEL expressions.
+ *
+ * It is used to decide whether a rule condition can be evaluated with a read-only data-binding
+ * context ({@link org.springframework.expression.spel.support.SimpleEvaluationContext}) instead of
+ * a full StandardEvaluationContext, and whether the result of a condition may be shared between rules.
+ */
+public final class ExpressionInspector {
+
+    private ExpressionInspector() {
+        // Utility class
+    }
+
+    /**
+     * Check whether an expression only reads variables, properties and instance methods.
+     * Such an expression does not reference types, constructors, beans or functions and does not
+     * assign, increment or decrement anything, so it can be evaluated with a read-only data-binding context.
+     *
+     * @param expression The parsed expression to inspect
+     * @return true if the expression is read-only data binding, false otherwise or if it is not a SpEL expression
+     */
+    public static boolean isReadOnlyDataBinding(Expression expression) {
+        if (!(expression instanceof SpelExpression)) {
+            return false;
+        }
+        return isReadOnlyDataBinding(((SpelExpression) expression).getAST());
+    }
+
+    /**
+     * Check whether evaluating an expression has no side effects on the evaluation context,
+     * meaning it does not assign, increment or decrement variables or properties.
+     * Method calls are not inspected; use {@link #isShareable(SpelNode)} to decide whether a result may be reused.
+     *
+     * @param expression The parsed expression to inspect
+     * @return true if the expression is free of side effects, false otherwise or if it is not a SpEL expression
+     */
+    public static boolean isSideEffectFree(Expression expression) {
+        if (!(expression instanceof SpelExpression)) {
+            return false;
+        }
+        return isSideEffectFree(((SpelExpression) expression).getAST());
+    }
+
+    /**
+     * Check whether evaluating an AST node has no side effects on the evaluation context.
+     *
+     * @param node The AST node to inspect
+     * @return true if the node and its children are free of side effects, false otherwise
+     */
+    public static boolean isSideEffectFree(SpelNode node) {
+        if (node instanceof Assign || node instanceof OpInc || node instanceof OpDec) {
+            return false;
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            if (!isSideEffectFree(node.getChild(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check whether an expression may be evaluated out of order, or skipped, without changing the outcome of
+     * other evaluations. It must be {@link #isShareable(SpelNode) shareable}: free of side effects and of
+     * method, function, constructor and bean calls, which may be stateful or guarded by other conditions.
+     *
+     * @param expression The parsed expression to inspect
+     * @return true if the expression is pure, false otherwise or if it is not a SpEL expression
+     */
+    public static boolean isPure(Expression expression) {
+        if (!(expression instanceof SpelExpression)) {
+            return false;
+        }
+        return isShareable(((SpelExpression) expression).getAST());
+    }
+
+    /**
+     * Check whether the result of evaluating an AST node may be shared between rules, so that it is evaluated
+     * once instead of once per rule. Besides being free of side effects, the node must not call methods,
+     * functions, constructors or beans, which may be stateful.
+     *
+     * @param node The AST node to inspect
+     * @return true if the result of the node may be shared, false otherwise
+     */
+    public static boolean isShareable(SpelNode node) {
+        if (node instanceof MethodReference || node instanceof FunctionReference
+                || node instanceof BeanReference || node instanceof ConstructorReference
+                || node instanceof Assign || node instanceof OpInc || node instanceof OpDec) {
+            return false;
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            if (!isShareable(node.getChild(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isReadOnlyDataBinding(SpelNode node) {
+        if (node instanceof TypeReference || node instanceof ConstructorReference
+                || node instanceof BeanReference || node instanceof FunctionReference
+                || node instanceof Assign || node instanceof OpInc || node instanceof OpDec) {
+            return false;
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            if (!isReadOnlyDataBinding(node.getChild(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
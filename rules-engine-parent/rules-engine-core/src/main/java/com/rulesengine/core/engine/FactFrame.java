@@ -0,0 +1,261 @@
+package com.rulesengine.core.engine;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A set of facts bound into the typed slots of a {@link FactSchema}. Numeric and boolean facts are kept
+ * in primitive arrays, so binding them does not box and rules compiled against the schema read them directly.
+ *
+ * A slot that has not been set since the frame was created or cleared is null, as a missing variable is in SpEL.
+ * Values can be set by slot name or, avoiding the name lookup, by slot index (see {@link FactSchema#slot(String)}).
+ *
+ * A frame is not thread-safe; each thread should bind its facts into its own frame, which it can clear and reuse.
+ */
+public final class FactFrame {
+    private final FactSchema schema;
+    final long[] longs;
+    final double[] doubles;
+    final boolean[] booleans;
+    final String[] strings;
+    final boolean[] present;
+
+    /**
+     * Create a new frame with all slots unset. Frames are normally created with {@link FactSchema#newFrame()}.
+     *
+     * @param schema The schema of the frame
+     */
+    public FactFrame(FactSchema schema) {
+        this.schema = schema;
+        int size = schema.size();
+        this.longs = new long[size];
+        this.doubles = new double[size];
+        this.booleans = new boolean[size];
+        this.strings = new String[size];
+        this.present = new boolean[size];
+    }
+
+    /**
+     * Get the schema of this frame.
+     *
+     * @return The schema
+     */
+    public FactSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Set a long slot.
+     *
+     * @param slot The index of the slot
+     * @param value The value
+     * @return This frame for method chaining
+     * @throws IllegalArgumentException if the slot is not a long slot
+     */
+    public FactFrame setLong(int slot, long value) {
+        checkType(slot, FactSchema.SlotType.LONG);
+        longs[slot] = value;
+        present[slot] = true;
+        return this;
+    }
+
+    /**
+     * Set a long slot by name.
+     *
+     * @param name The name of the slot
+     * @param value The value
+     * @return This frame for method chaining
+     * @throws IllegalArgumentException if there is no long slot with that name
+     */
+    public FactFrame setLong(String name, long value) {
+        return setLong(schema.slot(name), value);
+    }
+
+    /**
+     * Set a double slot.
+     *
+     * @param slot The index of the slot
+     * @param value The value
+     * @return This frame for method chaining
+     * @throws IllegalArgumentException if the slot is not a double slot
+     */
+    public FactFrame setDouble(int slot, double value) {
+        checkType(slot, FactSchema.SlotType.DOUBLE);
+        doubles[slot] = value;
+        present[slot] = true;
+        return this;
+    }
+
+    /**
+     * Set a double slot by name.
+     *
+     * @param name The name of the slot
+     * @param value The value
+     * @return This frame for method chaining
+     * @throws IllegalArgumentException if there is no double slot with that name
+     */
+    public FactFrame setDouble(String name, double value) {
+        return setDouble(schema.slot(name), value);
+    }
+
+    /**
+     * Set a boolean slot.
+     *
+     * @param slot The index of the slot
+     * @param value The value
+     * @return This frame for method chaining
+     * @throws IllegalArgumentException if the slot is not a boolean slot
+     */
+    public FactFrame setBoolean(int slot, boolean value) {
+        checkType(slot, FactSchema.SlotType.BOOLEAN);
+        booleans[slot] = value;
+        present[slot] = true;
+        return this;
+    }
+
+    /**
+     * Set a boolean slot by name.
+     *
+     * @param name The name of the slot
+     * @param value The value
+     * @return This frame for method chaining
+     * @throws IllegalArgumentException if there is no boolean slot with that name
+     */
+    public FactFrame setBoolean(String name, boolean value) {
+        return setBoolean(schema.slot(name), value);
+    }
+
+    /**
+     * Set a String slot. Setting null unsets the slot.
+     *
+     * @param slot The index of the slot
+     * @param value The value
+     * @return This frame for method chaining
+     * @throws IllegalArgumentException if the slot is not a String slot
+     */
+    public FactFrame setString(int slot, String value) {
+        checkType(slot, FactSchema.SlotType.STRING);
+        strings[slot] = value;
+        present[slot] = value != null;
+        return this;
+    }
+
+    /**
+     * Set a String slot by name. Setting null unsets the slot.
+     *
+     * @param name The name of the slot
+     * @param value The value
+     * @return This frame for method chaining
+     * @throws IllegalArgumentException if there is no String slot with that name
+     */
+    public FactFrame setString(String name, String value) {
+        return setString(schema.slot(name), value);
+    }
+
+    /**
+     * Set a slot from a boxed value, converting it to the slot's type.
+     * This is a convenience for binding facts that arrive as objects; setting null unsets the slot.
+     *
+     * @param name The name of the slot
+     * @param value The value, a Number for long and double slots, a Boolean for boolean slots,
+     *              or a CharSequence for String slots
+     * @return This frame for method chaining
+     * @throws IllegalArgumentException if there is no slot with that name or the value does not fit its type
+     */
+    public FactFrame set(String name, Object value) {
+        int slot = schema.slot(name);
+        if (value == null) {
+            present[slot] = false;
+            strings[slot] = null;
+            return this;
+        }
+        switch (schema.getType(slot)) {
+            case LONG:
+                if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                    return setLong(slot, ((Number) value).longValue());
+                }
+                break;
+            case DOUBLE:
+                if (value instanceof Number) {
+                    return setDouble(slot, ((Number) value).doubleValue());
+                }
+                break;
+            case BOOLEAN:
+                if (value instanceof Boolean) {
+                    return setBoolean(slot, (Boolean) value);
+                }
+                break;
+            default:
+                if (value instanceof CharSequence) {
+                    return setString(slot, value.toString());
+                }
+                break;
+        }
+        throw new IllegalArgumentException("Value of type " + value.getClass().getName() + " does not fit the "
+                + schema.getType(slot) + " slot '" + name + "'");
+    }
+
+    /**
+     * Check whether a slot has been set.
+     *
+     * @param slot The index of the slot
+     * @return true if the slot has a value, false if it is null
+     */
+    public boolean isSet(int slot) {
+        return present[slot];
+    }
+
+    /**
+     * Get the value of a slot, boxed.
+     *
+     * @param slot The index of the slot
+     * @return The value of the slot, or null if it has not been set
+     */
+    public Object get(int slot) {
+        if (!present[slot]) {
+            return null;
+        }
+        switch (schema.getType(slot)) {
+            case LONG:
+                return longs[slot];
+            case DOUBLE:
+                return doubles[slot];
+            case BOOLEAN:
+                return booleans[slot];
+            default:
+                return strings[slot];
+        }
+    }
+
+    /**
+     * Unset all slots so that the frame can be reused for the next set of facts.
+     *
+     * @return This frame for method chaining
+     */
+    public FactFrame clear() {
+        Arrays.fill(present, false);
+        Arrays.fill(strings, null);
+        return this;
+    }
+
+    /**
+     * Get the facts of this frame as a map of boxed values, for rules that are evaluated by SpEL.
+     *
+     * @return A new map from slot name to value, with null for slots that have not been set
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> facts = new HashMap<>();
+        for (int slot = 0; slot < present.length; slot++) {
+            facts.put(schema.getName(slot), get(slot));
+        }
+        return facts;
+    }
+
+    private void checkType(int slot, FactSchema.SlotType type) {
+        if (schema.getType(slot) != type) {
+            throw new IllegalArgumentException("Slot '" + schema.getName(slot) + "' is a " + schema.getType(slot)
+                    + " slot, not a " + type + " slot");
+        }
+    }
+}
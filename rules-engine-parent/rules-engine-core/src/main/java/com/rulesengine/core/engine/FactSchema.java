@@ -0,0 +1,214 @@
+package com.rulesengine.core.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A schema of named, typed fact slots. Facts bound into a {@link FactFrame} of the schema are kept in primitive
+ * arrays instead of a Map of boxed values.
+ *
+ * Rule conditions that only compare slots with literals, such as "#investmentAmount > 100000 and
+ * #accountType == 'retirement'", are compiled against the schema and evaluated directly on the primitive slots,
+ * with the same results as SpEL. Other conditions are evaluated by SpEL with the frame's values as variables.
+ *
+ * A schema is immutable; each of the with methods returns a new schema with one more slot:
+ * <pre>
+ * FactSchema schema = new FactSchema()
+ *     .withLong("investmentAmount")
+ *     .withDouble("marketVolatility")
+ *     .withString("accountType");
+ * </pre>
+ */
+public final class FactSchema {
+
+    /**
+     * The type of a fact slot.
+     */
+    public enum SlotType {
+        LONG, DOUBLE, BOOLEAN, STRING
+    }
+
+    private final List<String> names;
+    private final SlotType[] types;
+    private final Map<String, Integer> slotsByName;
+
+    /**
+     * Create a new, empty schema.
+     */
+    public FactSchema() {
+        this(Collections.emptyList(), new SlotType[0]);
+    }
+
+    private FactSchema(List<String> names, SlotType[] types) {
+        this.names = names;
+        this.types = types;
+        this.slotsByName = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            slotsByName.put(names.get(i), i);
+        }
+    }
+
+    /**
+     * Create a schema with an additional slot for long values.
+     * Integer values are bound into long slots too.
+     *
+     * @param name The name of the slot, used as the variable name in rule conditions
+     * @return The new schema
+     */
+    public FactSchema withLong(String name) {
+        return with(name, SlotType.LONG);
+    }
+
+    /**
+     * Create a schema with an additional slot for double values.
+     *
+     * @param name The name of the slot, used as the variable name in rule conditions
+     * @return The new schema
+     */
+    public FactSchema withDouble(String name) {
+        return with(name, SlotType.DOUBLE);
+    }
+
+    /**
+     * Create a schema with an additional slot for boolean values.
+     *
+     * @param name The name of the slot, used as the variable name in rule conditions
+     * @return The new schema
+     */
+    public FactSchema withBoolean(String name) {
+        return with(name, SlotType.BOOLEAN);
+    }
+
+    /**
+     * Create a schema with an additional slot for String values.
+     *
+     * @param name The name of the slot, used as the variable name in rule conditions
+     * @return The new schema
+     */
+    public FactSchema withString(String name) {
+        return with(name, SlotType.STRING);
+    }
+
+    private FactSchema with(String name, SlotType type) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Slot name must be set");
+        }
+        if (slotsByName.containsKey(name)) {
+            throw new IllegalArgumentException("Slot '" + name + "' is already defined");
+        }
+        List<String> newNames = new ArrayList<>(names);
+        newNames.add(name);
+        SlotType[] newTypes = Arrays.copyOf(types, types.length + 1);
+        newTypes[types.length] = type;
+        return new FactSchema(Collections.unmodifiableList(newNames), newTypes);
+    }
+
+    /**
+     * Create a new frame of this schema with all slots unset.
+     * A frame can be cleared and reused for the next set of facts.
+     *
+     * @return A new frame
+     */
+    public FactFrame newFrame() {
+        return new FactFrame(this);
+    }
+
+    /**
+     * Get the index of a slot. Setting values by index avoids the name lookup.
+     *
+     * @param name The name of the slot
+     * @return The index of the slot
+     * @throws IllegalArgumentException if the schema has no slot with that name
+     */
+    public int slot(String name) {
+        Integer slot = slotsByName.get(name);
+        if (slot == null) {
+            throw new IllegalArgumentException("Unknown fact slot: " + name);
+        }
+        return slot;
+    }
+
+    /**
+     * Check whether the schema has a slot with the given name.
+     *
+     * @param name The name of the slot
+     * @return true if the slot exists, false otherwise
+     */
+    public boolean hasSlot(String name) {
+        return slotsByName.containsKey(name);
+    }
+
+    /**
+     * Get the name of a slot.
+     *
+     * @param slot The index of the slot
+     * @return The name of the slot
+     */
+    public String getName(int slot) {
+        return names.get(slot);
+    }
+
+    /**
+     * Get the type of a slot.
+     *
+     * @param slot The index of the slot
+     * @return The type of the slot
+     */
+    public SlotType getType(int slot) {
+        return types[slot];
+    }
+
+    /**
+     * Get the number of slots in the schema.
+     *
+     * @return The number of slots
+     */
+    public int size() {
+        return types.length;
+    }
+
+    /**
+     * Check whether a rule's condition is evaluated directly on the primitive slots of frames of this schema,
+     * rather than by SpEL.
+     *
+     * @param rule The rule to check
+     * @return true if the condition is compiled against this schema, false otherwise
+     */
+    public boolean isCompiled(Rule rule) {
+        return compile(rule) != FrameCondition.UNSUPPORTED;
+    }
+
+    /**
+     * Get the condition of a rule compiled against this schema, compiling it on first use.
+     * The compiled condition is kept on the rule rather than in the schema, so that a long-lived schema does not
+     * keep every rule evaluated against it reachable. A rule evaluated against another schema is recompiled.
+     *
+     * @param rule The rule
+     * @return The compiled condition, or {@link FrameCondition#UNSUPPORTED} if it cannot be compiled
+     */
+    FrameCondition compile(Rule rule) {
+        CompiledCondition compiled = rule.getFrameCondition();
+        if (compiled == null || compiled.schema != this) {
+            compiled = new CompiledCondition(this, FrameCondition.compile(rule.getExpression(), this));
+            rule.setFrameCondition(compiled);
+        }
+        return compiled.condition;
+    }
+
+    /**
+     * A rule condition compiled against a schema, or {@link FrameCondition#UNSUPPORTED}.
+     */
+    static final class CompiledCondition {
+        final FactSchema schema;
+        final FrameCondition condition;
+
+        CompiledCondition(FactSchema schema, FrameCondition condition) {
+            this.schema = schema;
+            this.condition = condition;
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.rulesengine.core.engine;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.BooleanLiteral;
+import org.springframework.expression.spel.ast.IntLiteral;
+import org.springframework.expression.spel.ast.Literal;
+import org.springframework.expression.spel.ast.LongLiteral;
+import org.springframework.expression.spel.ast.OpAnd;
+import org.springframework.expression.spel.ast.OpEQ;
+import org.springframework.expression.spel.ast.OpGE;
+import org.springframework.expression.spel.ast.OpGT;
+import org.springframework.expression.spel.ast.OpLE;
+import org.springframework.expression.spel.ast.OpLT;
+import org.springframework.expression.spel.ast.OpMinus;
+import org.springframework.expression.spel.ast.OpNE;
+import org.springframework.expression.spel.ast.OpOr;
+import org.springframework.expression.spel.ast.OperatorNot;
+import org.springframework.expression.spel.ast.RealLiteral;
+import org.springframework.expression.spel.ast.StringLiteral;
+import org.springframework.expression.spel.ast.VariableReference;
+import org.springframework.expression.spel.standard.SpelExpression;
+
+/**
+ * A rule condition compiled against a {@link FactSchema} and evaluated directly on the primitive slots of a
+ * {@link FactFrame}, without boxing.
+ *
+ * Conditions made of and, or, not, boolean slots and literals, and comparisons of a slot with a literal of a
+ * matching type are compiled. The results are those of SpEL: long slots are compared with int and long literals
+ * as longs and with real literals as doubles, an unset slot is less than every number and equal to none,
+ * and a null operand of and, or or not is an error. Any other condition is not compiled.
+ */
+abstract class FrameCondition {
+    // Results of a condition
+    static final byte TRUE = 1;
+    static final byte FALSE = 2;
+    static final byte NULL = 3;
+    static final byte ERROR = 4;
+
+    /**
+     * Marks a condition that cannot be compiled and is evaluated by SpEL instead.
+     */
+    static final FrameCondition UNSUPPORTED = new FrameCondition() {
+        @Override
+        byte evaluate(FactFrame frame) {
+            throw new UnsupportedOperationException("Condition is not compiled");
+        }
+    };
+
+    /**
+     * Evaluate the condition against a frame.
+     *
+     * @param frame The frame holding the facts
+     * @return TRUE, FALSE, NULL or ERROR
+     */
+    abstract byte evaluate(FactFrame frame);
+
+    /**
+     * Compile a parsed condition against a schema.
+     *
+     * @param expression The parsed condition
+     * @param schema The schema of the frames the condition will be evaluated against
+     * @return The compiled condition, or {@link #UNSUPPORTED} if it cannot be compiled
+     */
+    static FrameCondition compile(Expression expression, FactSchema schema) {
+        if (!(expression instanceof SpelExpression)) {
+            return UNSUPPORTED;
+        }
+        FrameCondition condition = compile(((SpelExpression) expression).getAST(), schema);
+        return condition != null ? condition : UNSUPPORTED;
+    }
+
+    private static FrameCondition compile(SpelNode node, FactSchema schema) {
+        if (node instanceof OpAnd || node instanceof OpOr) {
+            FrameCondition left = compile(node.getChild(0), schema);
+            FrameCondition right = compile(node.getChild(1), schema);
+            if (left == null || right == null) {
+                return null;
+            }
+            return node instanceof OpAnd ? new And(left, right) : new Or(left, right);
+        }
+        if (node instanceof OperatorNot) {
+            FrameCondition operand = compile(node.getChild(0), schema);
+            return operand != null ? new Not(operand) : null;
+        }
+        if (node instanceof BooleanLiteral) {
+            return new Constant((Boolean) ((BooleanLiteral) node).getLiteralValue().getValue() ? TRUE : FALSE);
+        }
+        int slot = slot(node, schema);
+        if (slot >= 0) {
+            return schema.getType(slot) == FactSchema.SlotType.BOOLEAN ? new BooleanSlot(slot) : null;
+        }
+        return compileComparison(node, schema);
+    }
+
+    private static FrameCondition compileComparison(SpelNode node, FactSchema schema) {
+        Operator operator = Operator.of(node);
+        if (operator == null) {
+            return null;
+        }
+        SpelNode literal = node.getChild(1);
+        int slot = slot(node.getChild(0), schema);
+        if (slot < 0) {
+            // Literal on the left, as in "100 < #amount"
+            slot = slot(node.getChild(1), schema);
+            literal = node.getChild(0);
+            operator = operator.reverse();
+        }
+        if (slot < 0) {
+            return null;
+        }
+
+        switch (schema.getType(slot)) {
+            case LONG:
+            case DOUBLE:
+                Number number = numericLiteral(literal);
+                if (number == null) {
+                    return null;
+                }
+                if (schema.getType(slot) == FactSchema.SlotType.LONG && number instanceof Long) {
+                    return new LongComparison(slot, operator, number.longValue());
+                }
+                return new DoubleComparison(slot, schema.getType(slot), operator, number.doubleValue());
+            case STRING:
+                if (!(literal instanceof StringLiteral) || !operator.isEquality()) {
+                    return null;
+                }
+                return new StringEquality(slot, (String) ((StringLiteral) literal).getLiteralValue().getValue(),
+                        operator == Operator.NE);
+            default:
+                if (!(literal instanceof BooleanLiteral) || !operator.isEquality()) {
+                    return null;
+                }
+                return new BooleanEquality(slot, (Boolean) ((BooleanLiteral) literal).getLiteralValue().getValue(),
+                        operator == Operator.NE);
+        }
+    }
+
+    /**
+     * Get the slot a node refers to, or -1 if it is not a reference to a variable of the schema.
+     */
+    private static int slot(SpelNode node, FactSchema schema) {
+        if (!(node instanceof VariableReference)) {
+            return -1;
+        }
+        String name = node.toStringAST().substring(1);
+        if ("this".equals(name) || "root".equals(name)) {
+            return -1;
+        }
+        return schema.hasSlot(name) ? schema.slot(name) : -1;
+    }
+
+    /**
+     * Get the value of an int, long or double literal, optionally negated: a Long for int and long literals
+     * and a Double for real literals. Float literals are not compiled, since SpEL compares them as floats.
+     */
+    private static Number numericLiteral(SpelNode node) {
+        if (node instanceof OpMinus && node.getChildCount() == 1) {
+            Number value = numericLiteral(node.getChild(0));
+            if (value instanceof Long) {
+                return -value.longValue();
+            }
+            return value != null ? (Number) (-value.doubleValue()) : null;
+        }
+        if (node instanceof IntLiteral || node instanceof LongLiteral) {
+            return ((Number) ((Literal) node).getLiteralValue().getValue()).longValue();
+        }
+        if (node instanceof RealLiteral) {
+            return (Double) ((Literal) node).getLiteralValue().getValue();
+        }
+        return null;
+    }
+
+    /**
+     * Evaluate an operand of and, or or not, for which null is an error.
+     */
+    private static byte operand(FrameCondition condition, FactFrame frame) {
+        byte result = condition.evaluate(frame);
+        return result == NULL ? ERROR : result;
+    }
+
+    /**
+     * The comparison operators that can be compiled.
+     */
+    private enum Operator {
+        EQ, NE, GT, GE, LT, LE;
+
+        static Operator of(SpelNode node) {
+            if (node instanceof OpEQ) {
+                return EQ;
+            } else if (node instanceof OpNE) {
+                return NE;
+            } else if (node instanceof OpGT) {
+                return GT;
+            } else if (node instanceof OpGE) {
+                return GE;
+            } else if (node instanceof OpLT) {
+                return LT;
+            } else if (node instanceof OpLE) {
+                return LE;
+            }
+            return null;
+        }
+
+        Operator reverse() {
+            switch (this) {
+                case GT:
+                    return LT;
+                case GE:
+                    return LE;
+                case LT:
+                    return GT;
+                case LE:
+                    return GE;
+                default:
+                    return this;
+            }
+        }
+
+        boolean isEquality() {
+            return this == EQ || this == NE;
+        }
+
+        /**
+         * The result of comparing an unset slot, which SpEL treats as less than every number.
+         */
+        byte nullResult() {
+            return this == NE || this == LT || this == LE ? TRUE : FALSE;
+        }
+    }
+
+    private static byte toResult(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    private static final class And extends FrameCondition {
+        private final FrameCondition left;
+        private final FrameCondition right;
+
+        And(FrameCondition left, FrameCondition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        byte evaluate(FactFrame frame) {
+            byte result = operand(left, frame);
+            return result == TRUE ? operand(right, frame) : result;
+        }
+    }
+
+    private static final class Or extends FrameCondition {
+        private final FrameCondition left;
+        private final FrameCondition right;
+
+        Or(FrameCondition left, FrameCondition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        byte evaluate(FactFrame frame) {
+            byte result = operand(left, frame);
+            return result == FALSE ? operand(right, frame) : result;
+        }
+    }
+
+    private static final class Not extends FrameCondition {
+        private final FrameCondition operand;
+
+        Not(FrameCondition operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        byte evaluate(FactFrame frame) {
+            byte result = operand(operand, frame);
+            return result == TRUE ? FALSE : (result == FALSE ? TRUE : result);
+        }
+    }
+
+    private static final class Constant extends FrameCondition {
+        private final byte result;
+
+        Constant(byte result) {
+            this.result = result;
+        }
+
+        @Override
+        byte evaluate(FactFrame frame) {
+            return result;
+        }
+    }
+
+    private static final class BooleanSlot extends FrameCondition {
+        private final int slot;
+
+        BooleanSlot(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        byte evaluate(FactFrame frame) {
+            return frame.present[slot] ? toResult(frame.booleans[slot]) : NULL;
+        }
+    }
+
+    private static final class BooleanEquality extends FrameCondition {
+        private final int slot;
+        private final boolean literal;
+        private final boolean negated;
+
+        BooleanEquality(int slot, boolean literal, boolean negated) {
+            this.slot = slot;
+            this.literal = literal;
+            this.negated = negated;
+        }
+
+        @Override
+        byte evaluate(FactFrame frame) {
+            boolean equal = frame.present[slot] && frame.booleans[slot] == literal;
+            return toResult(equal != negated);
+        }
+    }
+
+    private static final class StringEquality extends FrameCondition {
+        private final int slot;
+        private final String literal;
+        private final boolean negated;
+
+        StringEquality(int slot, String literal, boolean negated) {
+            this.slot = slot;
+            this.literal = literal;
+            this.negated = negated;
+        }
+
+        @Override
+        byte evaluate(FactFrame frame) {
+            return toResult(literal.equals(frame.strings[slot]) != negated);
+        }
+    }
+
+    private static final class LongComparison extends FrameCondition {
+        private final int slot;
+        private final Operator operator;
+        private final long literal;
+
+        LongComparison(int slot, Operator operator, long literal) {
+            this.slot = slot;
+            this.operator = operator;
+            this.literal = literal;
+        }
+
+        @Override
+        byte evaluate(FactFrame frame) {
+            if (!frame.present[slot]) {
+                return operator.nullResult();
+            }
+            long value = frame.longs[slot];
+            switch (operator) {
+                case EQ:
+                    return toResult(value == literal);
+                case NE:
+                    return toResult(value != literal);
+                case GT:
+                    return toResult(value > literal);
+                case GE:
+                    return toResult(value >= literal);
+                case LT:
+                    return toResult(value < literal);
+                default:
+                    return toResult(value <= literal);
+            }
+        }
+    }
+
+    /**
+     * A comparison in double precision, with Java's primitive semantics for NaN as in SpEL.
+     */
+    private static final class DoubleComparison extends FrameCondition {
+        private final int slot;
+        private final boolean longSlot;
+        private final Operator operator;
+        private final double literal;
+
+        DoubleComparison(int slot, FactSchema.SlotType type, Operator operator, double literal) {
+            this.slot = slot;
+            this.longSlot = type == FactSchema.SlotType.LONG;
+            this.operator = operator;
+            this.literal = literal;
+        }
+
+        @Override
+        byte evaluate(FactFrame frame) {
+            if (!frame.present[slot]) {
+                return operator.nullResult();
+            }
+            double value = longSlot ? (double) frame.longs[slot] : frame.doubles[slot];
+            switch (operator) {
+                case EQ:
+                    return toResult(value == literal);
+                case NE:
+                    return toResult(value != literal);
+                case GT:
+                    return toResult(value > literal);
+                case GE:
+                    return toResult(value >= literal);
+                case LT:
+                    return toResult(value < literal);
+                default:
+                    return toResult(value <= literal);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.rulesengine.core.engine;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds, with buckets in the style of an HDR histogram.
+ *
+ * Values below 16 have a bucket each. Above that, each power of two is split into 16 linear sub-buckets,
+ * so a recorded value is known to within 1/16 of itself, from nanoseconds up to about a minute.
+ * Larger values are counted in the last bucket. Recording is a handful of atomic increments and never blocks.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // The largest value with a bucket of its own, about 68 seconds in nanoseconds
+    static final long MAX_TRACKABLE_VALUE = (1L << 36) - 1;
+    static final int BUCKET_COUNT = index(MAX_TRACKABLE_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos The latency in nanoseconds; negative values are recorded as 0
+     */
+    void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(index(Math.min(value, MAX_TRACKABLE_VALUE)));
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Copy the bucket counts.
+     *
+     * @return The count of each bucket
+     */
+    long[] getCounts() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    /**
+     * Get the sum of all recorded latencies.
+     *
+     * @return The total in nanoseconds
+     */
+    long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * Get the largest recorded latency.
+     *
+     * @return The maximum in nanoseconds, or 0 if nothing has been recorded
+     */
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get the bucket of a value.
+     *
+     * @param value A value between 0 and {@link #MAX_TRACKABLE_VALUE}
+     * @return The index of its bucket
+     */
+    static int index(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+    }
+
+    /**
+     * Get the smallest value counted in a bucket.
+     *
+     * @param index The index of the bucket
+     * @return The smallest value of the bucket
+     */
+    static long lowestValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        return (long) (index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT) << shift;
+    }
+
+    /**
+     * Get the largest value counted in a bucket.
+     *
+     * @param index The index of the bucket
+     * @return The largest value of the bucket
+     */
+    static long highestValue(int index) {
+        return index == BUCKET_COUNT - 1 ? MAX_TRACKABLE_VALUE : lowestValue(index + 1) - 1;
+    }
+}
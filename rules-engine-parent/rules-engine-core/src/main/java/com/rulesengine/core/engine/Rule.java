@@ -1,5 +1,9 @@
 package com.rulesengine.core.engine;
 
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -9,6 +13,11 @@ import java.util.stream.Collectors;
  * Represents a business rule with a condition, message, and other properties.
  */
 public class Rule implements RuleBase {
+    private static final ExpressionParser DEFAULT_PARSER = new SpelExpressionParser();
+
+    /** The cost hint of a rule for which none has been given */
+    public static final double DEFAULT_COST_HINT = 1.0;
+
     private final UUID uuid;
     private final String id;
     private final Set<Category> categories;
@@ -17,6 +26,14 @@ public class Rule implements RuleBase {
     private final String message;
     private final String description;
     private final int priority;
+    // Parsed form of the condition, supplied at build time or parsed on first use
+    private volatile Expression expression;
+    // Whether the condition can be evaluated with a read-only data-binding context, classified on first use
+    private volatile Boolean readOnlyDataBinding;
+    // The condition compiled against the fact schema it was last evaluated with
+    private volatile FactSchema.CompiledCondition frameCondition;
+    // Relative cost of evaluating the condition, used to order the rules of adaptive rule groups
+    private double costHint = DEFAULT_COST_HINT;
 
     /**
      * Create a new business rule with minimal information.
@@ -130,6 +147,44 @@ public class Rule implements RuleBase {
         this.priority = priority;
     }
 
+    /**
+     * Create a new business rule with multiple category objects and an already parsed condition.
+     * This constructor is used by RuleBuilder so that the condition is parsed only once, when the rule is built.
+     * 
+     * @param id The unique identifier of the rule
+     * @param categories The category objects of the rule
+     * @param name The name of the rule
+     * @param condition The SpEL condition that determines if the rule applies
+     * @param expression The parsed form of the condition
+     * @param message The message to display when the rule applies
+     * @param description The description of what the rule does
+     * @param priority The priority of the rule (lower numbers = higher priority)
+     */
+    public Rule(String id, Set<Category> categories, String name, String condition, Expression expression,
+                String message, String description, int priority) {
+        this(id, categories, name, condition, message, description, priority);
+        this.expression = expression;
+    }
+
+    /**
+     * Create a new business rule with multiple category objects, an already parsed condition and a cost hint.
+     * 
+     * @param id The unique identifier of the rule
+     * @param categories The category objects of the rule
+     * @param name The name of the rule
+     * @param condition The SpEL condition that determines if the rule applies
+     * @param expression The parsed form of the condition
+     * @param message The message to display when the rule applies
+     * @param description The description of what the rule does
+     * @param priority The priority of the rule (lower numbers = higher priority)
+     * @param costHint The relative cost of evaluating the condition (see {@link #getCostHint()})
+     */
+    public Rule(String id, Set<Category> categories, String name, String condition, Expression expression,
+                String message, String description, int priority, double costHint) {
+        this(id, categories, name, condition, expression, message, description, priority);
+        this.costHint = costHint;
+    }
+
     /**
      * Get the unique identifier of the rule.
      * 
@@ -205,6 +260,70 @@ public class Rule implements RuleBase {
         return condition;
     }
 
+    /**
+     * Get the parsed form of the rule condition.
+     * Rules created by a RuleBuilder are parsed when they are built; rules created directly
+     * are parsed on the first call to this method and the result is kept for later calls.
+     * 
+     * @return The parsed rule condition
+     * @throws org.springframework.expression.ParseException if the condition is not a valid SpEL expression
+     */
+    public Expression getExpression() {
+        Expression parsed = expression;
+        if (parsed == null) {
+            parsed = DEFAULT_PARSER.parseExpression(condition);
+            expression = parsed;
+        }
+        return parsed;
+    }
+
+    /**
+     * Check whether the rule condition only reads variables, properties and instance methods,
+     * so that it can be evaluated with a read-only data-binding context.
+     * The condition is classified on the first call to this method and the result is kept for later calls.
+     *
+     * @return true if the condition is read-only data binding, false otherwise
+     * @throws org.springframework.expression.ParseException if the condition is not a valid SpEL expression
+     * @see ExpressionInspector#isReadOnlyDataBinding(Expression)
+     */
+    public boolean isReadOnlyDataBinding() {
+        Boolean classified = readOnlyDataBinding;
+        if (classified == null) {
+            classified = ExpressionInspector.isReadOnlyDataBinding(getExpression());
+            readOnlyDataBinding = classified;
+        }
+        return classified;
+    }
+
+    /**
+     * Get the condition compiled against the fact schema it was last evaluated with.
+     *
+     * @return The compiled condition, or null if the rule has not been evaluated against a schema
+     */
+    FactSchema.CompiledCondition getFrameCondition() {
+        return frameCondition;
+    }
+
+    /**
+     * Keep the condition compiled against a fact schema, replacing the one compiled against another schema.
+     *
+     * @param frameCondition The compiled condition
+     */
+    void setFrameCondition(FactSchema.CompiledCondition frameCondition) {
+        this.frameCondition = frameCondition;
+    }
+
+    /**
+     * Get the relative cost of evaluating the rule condition, as given when the rule was built.
+     * A cheap boolean check might have a cost of 1 and a collection projection a cost of 50.
+     * Adaptive rule groups use the hint to order their rules until they have measured the actual costs.
+     * 
+     * @return The cost hint, {@link #DEFAULT_COST_HINT} if none was given
+     */
+    public double getCostHint() {
+        return costHint;
+    }
+
     /**
      * Get the message of the rule.
      * 
@@ -1,5 +1,10 @@
 package com.rulesengine.core.engine;
 
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -10,6 +15,9 @@ import java.util.stream.Collectors;
  * This provides a fluent API for constructing rules with various properties.
  */
 public class RuleBuilder {
+    private static final ExpressionParser DEFAULT_PARSER = new SpelExpressionParser();
+
+    private ExpressionParser parser = DEFAULT_PARSER;
     private String id;
     private Set<Category> categories = new HashSet<>();
     private String name;
@@ -17,6 +25,7 @@ public class RuleBuilder {
     private String message;
     private String description;
     private int priority = 100; // Default priority
+    private double costHint = Rule.DEFAULT_COST_HINT;
 
     /**
      * Create a new RuleBuilder with a generated ID.
@@ -146,13 +155,39 @@ public class RuleBuilder {
         return this;
     }
 
+    /**
+     * Set the relative cost of evaluating the rule condition.
+     * Adaptive rule groups evaluate cheap rules first until they have measured the actual costs.
+     *
+     * @param costHint The relative cost of the condition, such as 1 for a simple comparison (the default)
+     *                 and 50 for a collection projection
+     * @return This builder for method chaining
+     */
+    public RuleBuilder withCostHint(double costHint) {
+        this.costHint = costHint;
+        return this;
+    }
+
+    /**
+     * Set the parser used to parse the rule condition when the rule is built.
+     *
+     * @param parser The expression parser to use
+     * @return This builder for method chaining
+     */
+    public RuleBuilder withParser(ExpressionParser parser) {
+        this.parser = parser;
+        return this;
+    }
+
     /**
      * Build a Rule instance with the current builder state.
      * If no categories have been added, a default category will be used.
      * If no description has been set, the message will be used as the description.
+     * The condition is parsed here, once, and the parsed form is kept on the rule.
      *
      * @return A new Rule instance
-     * @throws IllegalStateException if name, condition, or message is not set
+     * @throws IllegalStateException if name, condition, or message is not set, if the cost hint is not
+     *         a positive number, or if the condition is not a valid SpEL expression
      */
     public Rule build() {
         if (name == null || name.isEmpty()) {
@@ -164,6 +199,9 @@ public class RuleBuilder {
         if (message == null || message.isEmpty()) {
             throw new IllegalStateException("Rule message must be set");
         }
+        if (!(costHint > 0) || Double.isInfinite(costHint)) {
+            throw new IllegalStateException("Rule cost hint must be a positive number");
+        }
 
         // Use message as description if description is not set
         if (description == null || description.isEmpty()) {
@@ -175,6 +213,14 @@ public class RuleBuilder {
             categories.add(new Category("default", priority));
         }
 
-        return new Rule(id, categories, name, condition, message, description, priority);
+        Expression expression;
+        try {
+            expression = parser.parseExpression(condition);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Rule condition is not a valid expression: '" + condition + "': "
+                    + e.getMessage(), e);
+        }
+
+        return new Rule(id, categories, name, condition, expression, message, description, priority, costHint);
     }
 }
\ No newline at end of file
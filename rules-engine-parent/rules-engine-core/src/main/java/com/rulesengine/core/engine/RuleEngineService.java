@@ -13,6 +13,7 @@ import java.util.logging.Logger;
  */
 public class RuleEngineService {
     private static final Logger LOGGER = Logger.getLogger(RuleEngineService.class.getName());
+    private static final EngineLogging.EventLog EVENTS = EngineLogging.eventLog(LOGGER);
     private final ExpressionEvaluatorService evaluatorService;
     private boolean printResults = true;
 
@@ -42,32 +43,45 @@ public class RuleEngineService {
      * @return A list of RuleResult objects, one for each rule that was evaluated
      */
     public List<RuleResult> evaluateRules(List<Rule> rules, EvaluationContext context) {
-        LOGGER.info("Evaluating " + (rules != null ? rules.size() : 0) + " rules");
+        if (EVENTS.isVerbose()) {
+            LOGGER.info("Evaluating " + (rules != null ? rules.size() : 0) + " rules");
+        }
         List<RuleResult> results = new ArrayList<>();
 
         if (rules == null || rules.isEmpty()) {
-            LOGGER.info("No rules to evaluate");
+            EVENTS.info("No rules to evaluate", null);
             return results;
         }
 
+        boolean fine = LOGGER.isLoggable(Level.FINE);
         for (Rule rule : rules) {
-            LOGGER.fine("Evaluating rule: " + rule.getName());
+            if (fine) {
+                LOGGER.fine("Evaluating rule: " + rule.getName());
+            }
             try {
-                Object result = evaluatorService.evaluateQuietly(rule.getCondition(), context, Object.class);
+                Object result = evaluatorService.evaluateQuietly(rule.getExpression(), context, Object.class);
                 RuleResult ruleResult = new RuleResult(rule.getName(), rule.getMessage());
                 results.add(ruleResult);
-                LOGGER.fine("Rule '" + rule.getName() + "' evaluated, result: " + result);
+                if (fine) {
+                    LOGGER.fine("Rule '" + rule.getName() + "' evaluated, result: " + result);
+                }
 
                 if (printResults) {
-                    LOGGER.info(rule.getName() + ": " + rule.getMessage());
-                    LOGGER.info("Result: " + result);
+                    if (EVENTS.isVerbose()) {
+                        LOGGER.info(rule.getName() + ": " + rule.getMessage());
+                        LOGGER.info("Result: " + result);
+                    } else {
+                        EVENTS.info("Rule evaluated", rule.getName());
+                    }
                 }
             } catch (Exception e) {
-                LOGGER.log(Level.WARNING, "Error evaluating rule '" + rule.getName() + "': " + e.getMessage(), e);
+                EVENTS.warning("Error evaluating rule", rule.getName(), e.getMessage(), e);
             }
         }
 
-        LOGGER.info("Evaluated " + results.size() + " rules successfully");
+        if (EVENTS.isVerbose()) {
+            LOGGER.info("Evaluated " + results.size() + " rules successfully");
+        }
         return results;
     }
 }
\ No newline at end of file
@@ -1,20 +1,28 @@
 package com.rulesengine.core.engine;
 
 import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 /**
  * A group of rules that can be combined with AND or OR operators.
  * Rules within a group can have sequence numbers to control their evaluation order.
+ *
+ * A group can instead order its rules adaptively (see {@link #setAdaptiveOrdering(boolean)}): it measures how
+ * much each rule costs and how often it decides the group's result, and evaluates first the rules expected to
+ * short-circuit the AND or OR most cheaply. The result is the same in either order as long as the rules are
+ * {@link ExpressionInspector#isPure(org.springframework.expression.Expression) pure}, so a group containing a rule
+ * that assigns anything or calls a method, function, constructor or bean always uses sequence order.
  */
 public class RuleGroup implements RuleBase {
-    private static final ExpressionParser parser = new SpelExpressionParser();
-
+    private static final Logger LOGGER = Logger.getLogger(RuleGroup.class.getName());
+    private static final EngineLogging.EventLog EVENTS = EngineLogging.eventLog(LOGGER);
     private final UUID uuid;
     private final String id;
     private final Set<Category> categories;
@@ -23,7 +31,15 @@ public class RuleGroup implements RuleBase {
     private final int priority;
     private final Map<Integer, Rule> rulesBySequence;
     private final boolean isAndOperator;
-    private String message;
+    // Rules sorted by sequence number and the message reported when the group matches, rebuilt whenever
+    // a rule is added so that evaluation neither sorts nor allocates
+    private volatile Members members;
+    // Incremented whenever a rule is added, so that structures derived from the rules can detect changes
+    private volatile int modificationCount;
+    // Whether rules are evaluated in the order expected to be cheapest rather than by sequence number
+    private volatile boolean adaptiveOrdering;
+    // Evaluation statistics and current order of the rules, replaced when a rule is added
+    private volatile AdaptiveOrder adaptiveOrder;
 
     /**
      * Create a new rule group.
@@ -44,9 +60,9 @@ public class RuleGroup implements RuleBase {
         this.name = name;
         this.description = description;
         this.priority = priority;
-        this.rulesBySequence = new HashMap<>();
+        this.rulesBySequence = new ConcurrentHashMap<>();
         this.isAndOperator = isAndOperator;
-        this.message = description; // Default message is the description
+        this.members = new Members(new Rule[0], description); // Default message is the description
     }
 
     /**
@@ -87,9 +103,9 @@ public class RuleGroup implements RuleBase {
         this.name = name;
         this.description = description;
         this.priority = priority;
-        this.rulesBySequence = new HashMap<>();
+        this.rulesBySequence = new ConcurrentHashMap<>();
         this.isAndOperator = isAndOperator;
-        this.message = description; // Default message is the description
+        this.members = new Members(new Rule[0], description); // Default message is the description
     }
 
     /**
@@ -98,24 +114,41 @@ public class RuleGroup implements RuleBase {
      * @param rule The rule to add
      * @param sequenceNumber The sequence number for this rule within the group
      */
-    public void addRule(Rule rule, int sequenceNumber) {
+    public synchronized void addRule(Rule rule, int sequenceNumber) {
         if (rule == null) {
-            System.err.println("Cannot add null rule to group '" + name + "'");
+            LOGGER.warning("Cannot add null rule to group '" + name + "'");
             return;
         }
         rulesBySequence.put(sequenceNumber, rule);
+        Rule[] rules = rulesBySequence.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(Map.Entry::getValue)
+                .toArray(Rule[]::new);
+        members = new Members(rules, buildMatchMessage(rules));
+        modificationCount++;
+    }
+
+    /**
+     * The rules of a group sorted by sequence number, with the message reported when they match.
+     * Replaced as a whole when a rule is added, so an evaluation always sees a consistent pair.
+     */
+    private static final class Members {
+        final Rule[] rules;
+        final String message;
+
+        Members(Rule[] rules, String message) {
+            this.rules = rules;
+            this.message = message;
+        }
     }
 
     /**
      * Get the rules in this group, sorted by sequence number.
      *
-     * @return A list of rules sorted by sequence number
+     * @return An unmodifiable list of rules sorted by sequence number
      */
     public List<Rule> getRules() {
-        return rulesBySequence.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
+        return Collections.unmodifiableList(Arrays.asList(members.rules));
     }
 
     /**
@@ -125,29 +158,94 @@ public class RuleGroup implements RuleBase {
      * @return True if the rule group condition is satisfied, false otherwise
      */
     public boolean evaluate(StandardEvaluationContext context) {
-        if (rulesBySequence.isEmpty()) {
+        return evaluate(context, null);
+    }
+
+    /**
+     * Evaluate this rule group against the provided context, taking parsed rule conditions
+     * from the given expression cache instead of parsing them on every evaluation.
+     * Once all rules have been added, a group may be evaluated from several threads at once.
+     *
+     * @param context The evaluation context
+     * @param expressionCache The cache of parsed rule conditions, or null to use each rule's own parsed condition
+     * @return True if the rule group condition is satisfied, false otherwise
+     */
+    public boolean evaluate(StandardEvaluationContext context, ExpressionCache expressionCache) {
+        return evaluate(members, context, expressionCache, null);
+    }
+
+    /**
+     * Evaluate this rule group against the provided context and, if it matches, return a result carrying
+     * the group's message. The message is the one built for the same set of rules that was evaluated,
+     * even if a rule is added to the group concurrently.
+     *
+     * @param context The evaluation context
+     * @param expressionCache The cache of parsed rule conditions, or null to use each rule's own parsed condition
+     * @return A match result if the rule group condition is satisfied, or null otherwise
+     */
+    public RuleResult evaluateMatch(StandardEvaluationContext context, ExpressionCache expressionCache) {
+        return evaluateMatch(context, expressionCache, null);
+    }
+
+    /**
+     * Evaluate this rule group as by {@link #evaluateMatch(StandardEvaluationContext, ExpressionCache)},
+     * recording the outcome and latency of each rule evaluated inside the group.
+     *
+     * @param context The evaluation context
+     * @param expressionCache The cache of parsed rule conditions, or null to use each rule's own parsed condition
+     * @param metrics The registry to record the rules in, or null to record nothing
+     * @return A match result if the rule group condition is satisfied, or null otherwise
+     */
+    public RuleResult evaluateMatch(StandardEvaluationContext context, ExpressionCache expressionCache,
+                                    RuleMetrics metrics) {
+        return evaluateMatch(context, expressionCache, metrics, RuleResultFactory.STANDARD);
+    }
+
+    /**
+     * Evaluate this rule group as by {@link #evaluateMatch(StandardEvaluationContext, ExpressionCache, RuleMetrics)},
+     * creating the match result with the given factory.
+     *
+     * @param context The evaluation context
+     * @param expressionCache The cache of parsed rule conditions, or null to use each rule's own parsed condition
+     * @param metrics The registry to record the rules in, or null to record nothing
+     * @param resultFactory The factory of the match result
+     * @return A match result if the rule group condition is satisfied, or null otherwise
+     */
+    public RuleResult evaluateMatch(StandardEvaluationContext context, ExpressionCache expressionCache,
+                                    RuleMetrics metrics, RuleResultFactory resultFactory) {
+        Members current = members;
+        return evaluate(current, context, expressionCache, metrics) ? resultFactory.match(name, current.message) : null;
+    }
+
+    private boolean evaluate(Members current, StandardEvaluationContext context, ExpressionCache expressionCache,
+                             RuleMetrics metrics) {
+        Rule[] rules = current.rules;
+        if (rules.length == 0) {
             return false;
         }
 
-        // Sort rules by sequence number
-        List<Integer> sequenceNumbers = new ArrayList<>(rulesBySequence.keySet());
-        sequenceNumbers.sort(Integer::compareTo);
+        if (adaptiveOrdering) {
+            AdaptiveOrder order = getAdaptiveOrder(rules);
+            if (order.sideEffectFree) {
+                return order.evaluate(context, expressionCache, metrics);
+            }
+        }
 
         // Evaluate rules in sequence order
         boolean result = isAndOperator; // Start with true for AND, false for OR
-        for (Integer seq : sequenceNumbers) {
-            Rule rule = rulesBySequence.get(seq);
-            if (rule == null) {
-                System.err.println("Null rule found at sequence " + seq + " in group '" + name + "', skipping");
-                continue;
-            }
+        for (Rule rule : rules) {
+            long start = metrics != null ? System.nanoTime() : 0;
             try {
-                Expression exp = parser.parseExpression(rule.getCondition());
+                Expression exp = expressionCache != null ? expressionCache.get(rule) : rule.getExpression();
                 Boolean ruleResult = exp.getValue(context, Boolean.class);
 
                 if (ruleResult == null) {
                     ruleResult = false;
                 }
+                if (metrics != null) {
+                    metrics.record(rule, ruleResult ? RuleMetrics.Outcome.MATCH : RuleMetrics.Outcome.NO_MATCH,
+                            System.nanoTime() - start);
+                }
 
                 if (isAndOperator) {
                     // AND logic: if any rule is false, the result is false
@@ -163,7 +261,10 @@ public class RuleGroup implements RuleBase {
                     }
                 }
             } catch (Exception e) {
-                System.err.println("Error evaluating rule '" + rule.getName() + "' in group '" + name + "': " + e.getMessage());
+                if (metrics != null) {
+                    metrics.record(rule, RuleMetrics.Outcome.ERROR, System.nanoTime() - start);
+                }
+                EVENTS.warning("Error evaluating rule in group", name + '/' + rule.getName(), e.getMessage(), null);
                 if (isAndOperator) {
                     // For AND groups, any error means the group fails
                     return false;
@@ -172,50 +273,203 @@ public class RuleGroup implements RuleBase {
             }
         }
 
-        // If the group evaluated to true, update the message
-        if (result) {
-            updateMessage();
-        }
-
         return result;
     }
 
     /**
-     * Update the message based on the evaluation result
+     * Get the adaptive order of the given rules, creating it if rules have been added since it was created.
+     *
+     * @param rules The rules of the group, sorted by sequence number
+     * @return The adaptive order
      */
-    private void updateMessage() {
-        List<Rule> rules = getRules();
+    private AdaptiveOrder getAdaptiveOrder(Rule[] rules) {
+        AdaptiveOrder order = adaptiveOrder;
+        if (order == null || order.rules != rules) {
+            order = new AdaptiveOrder(rules);
+            adaptiveOrder = order;
+        }
+        return order;
+    }
 
-        if (rules.isEmpty()) {
-            this.message = "No rules in group";
-            return;
+    /**
+     * The rules of a group with statistics on their evaluation, and the order in which they are evaluated.
+     *
+     * The order minimises the expected cost of reaching the group's result: rules are sorted by their average cost
+     * divided by the probability that they short-circuit the group (return false in an AND group, true in an
+     * OR group). Until a rule's cost has been measured, its cost hint stands in for it.
+     * Statistics are updated without locking, so concurrent evaluations may lose the odd sample.
+     */
+    private final class AdaptiveOrder {
+        // The order is recomputed after this many evaluations of the group
+        private static final int REORDER_INTERVAL = 128;
+        // Only one evaluation in this many is timed, to keep the cost of measuring low
+        private static final int TIMING_INTERVAL = 8;
+        // A rule's measured cost is used once it has been timed this many times
+        private static final int MIN_TIMINGS = 4;
+
+        final Rule[] rules;
+        final boolean sideEffectFree;
+        private final LongAdder[] evaluations;
+        private final LongAdder[] shortCircuits;
+        private final LongAdder[] timings;
+        private final LongAdder[] nanos;
+        private final AtomicLong groupEvaluations = new AtomicLong();
+        private volatile int[] order;
+
+        AdaptiveOrder(Rule[] rules) {
+            this.rules = rules;
+            this.evaluations = newAdders(rules.length);
+            this.shortCircuits = newAdders(rules.length);
+            this.timings = newAdders(rules.length);
+            this.nanos = newAdders(rules.length);
+            boolean free = true;
+            for (Rule rule : rules) {
+                free &= ExpressionInspector.isPure(rule.getExpression());
+            }
+            this.sideEffectFree = free;
+            reorder();
         }
 
-        if (rules.size() == 1) {
-            this.message = rules.get(0).getMessage();
-            return;
+        private LongAdder[] newAdders(int length) {
+            LongAdder[] adders = new LongAdder[length];
+            for (int i = 0; i < length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+
+        boolean evaluate(StandardEvaluationContext context, ExpressionCache expressionCache, RuleMetrics metrics) {
+            long evaluation = groupEvaluations.incrementAndGet();
+            boolean timed = evaluation % TIMING_INTERVAL == 0;
+            boolean result = isAndOperator; // Start with true for AND, false for OR
+
+            for (int i : order) {
+                Rule rule = rules[i];
+                long start = timed || metrics != null ? System.nanoTime() : 0;
+                boolean shortCircuit;
+                RuleMetrics.Outcome outcome;
+                try {
+                    Expression exp = expressionCache != null ? expressionCache.get(rule) : rule.getExpression();
+                    Boolean ruleResult = exp.getValue(context, Boolean.class);
+                    boolean value = ruleResult != null && ruleResult;
+                    shortCircuit = isAndOperator != value;
+                    outcome = value ? RuleMetrics.Outcome.MATCH : RuleMetrics.Outcome.NO_MATCH;
+                } catch (Exception e) {
+                    EVENTS.warning("Error evaluating rule in group", name + '/' + rule.getName(), e.getMessage(), null);
+                    // For AND groups, any error means the group fails; for OR groups, continue evaluating other rules
+                    shortCircuit = isAndOperator;
+                    outcome = RuleMetrics.Outcome.ERROR;
+                }
+
+                evaluations[i].increment();
+                if (timed || metrics != null) {
+                    long elapsed = System.nanoTime() - start;
+                    if (timed) {
+                        timings[i].increment();
+                        nanos[i].add(elapsed);
+                    }
+                    if (metrics != null) {
+                        metrics.record(rule, outcome, elapsed);
+                    }
+                }
+                if (shortCircuit) {
+                    shortCircuits[i].increment();
+                    result = !isAndOperator;
+                    break;
+                }
+            }
+
+            if (evaluation % REORDER_INTERVAL == 0) {
+                reorder();
+            }
+            return result;
+        }
+
+        /**
+         * Sort the rules by expected cost per short-circuit, keeping sequence order between equal rules.
+         */
+        private void reorder() {
+            long[] timingCounts = new long[rules.length];
+            double measuredNanos = 0;
+            double measuredHints = 0;
+            for (int i = 0; i < rules.length; i++) {
+                timingCounts[i] = timings[i].sum();
+                if (timingCounts[i] >= MIN_TIMINGS) {
+                    measuredNanos += (double) nanos[i].sum() / timingCounts[i];
+                    measuredHints += rules[i].getCostHint();
+                }
+            }
+            // Converts cost hints into nanoseconds, based on the rules whose cost has been measured
+            double scale = measuredHints > 0 ? measuredNanos / measuredHints : 1.0;
+
+            double[] scores = new double[rules.length];
+            Integer[] sorted = new Integer[rules.length];
+            for (int i = 0; i < rules.length; i++) {
+                double cost = timingCounts[i] >= MIN_TIMINGS
+                        ? (double) nanos[i].sum() / timingCounts[i]
+                        : rules[i].getCostHint() * scale;
+                double shortCircuitProbability = (shortCircuits[i].sum() + 1.0) / (evaluations[i].sum() + 2.0);
+                scores[i] = cost / shortCircuitProbability;
+                sorted[i] = i;
+            }
+            Arrays.sort(sorted, (a, b) -> Double.compare(scores[a], scores[b]));
+
+            int[] newOrder = new int[rules.length];
+            for (int i = 0; i < newOrder.length; i++) {
+                newOrder[i] = sorted[i];
+            }
+            order = newOrder;
+        }
+
+        List<String> ruleNames() {
+            List<String> names = new ArrayList<>(rules.length);
+            for (int i : order) {
+                names.add(rules[i].getName());
+            }
+            return names;
+        }
+    }
+
+    /**
+     * Get the number of times a rule has been added to this group.
+     *
+     * @return The modification count
+     */
+    int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Build the message reported when this group matches from the messages of its rules.
+     *
+     * @param rules The rules of the group, sorted by sequence number
+     * @return The match message
+     */
+    private String buildMatchMessage(Rule[] rules) {
+        if (rules.length == 1) {
+            return rules[0].getMessage();
         }
 
         StringBuilder messageBuilder = new StringBuilder();
         messageBuilder.append(name).append(": ");
 
         if (isAndOperator) {
-            for (int i = 0; i < rules.size(); i++) {
+            for (int i = 0; i < rules.length; i++) {
                 if (i > 0) {
                     messageBuilder.append(" AND ");
                 }
-                messageBuilder.append(rules.get(i).getMessage());
+                messageBuilder.append(rules[i].getMessage());
             }
         } else {
-            for (int i = 0; i < rules.size(); i++) {
+            for (int i = 0; i < rules.length; i++) {
                 if (i > 0) {
                     messageBuilder.append(" OR ");
                 }
-                messageBuilder.append(rules.get(i).getMessage());
+                messageBuilder.append(rules[i].getMessage());
             }
         }
 
-        this.message = messageBuilder.toString();
+        return messageBuilder.toString();
     }
 
     public String getId() {
@@ -286,11 +540,48 @@ public class RuleGroup implements RuleBase {
     }
 
     /**
-     * Get the message for this rule group.
+     * Enable or disable adaptive ordering of the rules in this group.
+     * When enabled, and every rule in the group is pure, rules are evaluated in the order
+     * expected to reach the group's result most cheaply instead of by sequence number. The result is the same.
+     *
+     * @param adaptiveOrdering true to order rules adaptively, false to evaluate them by sequence number
+     */
+    public void setAdaptiveOrdering(boolean adaptiveOrdering) {
+        this.adaptiveOrdering = adaptiveOrdering;
+    }
+
+    /**
+     * Check whether this group orders its rules adaptively.
+     *
+     * @return true if adaptive ordering is enabled, false otherwise
+     */
+    public boolean isAdaptiveOrdering() {
+        return adaptiveOrdering;
+    }
+
+    /**
+     * Get the names of the rules in the order in which they are currently evaluated.
+     *
+     * @return The rule names in evaluation order
+     */
+    public List<String> getEvaluationOrder() {
+        Rule[] rules = members.rules;
+        if (adaptiveOrdering && rules.length > 0) {
+            AdaptiveOrder order = getAdaptiveOrder(rules);
+            if (order.sideEffectFree) {
+                return order.ruleNames();
+            }
+        }
+        return Arrays.stream(rules).map(Rule::getName).collect(Collectors.toList());
+    }
+
+    /**
+     * Get the message reported when this rule group matches, built from the messages of its rules
+     * when they were added. A group without rules reports its description.
      *
      * @return The message
      */
     public String getMessage() {
-        return message;
+        return members.message;
     }
 }
\ No newline at end of file
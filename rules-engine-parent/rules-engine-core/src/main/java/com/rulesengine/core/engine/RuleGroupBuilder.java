@@ -16,6 +16,7 @@ public class RuleGroupBuilder {
     private String description;
     private int priority = 100; // Default priority
     private boolean isAndOperator = true; // Default to AND operator
+    private boolean adaptiveOrdering = false;
 
     /**
      * Create a new RuleGroupBuilder with a generated ID.
@@ -143,6 +144,19 @@ public class RuleGroupBuilder {
         return this;
     }
 
+    /**
+     * Evaluate the rules of the group in the order expected to reach the result most cheaply,
+     * rather than by sequence number. This only takes effect if the rules neither have side
+     * effects nor call methods, functions, constructors or beans.
+     *
+     * @return This builder for method chaining
+     * @see RuleGroup#setAdaptiveOrdering(boolean)
+     */
+    public RuleGroupBuilder withAdaptiveOrdering() {
+        this.adaptiveOrdering = true;
+        return this;
+    }
+
     /**
      * Build a RuleGroup instance with the current builder state.
      * If no categories have been added, a default category will be used.
@@ -163,6 +177,8 @@ public class RuleGroupBuilder {
             categories.add(new Category("default", priority));
         }
 
-        return new RuleGroup(id, categories, name, description, priority, isAndOperator);
+        RuleGroup group = new RuleGroup(id, categories, name, description, priority, isAndOperator);
+        group.setAdaptiveOrdering(adaptiveOrdering);
+        return group;
     }
 }
\ No newline at end of file
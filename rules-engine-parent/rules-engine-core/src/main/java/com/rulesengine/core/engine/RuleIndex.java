@@ -0,0 +1,458 @@
+package com.rulesengine.core.engine;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.IntLiteral;
+import org.springframework.expression.spel.ast.Literal;
+import org.springframework.expression.spel.ast.LongLiteral;
+import org.springframework.expression.spel.ast.OpAnd;
+import org.springframework.expression.spel.ast.OpEQ;
+import org.springframework.expression.spel.ast.OpGE;
+import org.springframework.expression.spel.ast.OpGT;
+import org.springframework.expression.spel.ast.OpLE;
+import org.springframework.expression.spel.ast.OpLT;
+import org.springframework.expression.spel.ast.OpMinus;
+import org.springframework.expression.spel.ast.RealLiteral;
+import org.springframework.expression.spel.ast.StringLiteral;
+import org.springframework.expression.spel.ast.VariableReference;
+import org.springframework.expression.spel.standard.SpelExpression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoublePredicate;
+import java.util.logging.Logger;
+
+/**
+ * A discrimination index over the simple predicates of a list of rules, used to skip rules that cannot match.
+ *
+ * When the index is built, the top-level AND conjuncts of each rule condition are inspected for a predicate
+ * over a single variable: equality with a string literal ("#accountType == 'retirement'") or a comparison with
+ * a numeric literal ("#investmentAmount > 100000"). One such predicate per rule is placed in a hash index
+ * (equality) or in sorted bound arrays (ranges) for its variable. For a fact map, {@link #candidates(Map)} then
+ * probes the indexes with the fact values and returns only the rules whose indexed predicate may hold.
+ *
+ * Pruning is exact: a rule is only skipped when SpEL would certainly evaluate its indexed predicate to false,
+ * and hence the whole condition to false. Fact values the index cannot reason about (such as a number compared
+ * with a string, or a float) keep the rule as a candidate. Rule groups, decision tables and rules without an
+ * indexable predicate are always candidates, and no rule is skipped unless every condition in the list is
+ * {@link ExpressionInspector#isPure(Expression) pure}: a condition that assigns variables could change the facts
+ * seen by later rules, and one that calls a method, function, constructor or bean must not be skipped.
+ */
+public final class RuleIndex {
+    private static final Logger LOGGER = Logger.getLogger(RuleIndex.class.getName());
+
+    // Integral fact values beyond this magnitude cannot be compared exactly as doubles
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    private final int size;
+    private final BitSet alwaysCandidates;
+    private final Map<String, VariableIndex> variableIndexes;
+    private final boolean pruningEnabled;
+    private final RuleGroup[] groups;
+    private final int[] groupModificationCounts;
+
+    /**
+     * Create a new RuleIndex for a list of rules and rule groups.
+     *
+     * @param rules The rules and rule groups, in the order in which they are evaluated
+     */
+    public RuleIndex(List<RuleBase> rules) {
+        this.size = rules.size();
+        this.alwaysCandidates = new BitSet(size);
+        Map<String, IndexBuilder> builders = new HashMap<>();
+        List<RuleGroup> groupList = new ArrayList<>();
+        boolean pure = true;
+
+        for (int i = 0; i < size; i++) {
+            RuleBase ruleObj = rules.get(i);
+            Predicate predicate = null;
+            if (ruleObj instanceof Rule) {
+                Expression expression = ((Rule) ruleObj).getExpression();
+                pure &= ExpressionInspector.isPure(expression);
+                predicate = extractPredicate(expression);
+            } else if (ruleObj instanceof RuleGroup) {
+                RuleGroup group = (RuleGroup) ruleObj;
+                groupList.add(group);
+                for (Rule rule : group.getRules()) {
+                    pure &= ExpressionInspector.isPure(rule.getExpression());
+                }
+            } else if (ruleObj instanceof DecisionTable) {
+                pure &= ((DecisionTable) ruleObj).isPure();
+            }
+
+            if (predicate == null) {
+                alwaysCandidates.set(i);
+            } else {
+                builders.computeIfAbsent(predicate.variable, name -> new IndexBuilder()).add(predicate, i);
+            }
+        }
+
+        this.pruningEnabled = pure;
+        this.variableIndexes = new HashMap<>();
+        for (Map.Entry<String, IndexBuilder> entry : builders.entrySet()) {
+            variableIndexes.put(entry.getKey(), entry.getValue().build());
+        }
+        this.groups = groupList.toArray(new RuleGroup[0]);
+        this.groupModificationCounts = new int[groups.length];
+        for (int i = 0; i < groups.length; i++) {
+            groupModificationCounts[i] = groups[i].getModificationCount();
+        }
+        LOGGER.fine("Rule index built for " + size + " rules/rule groups: " + (size - alwaysCandidates.cardinality())
+                + " indexed over " + variableIndexes.size() + " variables"
+                + (pruningEnabled ? "" : ", pruning disabled because a condition is not pure"));
+    }
+
+    /**
+     * Check whether the rule groups this index was built from are unchanged.
+     *
+     * @return true if no rule has been added to any of the rule groups since the index was built
+     */
+    public boolean isUpToDate() {
+        for (int i = 0; i < groups.length; i++) {
+            if (groups[i].getModificationCount() != groupModificationCounts[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of rules that have an indexed predicate.
+     *
+     * @return The number of indexed rules
+     */
+    public int getIndexedRuleCount() {
+        return size - alwaysCandidates.cardinality();
+    }
+
+    /**
+     * Find the rules and rule groups that may match the given facts.
+     *
+     * @param facts The facts the rules will be evaluated against
+     * @return The positions of the candidate rules and rule groups in the list the index was built from
+     */
+    public BitSet candidates(Map<String, Object> facts) {
+        BitSet candidates = new BitSet(size);
+        if (!pruningEnabled) {
+            candidates.set(0, size);
+            return candidates;
+        }
+        candidates.or(alwaysCandidates);
+        for (Map.Entry<String, VariableIndex> entry : variableIndexes.entrySet()) {
+            Object value = facts != null ? facts.get(entry.getKey()) : null;
+            entry.getValue().addCandidates(value, candidates);
+        }
+        return candidates;
+    }
+
+    /**
+     * Extract the predicate to index a rule by: the first string equality among the top-level conjuncts,
+     * or failing that the first numeric comparison.
+     */
+    private static Predicate extractPredicate(Expression expression) {
+        if (!(expression instanceof SpelExpression)) {
+            return null;
+        }
+        List<SpelNode> conjuncts = new ArrayList<>();
+        collectConjuncts(((SpelExpression) expression).getAST(), conjuncts);
+
+        Predicate range = null;
+        for (SpelNode conjunct : conjuncts) {
+            Predicate predicate = toPredicate(conjunct);
+            if (predicate != null && predicate.operator == Operator.EQ_STRING) {
+                return predicate;
+            }
+            if (range == null) {
+                range = predicate;
+            }
+        }
+        return range;
+    }
+
+    private static void collectConjuncts(SpelNode node, List<SpelNode> conjuncts) {
+        if (node instanceof OpAnd) {
+            collectConjuncts(node.getChild(0), conjuncts);
+            collectConjuncts(node.getChild(1), conjuncts);
+        } else {
+            conjuncts.add(node);
+        }
+    }
+
+    private static Predicate toPredicate(SpelNode node) {
+        Operator operator;
+        if (node instanceof OpEQ) {
+            operator = Operator.EQ_STRING;
+        } else if (node instanceof OpGT) {
+            operator = Operator.GT;
+        } else if (node instanceof OpGE) {
+            operator = Operator.GE;
+        } else if (node instanceof OpLT) {
+            operator = Operator.LT;
+        } else if (node instanceof OpLE) {
+            operator = Operator.LE;
+        } else {
+            return null;
+        }
+
+        SpelNode left = node.getChild(0);
+        SpelNode right = node.getChild(1);
+        String variable = variableName(left);
+        SpelNode literal = right;
+        if (variable == null) {
+            // Literal on the left, as in "100 < #amount"
+            variable = variableName(right);
+            literal = left;
+            operator = operator.reverse();
+        }
+        if (variable == null) {
+            return null;
+        }
+
+        if (operator == Operator.EQ_STRING) {
+            return literal instanceof StringLiteral
+                    ? new Predicate(variable, operator, (String) ((StringLiteral) literal).getLiteralValue().getValue(), 0)
+                    : null;
+        }
+        Double bound = numericLiteral(literal);
+        return bound != null ? new Predicate(variable, operator, null, bound) : null;
+    }
+
+    private static String variableName(SpelNode node) {
+        if (!(node instanceof VariableReference)) {
+            return null;
+        }
+        String name = node.toStringAST().substring(1);
+        return "this".equals(name) || "root".equals(name) ? null : name;
+    }
+
+    /**
+     * Get the value of an int, long or double literal, optionally negated. Float literals are not indexed,
+     * since SpEL compares them in float rather than double precision.
+     */
+    private static Double numericLiteral(SpelNode node) {
+        if (node instanceof OpMinus && node.getChildCount() == 1) {
+            Double value = numericLiteral(node.getChild(0));
+            return value != null ? -value : null;
+        }
+        if (node instanceof IntLiteral || node instanceof LongLiteral || node instanceof RealLiteral) {
+            Object value = ((Literal) node).getLiteralValue().getValue();
+            if (value instanceof Long && Math.abs((Long) value) > MAX_EXACT_DOUBLE) {
+                return null;
+            }
+            return ((Number) value).doubleValue();
+        }
+        return null;
+    }
+
+    /**
+     * Convert a fact value to a double if SpEL would compare it with a numeric literal exactly as doubles.
+     */
+    private static Double exactDouble(Object value) {
+        if (value instanceof Double) {
+            return Double.isNaN((Double) value) ? null : (Double) value;
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Long && Math.abs((Long) value) <= MAX_EXACT_DOUBLE) {
+            return ((Long) value).doubleValue();
+        }
+        return null;
+    }
+
+    /**
+     * The comparison operators that can be indexed.
+     */
+    private enum Operator {
+        EQ_STRING, GT, GE, LT, LE;
+
+        Operator reverse() {
+            switch (this) {
+                case GT:
+                    return LT;
+                case GE:
+                    return LE;
+                case LT:
+                    return GT;
+                case LE:
+                    return GE;
+                default:
+                    return this;
+            }
+        }
+    }
+
+    /**
+     * A predicate over a single variable: equality with a string, or a comparison with a number.
+     */
+    private static final class Predicate {
+        private final String variable;
+        private final Operator operator;
+        private final String text;
+        private final double bound;
+
+        Predicate(String variable, Operator operator, String text, double bound) {
+            this.variable = variable;
+            this.operator = operator;
+            this.text = text;
+            this.bound = bound;
+        }
+    }
+
+    /**
+     * Collects the indexed predicates of one variable.
+     */
+    private static final class IndexBuilder {
+        private final Map<String, BitSet> equalities = new HashMap<>();
+        private final BitSet equalityRules = new BitSet();
+        private final List<double[]> ranges = new ArrayList<>();
+        private final List<Operator> rangeOperators = new ArrayList<>();
+
+        void add(Predicate predicate, int position) {
+            if (predicate.operator == Operator.EQ_STRING) {
+                equalities.computeIfAbsent(predicate.text, text -> new BitSet()).set(position);
+                equalityRules.set(position);
+            } else {
+                ranges.add(new double[] {predicate.bound, position});
+                rangeOperators.add(predicate.operator);
+            }
+        }
+
+        VariableIndex build() {
+            Operator[] operators = {Operator.GT, Operator.GE, Operator.LT, Operator.LE};
+            RangeIndex[] rangeIndexes = new RangeIndex[operators.length];
+            for (int o = 0; o < operators.length; o++) {
+                List<double[]> entries = new ArrayList<>();
+                for (int i = 0; i < ranges.size(); i++) {
+                    if (rangeOperators.get(i) == operators[o]) {
+                        entries.add(ranges.get(i));
+                    }
+                }
+                if (!entries.isEmpty()) {
+                    rangeIndexes[o] = new RangeIndex(operators[o], entries);
+                }
+            }
+            return new VariableIndex(equalities, equalityRules, rangeIndexes);
+        }
+    }
+
+    /**
+     * The hash index and range indexes of one variable.
+     */
+    private static final class VariableIndex {
+        private final Map<String, BitSet> equalities;
+        private final BitSet equalityRules;
+        private final RangeIndex[] rangeIndexes;
+
+        VariableIndex(Map<String, BitSet> equalities, BitSet equalityRules, RangeIndex[] rangeIndexes) {
+            this.equalities = equalities;
+            this.equalityRules = equalityRules;
+            this.rangeIndexes = rangeIndexes;
+        }
+
+        void addCandidates(Object value, BitSet candidates) {
+            if (value instanceof CharSequence) {
+                BitSet matches = equalities.get(value.toString());
+                if (matches != null) {
+                    candidates.or(matches);
+                }
+            } else if (value != null) {
+                // SpEL may still consider other types equal to a string, so keep those rules
+                candidates.or(equalityRules);
+            }
+            // A null value is never equal to a string literal
+
+            for (RangeIndex rangeIndex : rangeIndexes) {
+                if (rangeIndex != null) {
+                    rangeIndex.addCandidates(value, candidates);
+                }
+            }
+        }
+    }
+
+    /**
+     * The rules with one comparison operator over a variable, sorted by their bound.
+     */
+    private static final class RangeIndex {
+        private final Operator operator;
+        private final double[] bounds;
+        private final int[] positions;
+
+        RangeIndex(Operator operator, List<double[]> entries) {
+            this.operator = operator;
+            entries.sort((a, b) -> Double.compare(a[0], b[0]));
+            this.bounds = new double[entries.size()];
+            this.positions = new int[entries.size()];
+            for (int i = 0; i < bounds.length; i++) {
+                bounds[i] = entries.get(i)[0];
+                positions[i] = (int) entries.get(i)[1];
+            }
+        }
+
+        void addCandidates(Object value, BitSet candidates) {
+            if (value == null) {
+                // SpEL orders null before every number, so only "less than" comparisons hold
+                if (operator == Operator.LT || operator == Operator.LE) {
+                    addAll(0, bounds.length, candidates);
+                }
+                return;
+            }
+            Double number = exactDouble(value);
+            if (number == null) {
+                addAll(0, bounds.length, candidates);
+                return;
+            }
+            double x = number;
+            switch (operator) {
+                case GT:
+                    // x > bound holds for all bounds below x
+                    addAll(0, firstIndex(b -> !(b < x)), candidates);
+                    break;
+                case GE:
+                    addAll(0, firstIndex(b -> !(b <= x)), candidates);
+                    break;
+                case LT:
+                    // x < bound holds for all bounds above x
+                    addAll(firstIndex(b -> b > x), bounds.length, candidates);
+                    break;
+                case LE:
+                    addAll(firstIndex(b -> b >= x), bounds.length, candidates);
+                    break;
+                default:
+                    addAll(0, bounds.length, candidates);
+            }
+        }
+
+        /**
+         * Find the first position whose bound satisfies a condition that is monotonic over the sorted bounds.
+         */
+        private int firstIndex(DoublePredicate condition) {
+            int low = 0;
+            int high = bounds.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (condition.test(bounds[middle])) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+
+        private void addAll(int from, int to, BitSet candidates) {
+            for (int i = from; i < to; i++) {
+                candidates.set(positions[i]);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return operator + Arrays.toString(bounds);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.rulesengine.core.engine;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A registry of evaluation metrics per rule, owned by a {@link RulesEngine} and recorded while
+ * {@link RulesEngine#setMetricsEnabled(boolean) metrics are enabled}.
+ *
+ * For every rule, rule group, rule inside a rule group and decision table that is evaluated, the registry counts
+ * the evaluations, matches and errors and records the latency of each evaluation in a histogram.
+ * Recording is lock-free. Snapshots can be taken per rule ID at any time, and per category by adding up the
+ * rules in the category.
+ *
+ * Listeners receive every recorded evaluation, so that the metrics can be bridged to another metrics system:
+ * <pre>
+ * engine.setMetricsEnabled(true);
+ * engine.getMetrics().addListener((rule, outcome, nanos) -&gt; timer(rule.getId()).record(nanos));
+ * ...
+ * RuleMetrics.Snapshot snapshot = engine.getMetrics().getSnapshot("R1");
+ * </pre>
+ */
+public class RuleMetrics {
+    private static final Logger LOGGER = Logger.getLogger(RuleMetrics.class.getName());
+
+    /**
+     * The outcome of an evaluation.
+     */
+    public enum Outcome {
+        MATCH, NO_MATCH, ERROR
+    }
+
+    /**
+     * Receives every evaluation recorded by a registry. Listeners are called on the evaluating thread and
+     * should return quickly; an exception thrown by a listener is logged and otherwise ignored.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Called after a rule, rule group or decision table has been evaluated.
+         *
+         * @param rule The rule, rule group or decision table
+         * @param outcome The outcome of the evaluation
+         * @param nanos The latency of the evaluation in nanoseconds
+         */
+        void ruleEvaluated(RuleBase rule, Outcome outcome, long nanos);
+    }
+
+    private final Map<String, RuleStats> statsById = new ConcurrentHashMap<>();
+    private volatile Listener[] listeners = new Listener[0];
+
+    /**
+     * Record an evaluation.
+     *
+     * @param rule The rule, rule group or decision table that was evaluated
+     * @param outcome The outcome of the evaluation
+     * @param nanos The latency of the evaluation in nanoseconds
+     */
+    public void record(RuleBase rule, Outcome outcome, long nanos) {
+        RuleStats stats = statsById.get(rule.getId());
+        if (stats == null || stats.rule != rule) {
+            stats = statsById.compute(rule.getId(),
+                    (id, existing) -> existing != null && existing.rule == rule ? existing : new RuleStats(rule));
+        }
+        stats.evaluations.increment();
+        if (outcome == Outcome.MATCH) {
+            stats.matches.increment();
+        } else if (outcome == Outcome.ERROR) {
+            stats.errors.increment();
+        }
+        stats.latency.record(nanos);
+
+        for (Listener listener : listeners) {
+            try {
+                listener.ruleEvaluated(rule, outcome, nanos);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Metrics listener failed: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Add a listener that receives every evaluation recorded from now on.
+     *
+     * @param listener The listener to add
+     * @return This registry for method chaining
+     */
+    public synchronized RuleMetrics addListener(Listener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener must not be null");
+        }
+        Listener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+        return this;
+    }
+
+    /**
+     * Remove a listener.
+     *
+     * @param listener The listener to remove
+     * @return true if the listener was registered, false otherwise
+     */
+    public synchronized boolean removeListener(Listener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                Listener[] updated = new Listener[listeners.length - 1];
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, listeners.length - i - 1);
+                listeners = updated;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get a snapshot of the metrics of a rule, rule group or decision table.
+     *
+     * @param ruleId The ID of the rule
+     * @return The snapshot, or null if the rule has not been evaluated since the metrics were last reset
+     */
+    public Snapshot getSnapshot(String ruleId) {
+        RuleStats stats = statsById.get(ruleId);
+        return stats != null ? stats.snapshot() : null;
+    }
+
+    /**
+     * Get snapshots of the metrics of all rules, rule groups and decision tables that have been evaluated.
+     *
+     * @return An unmodifiable map of snapshots by rule ID, sorted by ID
+     */
+    public Map<String, Snapshot> getSnapshots() {
+        Map<String, Snapshot> snapshots = new TreeMap<>();
+        statsById.forEach((id, stats) -> snapshots.put(id, stats.snapshot()));
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    /**
+     * Get a snapshot of the metrics of a category: the sum of the metrics of the rules, rule groups and
+     * decision tables in the category. Rules inside a rule group count towards their own categories.
+     *
+     * @param category The name of the category
+     * @return The snapshot, or null if no rule in the category has been evaluated
+     */
+    public Snapshot getCategorySnapshot(String category) {
+        return getCategorySnapshots().get(category);
+    }
+
+    /**
+     * Get snapshots of the metrics of all categories with evaluated rules.
+     *
+     * @return An unmodifiable map of snapshots by category name, sorted by name
+     */
+    public Map<String, Snapshot> getCategorySnapshots() {
+        Map<String, Snapshot> snapshots = new TreeMap<>();
+        for (RuleStats stats : statsById.values()) {
+            Snapshot snapshot = stats.snapshot();
+            for (Category category : stats.rule.getCategories()) {
+                snapshots.merge(category.getName(), snapshot.forCategory(category.getName()), Snapshot::add);
+            }
+        }
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    /**
+     * Discard all recorded metrics. Listeners stay registered.
+     */
+    public void reset() {
+        statsById.clear();
+    }
+
+    /**
+     * The metrics of one rule, rule group or decision table.
+     */
+    private static final class RuleStats {
+        final RuleBase rule;
+        final LongAdder evaluations = new LongAdder();
+        final LongAdder matches = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LatencyHistogram latency = new LatencyHistogram();
+
+        RuleStats(RuleBase rule) {
+            this.rule = rule;
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(rule.getId(), rule.getName(), evaluations.sum(), matches.sum(), errors.sum(),
+                    latency.getCounts(), latency.getTotal(), latency.getMax());
+        }
+    }
+
+    /**
+     * An immutable snapshot of the metrics of a rule or category. Latencies are in nanoseconds.
+     */
+    public static final class Snapshot {
+        private final String id;
+        private final String name;
+        private final long evaluations;
+        private final long matches;
+        private final long errors;
+        private final long[] latencyCounts;
+        private final long latencyCount;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        private Snapshot(String id, String name, long evaluations, long matches, long errors,
+                         long[] latencyCounts, long totalNanos, long maxNanos) {
+            this.id = id;
+            this.name = name;
+            this.evaluations = evaluations;
+            this.matches = matches;
+            this.errors = errors;
+            this.latencyCounts = latencyCounts;
+            this.latencyCount = Arrays.stream(latencyCounts).sum();
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        private Snapshot forCategory(String category) {
+            return new Snapshot(category, category, evaluations, matches, errors, latencyCounts, totalNanos, maxNanos);
+        }
+
+        private Snapshot add(Snapshot other) {
+            long[] counts = latencyCounts.clone();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.latencyCounts[i];
+            }
+            return new Snapshot(id, name, evaluations + other.evaluations, matches + other.matches,
+                    errors + other.errors, counts, totalNanos + other.totalNanos, Math.max(maxNanos, other.maxNanos));
+        }
+
+        /**
+         * Get the ID of the rule, or the name of the category.
+         *
+         * @return The ID or category name
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Get the name of the rule, or the name of the category.
+         *
+         * @return The name
+         */
+        public String getName() {
+            return name;
+        }
+
+        public long getEvaluations() {
+            return evaluations;
+        }
+
+        public long getMatches() {
+            return matches;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * Get the fraction of evaluations that matched.
+         *
+         * @return The hit rate between 0 and 1, or 0 if there were no evaluations
+         */
+        public double getHitRate() {
+            return evaluations > 0 ? (double) matches / evaluations : 0;
+        }
+
+        /**
+         * Get the mean latency of an evaluation.
+         *
+         * @return The mean latency in nanoseconds, or 0 if there were no evaluations
+         */
+        public double getMeanNanos() {
+            return latencyCount > 0 ? (double) totalNanos / latencyCount : 0;
+        }
+
+        /**
+         * Get the largest latency of an evaluation.
+         *
+         * @return The maximum latency in nanoseconds
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Get a percentile of the latency, such as 99 for the latency that 99% of evaluations did not exceed.
+         * The result is the upper end of the histogram bucket holding the percentile, which is within 1/16 of
+         * the exact value, and never more than the maximum latency.
+         *
+         * @param percentile The percentile, between 0 and 100
+         * @return The latency at the percentile in nanoseconds, or 0 if there were no evaluations
+         * @throws IllegalArgumentException if the percentile is not between 0 and 100
+         */
+        public long getPercentileNanos(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+            }
+            if (latencyCount == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * latencyCount));
+            long seen = 0;
+            for (int i = 0; i < latencyCounts.length; i++) {
+                seen += latencyCounts[i];
+                if (seen >= rank) {
+                    return Math.min(LatencyHistogram.highestValue(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                    "id='" + id + '\'' +
+                    ", evaluations=" + evaluations +
+                    ", matches=" + matches +
+                    ", errors=" + errors +
+                    ", meanNanos=" + Math.round(getMeanNanos()) +
+                    ", p99Nanos=" + getPercentileNanos(99) +
+                    ", maxNanos=" + maxNanos +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,580 @@
+package com.rulesengine.core.engine;
+
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.OpAnd;
+import org.springframework.expression.spel.ast.OpOr;
+import org.springframework.expression.spel.standard.SpelExpression;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A compiled network of the conditions of a list of rules and rule groups, in the style of a Rete network.
+ *
+ * Each condition is split at its top-level AND and OR operators into sub-conditions. Identical sub-conditions
+ * of all rules, including the rules inside rule groups, become a single shared alpha node, so a sub-condition
+ * such as "#clientRiskScore > 7" is evaluated at most once per fact map no matter how many rules test it.
+ * Alpha nodes are evaluated lazily and their results are remembered for the duration of one execution.
+ *
+ * Rules are still evaluated in priority order and the first match is returned, with the same short-circuit,
+ * null and error handling as {@link RulesEngine#executeRules(java.util.List, java.util.Map)}. Conditions that
+ * assign, increment or decrement anything are evaluated as a whole every time. Sub-conditions that call methods,
+ * functions, constructors or beans are evaluated every time they are reached, as they may be stateful.
+ * Sub-conditions are parsed through the engine's {@link ExpressionCache}, so its compiler mode applies to them.
+ * Decision tables are evaluated as a whole through their own lookup structures.
+ *
+ * A network is immutable and can be executed by several threads at once. It is built from one list of rules;
+ * use {@link #isBuiltFrom(List)} to check whether it still reflects that list and the rule groups in it.
+ */
+public final class RuleNetwork {
+    private static final Logger LOGGER = Logger.getLogger(RuleNetwork.class.getName());
+    private static final EngineLogging.EventLog EVENTS = EngineLogging.eventLog(LOGGER);
+
+    // Results of a condition; 0 means an alpha node has not been evaluated yet
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte NULL = 3;
+    private static final byte ERROR = 4;
+
+    private final List<RuleBase> rules;
+    private final Terminal[] terminals;
+    private final Expression[] alphaNodes;
+    private final RuleGroup[] groups;
+    private final int[] groupModificationCounts;
+    private final int conditionCount;
+
+    /**
+     * Create a new RuleNetwork for a list of rules and rule groups.
+     *
+     * @param rules The rules and rule groups, in the order in which they are evaluated
+     * @param expressionCache The cache that provides the parsed rule conditions
+     */
+    public RuleNetwork(List<RuleBase> rules, ExpressionCache expressionCache) {
+        this.rules = rules;
+        Builder builder = new Builder(expressionCache);
+        List<RuleGroup> groupList = new ArrayList<>();
+        this.terminals = new Terminal[rules.size()];
+
+        for (int i = 0; i < rules.size(); i++) {
+            RuleBase ruleObj = rules.get(i);
+            if (ruleObj instanceof Rule) {
+                terminals[i] = new RuleTerminal((Rule) ruleObj, builder.build((Rule) ruleObj));
+            } else if (ruleObj instanceof RuleGroup) {
+                RuleGroup group = (RuleGroup) ruleObj;
+                groupList.add(group);
+                List<Rule> groupRules = group.getRules();
+                Condition[] conditions = new Condition[groupRules.size()];
+                for (int j = 0; j < conditions.length; j++) {
+                    conditions[j] = builder.build(groupRules.get(j));
+                }
+                terminals[i] = new GroupTerminal(group, groupRules.toArray(new Rule[0]), conditions);
+            } else if (ruleObj instanceof DecisionTable) {
+                terminals[i] = new DecisionTableTerminal((DecisionTable) ruleObj);
+            } else {
+                throw new IllegalArgumentException("Unsupported rule type: " + ruleObj.getClass().getName());
+            }
+        }
+
+        this.alphaNodes = builder.alphaNodes.toArray(new Expression[0]);
+        this.conditionCount = builder.conditionCount;
+        this.groups = groupList.toArray(new RuleGroup[0]);
+        this.groupModificationCounts = new int[groups.length];
+        for (int i = 0; i < groups.length; i++) {
+            groupModificationCounts[i] = groups[i].getModificationCount();
+        }
+        LOGGER.fine("Rule network built for " + rules.size() + " rules/rule groups with " + alphaNodes.length
+                + " alpha nodes shared by " + conditionCount + " conditions");
+    }
+
+    /**
+     * Check whether this network was built from the given list and still reflects it.
+     * The network is out of date once a rule has been added to one of its rule groups.
+     *
+     * @param rules The list of rules and rule groups
+     * @return true if the network was built from this list and is up to date, false otherwise
+     */
+    public boolean isBuiltFrom(List<RuleBase> rules) {
+        if (this.rules != rules) {
+            return false;
+        }
+        for (int i = 0; i < groups.length; i++) {
+            if (groups[i].getModificationCount() != groupModificationCounts[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of distinct sub-conditions in the network.
+     *
+     * @return The number of alpha nodes
+     */
+    public int getAlphaNodeCount() {
+        return alphaNodes.length;
+    }
+
+    /**
+     * Get the number of sub-conditions across all rules before identical ones were shared.
+     *
+     * @return The number of sub-conditions
+     */
+    public int getConditionCount() {
+        return conditionCount;
+    }
+
+    /**
+     * Execute the network against an evaluation context and return the first rule or rule group that matches.
+     *
+     * @param context The evaluation context holding the facts
+     * @return The result of the first rule or rule group that matches, or a no-match result
+     */
+    public RuleResult execute(EvaluationContext context) {
+        return execute(context, null);
+    }
+
+    /**
+     * Execute the network against an evaluation context, considering only the candidate rules and rule groups,
+     * and return the first one that matches.
+     *
+     * @param context The evaluation context holding the facts
+     * @param candidates The positions of the rules and rule groups to consider, or null to consider all of them
+     * @return The result of the first candidate rule or rule group that matches, or a no-match result
+     */
+    public RuleResult execute(EvaluationContext context, BitSet candidates) {
+        return execute(context, candidates, null);
+    }
+
+    /**
+     * Execute the network as by {@link #execute(EvaluationContext, BitSet)}, recording the outcome and latency
+     * of each rule, rule group, rule inside a rule group and decision table that is evaluated.
+     * The latency of a condition only includes the alpha nodes it was the first to evaluate.
+     *
+     * @param context The evaluation context holding the facts
+     * @param candidates The positions of the rules and rule groups to consider, or null to consider all of them
+     * @param metrics The registry to record the evaluations in, or null to record nothing
+     * @return The result of the first candidate rule or rule group that matches, or a no-match result
+     */
+    public RuleResult execute(EvaluationContext context, BitSet candidates, RuleMetrics metrics) {
+        return execute(context, candidates, metrics, RuleResultFactory.STANDARD);
+    }
+
+    /**
+     * Execute the network as by {@link #execute(EvaluationContext, BitSet, RuleMetrics)}, creating the results
+     * with the given factory.
+     *
+     * @param context The evaluation context holding the facts
+     * @param candidates The positions of the rules and rule groups to consider, or null to consider all of them
+     * @param metrics The registry to record the evaluations in, or null to record nothing
+     * @param resultFactory The factory of the results
+     * @return The result of the first candidate rule or rule group that matches, or a no-match result
+     */
+    public RuleResult execute(EvaluationContext context, BitSet candidates, RuleMetrics metrics,
+                              RuleResultFactory resultFactory) {
+        Evaluation evaluation = new Evaluation(context, alphaNodes, metrics, resultFactory);
+        for (int i = 0; i < terminals.length; i++) {
+            if (candidates != null && !candidates.get(i)) {
+                continue;
+            }
+            RuleResult result;
+            if (metrics == null) {
+                result = terminals[i].evaluate(evaluation);
+            } else {
+                evaluation.failed = false;
+                long start = System.nanoTime();
+                result = terminals[i].evaluate(evaluation);
+                metrics.record(terminals[i].getRule(), result != null ? RuleMetrics.Outcome.MATCH
+                        : evaluation.failed ? RuleMetrics.Outcome.ERROR : RuleMetrics.Outcome.NO_MATCH,
+                        System.nanoTime() - start);
+            }
+            if (result != null) {
+                return result;
+            }
+        }
+        return resultFactory.noMatch();
+    }
+
+    /**
+     * The state of one execution: the context and the results of the alpha nodes evaluated so far.
+     */
+    private static final class Evaluation {
+        private final EvaluationContext context;
+        private final Expression[] alphaNodes;
+        private final byte[] results;
+        private final Exception[] errors;
+        private final RuleMetrics metrics;
+        private final RuleResultFactory resultFactory;
+        // The error behind the last ERROR result, or null if an operand was null
+        private Exception lastError;
+        // Whether the terminal being evaluated failed with an error
+        private boolean failed;
+
+        Evaluation(EvaluationContext context, Expression[] alphaNodes, RuleMetrics metrics,
+                   RuleResultFactory resultFactory) {
+            this.context = context;
+            this.alphaNodes = alphaNodes;
+            this.metrics = metrics;
+            this.resultFactory = resultFactory;
+            this.results = new byte[alphaNodes.length];
+            this.errors = new Exception[alphaNodes.length];
+        }
+
+        byte alpha(int index) {
+            byte result = results[index];
+            if (result == 0) {
+                try {
+                    result = toResult(alphaNodes[index].getValue(context, Boolean.class));
+                } catch (Exception e) {
+                    errors[index] = e;
+                    result = ERROR;
+                }
+                results[index] = result;
+            }
+            if (result == ERROR) {
+                lastError = errors[index];
+            }
+            return result;
+        }
+
+        String lastErrorMessage() {
+            return lastError != null ? lastError.getMessage() : "Cannot convert null to boolean";
+        }
+    }
+
+    private static byte toResult(Boolean value) {
+        return value == null ? NULL : (value ? TRUE : FALSE);
+    }
+
+    /**
+     * A condition, or part of one, evaluated against an execution.
+     */
+    private interface Condition {
+        byte evaluate(Evaluation evaluation);
+    }
+
+    /**
+     * A sub-condition that refers to a shared alpha node.
+     */
+    private static final class AlphaCondition implements Condition {
+        private final int index;
+
+        AlphaCondition(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public byte evaluate(Evaluation evaluation) {
+            return evaluation.alpha(index);
+        }
+    }
+
+    /**
+     * The AND of two conditions. Like SpEL's "and", a null operand is an error.
+     */
+    private static final class AndCondition implements Condition {
+        private final Condition left;
+        private final Condition right;
+
+        AndCondition(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public byte evaluate(Evaluation evaluation) {
+            byte result = operand(left, evaluation);
+            return result == TRUE ? operand(right, evaluation) : result;
+        }
+    }
+
+    /**
+     * The OR of two conditions. Like SpEL's "or", a null operand is an error.
+     */
+    private static final class OrCondition implements Condition {
+        private final Condition left;
+        private final Condition right;
+
+        OrCondition(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public byte evaluate(Evaluation evaluation) {
+            byte result = operand(left, evaluation);
+            return result == FALSE ? operand(right, evaluation) : result;
+        }
+    }
+
+    private static byte operand(Condition condition, Evaluation evaluation) {
+        byte result = condition.evaluate(evaluation);
+        if (result == NULL) {
+            evaluation.lastError = null;
+            return ERROR;
+        }
+        return result;
+    }
+
+    /**
+     * A condition, or part of one, that is evaluated every time it is reached and never shared.
+     */
+    private static final class ExpressionCondition implements Condition {
+        private final Expression expression;
+
+        ExpressionCondition(Expression expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        public byte evaluate(Evaluation evaluation) {
+            try {
+                return toResult(expression.getValue(evaluation.context, Boolean.class));
+            } catch (Exception e) {
+                evaluation.lastError = e;
+                return ERROR;
+            }
+        }
+    }
+
+    /**
+     * A rule or rule group at the end of the network.
+     */
+    private abstract static class Terminal {
+        abstract RuleBase getRule();
+
+        abstract RuleResult evaluate(Evaluation evaluation);
+    }
+
+    private static final class RuleTerminal extends Terminal {
+        private final Rule rule;
+        private final Condition condition;
+
+        RuleTerminal(Rule rule, Condition condition) {
+            this.rule = rule;
+            this.condition = condition;
+        }
+
+        @Override
+        RuleBase getRule() {
+            return rule;
+        }
+
+        @Override
+        RuleResult evaluate(Evaluation evaluation) {
+            byte result = condition.evaluate(evaluation);
+            if (result == TRUE) {
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.fine("Rule matched: " + rule.getName());
+                }
+                return evaluation.resultFactory.match(rule.getName(), rule.getMessage());
+            }
+            if (result == ERROR) {
+                evaluation.failed = true;
+                EVENTS.warning("Error evaluating rule", rule.getName(), evaluation.lastErrorMessage(),
+                        evaluation.lastError);
+            }
+            return null;
+        }
+    }
+
+    private static final class GroupTerminal extends Terminal {
+        private final RuleGroup group;
+        private final Rule[] rules;
+        private final Condition[] conditions;
+
+        GroupTerminal(RuleGroup group, Rule[] rules, Condition[] conditions) {
+            this.group = group;
+            this.rules = rules;
+            this.conditions = conditions;
+        }
+
+        @Override
+        RuleBase getRule() {
+            return group;
+        }
+
+        @Override
+        RuleResult evaluate(Evaluation evaluation) {
+            if (conditions.length == 0) {
+                return null;
+            }
+            boolean isAndOperator = group.isAndOperator();
+            boolean matched = isAndOperator;
+            RuleMetrics metrics = evaluation.metrics;
+            for (int i = 0; i < conditions.length; i++) {
+                byte result;
+                if (metrics == null) {
+                    result = conditions[i].evaluate(evaluation);
+                } else {
+                    long start = System.nanoTime();
+                    result = conditions[i].evaluate(evaluation);
+                    metrics.record(rules[i], result == TRUE ? RuleMetrics.Outcome.MATCH
+                            : result == ERROR ? RuleMetrics.Outcome.ERROR : RuleMetrics.Outcome.NO_MATCH,
+                            System.nanoTime() - start);
+                }
+                if (result == ERROR) {
+                    EVENTS.warning("Error evaluating rule in group", group.getName() + '/' + rules[i].getName(),
+                            evaluation.lastErrorMessage(), null);
+                    if (isAndOperator) {
+                        // For AND groups, any error means the group fails
+                        return null;
+                    }
+                    // For OR groups, continue evaluating other rules
+                    continue;
+                }
+                if (isAndOperator && result != TRUE) {
+                    matched = false;
+                    break;
+                }
+                if (!isAndOperator && result == TRUE) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return null;
+            }
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Rule group matched: " + group.getName());
+            }
+            return evaluation.resultFactory.match(group.getName(), group.getMessage());
+        }
+    }
+
+    /**
+     * A decision table, which already compiles its rows into lookup structures and is evaluated as a whole.
+     */
+    private static final class DecisionTableTerminal extends Terminal {
+        private final DecisionTable table;
+
+        DecisionTableTerminal(DecisionTable table) {
+            this.table = table;
+        }
+
+        @Override
+        RuleBase getRule() {
+            return table;
+        }
+
+        @Override
+        RuleResult evaluate(Evaluation evaluation) {
+            try {
+                List<String> outputs = table.evaluate(evaluation.context);
+                if (!outputs.isEmpty()) {
+                    if (LOGGER.isLoggable(Level.FINE)) {
+                        LOGGER.fine("Decision table matched: " + table.getName());
+                    }
+                    return evaluation.resultFactory.match(table.getName(), outputs.get(0));
+                }
+            } catch (Exception e) {
+                evaluation.failed = true;
+                EVENTS.warning("Error evaluating decision table", table.getName(), e.getMessage(), e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Splits rule conditions into sub-conditions and assigns identical sub-conditions to the same alpha node.
+     */
+    private static final class Builder {
+        private final ExpressionCache expressionCache;
+        private final Map<String, Integer> alphaIndexes = new HashMap<>();
+        private final List<Expression> alphaNodes = new ArrayList<>();
+        private int conditionCount;
+
+        Builder(ExpressionCache expressionCache) {
+            this.expressionCache = expressionCache;
+        }
+
+        Condition build(Rule rule) {
+            Expression expression = expressionCache.get(rule);
+            if (expression instanceof SpelExpression && ExpressionInspector.isSideEffectFree(expression)) {
+                SpelNode ast = ((SpelExpression) expression).getAST();
+                String condition = expression.getExpressionString();
+                if (isSplittable(ast, condition)) {
+                    return build(ast, condition);
+                }
+            }
+            conditionCount++;
+            return new ExpressionCondition(expression);
+        }
+
+        private Condition build(SpelNode node, String condition) {
+            if (node instanceof OpAnd) {
+                return new AndCondition(build(node.getChild(0), condition), build(node.getChild(1), condition));
+            }
+            if (node instanceof OpOr) {
+                return new OrCondition(build(node.getChild(0), condition), build(node.getChild(1), condition));
+            }
+            conditionCount++;
+            Expression expression = expressionCache.get(source(node, condition));
+            if (!ExpressionInspector.isShareable(node)) {
+                return new ExpressionCondition(expression);
+            }
+            String key = key(node, condition);
+            Integer index = alphaIndexes.get(key);
+            if (index == null) {
+                index = alphaNodes.size();
+                alphaNodes.add(expression);
+                alphaIndexes.put(key, index);
+            }
+            return new AlphaCondition(index);
+        }
+
+        /**
+         * Check whether the source text of each sub-condition parses back into the same sub-condition,
+         * so that sub-conditions can be evaluated as expressions of their own.
+         */
+        private boolean isSplittable(SpelNode node, String condition) {
+            if (node instanceof OpAnd || node instanceof OpOr) {
+                return isSplittable(node.getChild(0), condition) && isSplittable(node.getChild(1), condition);
+            }
+            String source = source(node, condition);
+            if (source.isEmpty()) {
+                return false;
+            }
+            try {
+                Expression expression = expressionCache.get(source);
+                return expression instanceof SpelExpression
+                        && ((SpelExpression) expression).getAST().toStringAST().equals(node.toStringAST());
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Build the key that identifies a sub-condition: its structure as printed by SpEL, which ignores
+         * whitespace and parentheses, together with its source text, which distinguishes literals such as
+         * 1.5 and 1.5f that SpEL prints in the same way.
+         */
+        private static String key(SpelNode node, String condition) {
+            return node.toStringAST() + '\u0000' + source(node, condition);
+        }
+
+        /**
+         * Get the source text of a sub-condition, or an empty string if its position is not known.
+         */
+        private static String source(SpelNode node, String condition) {
+            int[] range = {Integer.MAX_VALUE, Integer.MIN_VALUE};
+            sourceRange(node, range);
+            return range[0] >= 0 && range[0] < range[1] && range[1] <= condition.length()
+                    ? condition.substring(range[0], range[1]) : "";
+        }
+
+        private static void sourceRange(SpelNode node, int[] range) {
+            range[0] = Math.min(range[0], node.getStartPosition());
+            range[1] = Math.max(range[1], node.getEndPosition());
+            for (int i = 0; i < node.getChildCount(); i++) {
+                sourceRange(node.getChild(i), range);
+            }
+        }
+    }
+}
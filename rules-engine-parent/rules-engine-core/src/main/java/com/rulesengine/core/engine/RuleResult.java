@@ -4,20 +4,39 @@ import java.io.Serializable;
 import java.time.Instant;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents the result of evaluating a rule or rule group.
  * This class contains information about the rule that was evaluated,
  * whether it was triggered, and any message associated with the result.
+ *
+ * Each result created through the constructors and static factory methods is given a random UUID and the
+ * current time. Results created by {@link RuleResultFactory#LEAN} are cheaper: their ID is assigned when it is
+ * first requested and their timestamp has millisecond precision.
  */
 public class RuleResult implements Serializable {
     private static final long serialVersionUID = 1L;
 
-    private final UUID id;
+    // The most significant bits of lean IDs, random per JVM so that IDs from different JVMs do not collide
+    private static final long LEAN_ID_PREFIX = UUID.randomUUID().getMostSignificantBits();
+    private static final AtomicLong LEAN_ID_SEQUENCE = new AtomicLong();
+
+    /** The shared result returned by {@link RuleResultFactory#noMatch()} of the lean factory */
+    public static final RuleResult NO_MATCH =
+            new RuleResult("no-match", "No matching rules found", false, ResultType.NO_MATCH, true);
+    /** The shared result returned by {@link RuleResultFactory#noRules()} of the lean factory */
+    public static final RuleResult NO_RULES =
+            new RuleResult("no-rule", "No rules provided", false, ResultType.NO_RULES, true);
+
+    // Assigned on first request for lean results
+    private volatile UUID id;
     private final String ruleName;
     private final String message;
     private final boolean triggered;
+    // Null for lean results, whose timestamp is kept in epochMillis
     private final Instant timestamp;
+    private final long epochMillis;
     private final ResultType resultType;
 
     /**
@@ -43,12 +62,26 @@ public class RuleResult implements Serializable {
      * @param resultType The type of result
      */
     public RuleResult(String ruleName, String message, boolean triggered, ResultType resultType) {
-        this.id = UUID.randomUUID();
+        this(ruleName, message, triggered, resultType, false);
+    }
+
+    private RuleResult(String ruleName, String message, boolean triggered, ResultType resultType, boolean lean) {
         this.ruleName = ruleName;
         this.message = message;
         this.triggered = triggered;
-        this.timestamp = Instant.now();
         this.resultType = resultType;
+        if (lean) {
+            this.timestamp = null;
+            this.epochMillis = System.currentTimeMillis();
+        } else {
+            this.id = UUID.randomUUID();
+            this.timestamp = Instant.now();
+            this.epochMillis = 0;
+        }
+    }
+
+    static RuleResult create(String ruleName, String message, ResultType resultType, boolean lean) {
+        return new RuleResult(ruleName, message, resultType == ResultType.MATCH, resultType, lean);
     }
 
     /**
@@ -111,31 +144,38 @@ public class RuleResult implements Serializable {
      * @param message The message associated with the rule
      */
     public RuleResult(String ruleName, String message) {
-        this.id = UUID.randomUUID();
-        this.ruleName = ruleName;
-        this.message = message;
-        this.timestamp = Instant.now();
+        this(ruleName, message, typeOf(ruleName));
+    }
 
-        // Try to determine the result type based on the ruleName
+    // Try to determine the result type based on the ruleName
+    private static ResultType typeOf(String ruleName) {
         if ("no-rule".equals(ruleName)) {
-            this.resultType = ResultType.NO_RULES;
-            this.triggered = false;
-        } else if ("no-match".equals(ruleName)) {
-            this.resultType = ResultType.NO_MATCH;
-            this.triggered = false;
-        } else {
-            this.resultType = ResultType.MATCH;
-            this.triggered = true;
+            return ResultType.NO_RULES;
+        }
+        if ("no-match".equals(ruleName)) {
+            return ResultType.NO_MATCH;
         }
+        return ResultType.MATCH;
     }
 
     /**
      * Get the unique identifier of this result.
+     * The identifier of a lean result is assigned when it is first requested.
      * 
      * @return The UUID of this result
      */
     public UUID getId() {
-        return id;
+        UUID result = id;
+        if (result == null) {
+            synchronized (this) {
+                result = id;
+                if (result == null) {
+                    result = new UUID(LEAN_ID_PREFIX, LEAN_ID_SEQUENCE.incrementAndGet());
+                    id = result;
+                }
+            }
+        }
+        return result;
     }
 
     /**
@@ -166,12 +206,13 @@ public class RuleResult implements Serializable {
     }
 
     /**
-     * Get the timestamp when this result was created.
+     * Get the timestamp when this result was created. The timestamp of a lean result has millisecond precision,
+     * and the shared {@link #NO_MATCH} and {@link #NO_RULES} results carry the time the class was loaded.
      * 
      * @return The timestamp
      */
     public Instant getTimestamp() {
-        return timestamp;
+        return timestamp != null ? timestamp : Instant.ofEpochMilli(epochMillis);
     }
 
     /**
@@ -186,22 +227,26 @@ public class RuleResult implements Serializable {
     @Override
     public String toString() {
         return "RuleResult{" +
-                "id=" + id +
+                "id=" + getId() +
                 ", ruleName='" + ruleName + '\'' +
                 ", message='" + message + '\'' +
                 ", triggered=" + triggered +
                 ", resultType=" + resultType +
-                ", timestamp=" + timestamp +
+                ", timestamp=" + getTimestamp() +
                 '}';
     }
 
+    // Results are identified by their ID. A lean result that has no ID yet can only equal itself, so
+    // comparing and hashing never assign one; the hash code leaves the ID out as it may still be assigned
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         RuleResult that = (RuleResult) o;
-        return triggered == that.triggered &&
-                Objects.equals(id, that.id) &&
+        UUID thisId = id;
+        return thisId != null &&
+                triggered == that.triggered &&
+                thisId.equals(that.id) &&
                 Objects.equals(ruleName, that.ruleName) &&
                 Objects.equals(message, that.message) &&
                 resultType == that.resultType;
@@ -209,6 +254,6 @@ public class RuleResult implements Serializable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, ruleName, message, triggered, resultType);
+        return Objects.hash(ruleName, message, triggered, resultType);
     }
 }
\ No newline at end of file
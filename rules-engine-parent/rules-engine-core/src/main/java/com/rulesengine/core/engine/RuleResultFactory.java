@@ -0,0 +1,78 @@
+package com.rulesengine.core.engine;
+
+/**
+ * Creates the results returned by a rules engine.
+ *
+ * The {@link #STANDARD} factory gives each result a random UUID and the current time when it is created.
+ * The {@link #LEAN} factory, meant for high evaluation rates, creates results more cheaply:
+ * <ul>
+ *   <li>{@link #noMatch()} and {@link #noRules()} return the shared {@link RuleResult#NO_MATCH} and
+ *       {@link RuleResult#NO_RULES} results instead of creating new ones.</li>
+ *   <li>The ID of a result is only assigned when it is first requested, from a sequence that is unique
+ *       within the JVM rather than from a random UUID.</li>
+ *   <li>The timestamp is taken from the millisecond clock and only turned into an Instant when requested.</li>
+ * </ul>
+ *
+ * @see RulesEngine#setResultFactory(RuleResultFactory)
+ */
+public final class RuleResultFactory {
+    /** The factory of standard results, with a random UUID and a precise timestamp each */
+    public static final RuleResultFactory STANDARD = new RuleResultFactory(false);
+    /** The factory of lean results */
+    public static final RuleResultFactory LEAN = new RuleResultFactory(true);
+
+    private final boolean lean;
+
+    private RuleResultFactory(boolean lean) {
+        this.lean = lean;
+    }
+
+    /**
+     * Check whether this factory creates lean results.
+     *
+     * @return true for the lean factory, false otherwise
+     */
+    public boolean isLean() {
+        return lean;
+    }
+
+    /**
+     * Create a result for a rule that was triggered.
+     *
+     * @param ruleName The name of the rule that was triggered
+     * @param message The message associated with the rule
+     * @return A new RuleResult instance
+     */
+    public RuleResult match(String ruleName, String message) {
+        return RuleResult.create(ruleName, message, RuleResult.ResultType.MATCH, lean);
+    }
+
+    /**
+     * Create a result for when no rule was matched.
+     *
+     * @return A new RuleResult instance, or the shared {@link RuleResult#NO_MATCH} one for the lean factory
+     */
+    public RuleResult noMatch() {
+        return lean ? RuleResult.NO_MATCH : RuleResult.noMatch();
+    }
+
+    /**
+     * Create a result for when no rules were provided.
+     *
+     * @return A new RuleResult instance, or the shared {@link RuleResult#NO_RULES} one for the lean factory
+     */
+    public RuleResult noRules() {
+        return lean ? RuleResult.NO_RULES : RuleResult.noRules();
+    }
+
+    /**
+     * Create a result for when an error occurred during rule evaluation.
+     *
+     * @param ruleName The name of the rule that caused the error
+     * @param errorMessage The error message
+     * @return A new RuleResult instance
+     */
+    public RuleResult error(String ruleName, String errorMessage) {
+        return RuleResult.create(ruleName, errorMessage, RuleResult.ResultType.ERROR, lean);
+    }
+}
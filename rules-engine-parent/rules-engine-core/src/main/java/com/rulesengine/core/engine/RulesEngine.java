@@ -2,10 +2,16 @@ package com.rulesengine.core.engine;
 
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelMessage;
+import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -19,17 +25,37 @@ import java.util.logging.Logger;
  */
 public class RulesEngine {
     private static final Logger LOGGER = Logger.getLogger(RulesEngine.class.getName());
+    private static final EngineLogging.EventLog EVENTS = EngineLogging.eventLog(LOGGER);
+    // Fact maps per task below which a batch is no longer split
+    private static final int BATCH_SPLIT_THRESHOLD = 64;
+
     private final ExpressionParser parser;
+    private final ExpressionCache expressionCache;
     private final RulesEngineConfiguration configuration;
+    private volatile ForkJoinPool batchPool = ForkJoinPool.commonPool();
+    private volatile EvaluationContextFactory contextFactory = new EvaluationContextFactory();
+    private volatile RuleResultFactory resultFactory = RuleResultFactory.STANDARD;
+    private volatile boolean dataBindingContextEnabled;
+    private volatile boolean ruleNetworkEnabled;
+    private volatile boolean ruleIndexEnabled;
+    private volatile boolean metricsEnabled;
+    private final RuleMetrics metrics = new RuleMetrics();
+    // Rules whose conditions the read-only data-binding context has rejected, evaluated with the standard context
+    private final Set<Rule> dataBindingRejections = ConcurrentHashMap.newKeySet();
+    // The IDs reported by the last call to compileRules()
+    private volatile Set<String> compiledRuleIds = Collections.emptySet();
+    // Rule networks by category, rebuilt when the category's rules change
+    private final Map<String, RuleNetwork> ruleNetworks = new ConcurrentHashMap<>();
 
 
     /**
      * Create a new RulesEngine with the given configuration.
+     * Rule conditions already parsed by a RuleBuilder are evaluated as they are, without a cache lookup.
      *
      * @param configuration The configuration for this rules engine
      */
     public RulesEngine(RulesEngineConfiguration configuration) {
-        this(configuration, new SpelExpressionParser());
+        this(configuration, new ExpressionCache());
     }
 
     /**
@@ -39,10 +65,37 @@ public class RulesEngine {
      * @param parser The expression parser to use
      */
     public RulesEngine(RulesEngineConfiguration configuration, ExpressionParser parser) {
+        this(configuration, new ExpressionCache(parser));
+    }
+
+    /**
+     * Create a new RulesEngine with the given configuration and SpEL compiler mode.
+     * With IMMEDIATE or MIXED, rule conditions are compiled to bytecode once they have been evaluated;
+     * conditions that cannot be compiled continue to be interpreted.
+     *
+     * @param configuration The configuration for this rules engine
+     * @param compilerMode The SpEL compiler mode (OFF, IMMEDIATE or MIXED)
+     */
+    public RulesEngine(RulesEngineConfiguration configuration, SpelCompilerMode compilerMode) {
+        this(configuration, new ExpressionCache(compilerMode));
+    }
+
+    /**
+     * Create a new RulesEngine with the given configuration and expression cache.
+     * The cache's parser is used to parse rule conditions, and each distinct condition
+     * is parsed only once for as long as it remains in the cache.
+     *
+     * @param configuration The configuration for this rules engine
+     * @param expressionCache The cache of parsed rule conditions
+     */
+    public RulesEngine(RulesEngineConfiguration configuration, ExpressionCache expressionCache) {
         this.configuration = configuration;
-        this.parser = parser;
+        this.expressionCache = expressionCache;
+        this.parser = expressionCache.getParser();
         LOGGER.info("RulesEngine initialized with configuration: " + configuration.getClass().getSimpleName());
         LOGGER.fine("Using parser: " + parser.getClass().getSimpleName());
+        LOGGER.fine("Using expression cache with capacity: " + expressionCache.getCapacity());
+        LOGGER.fine("Using SpEL compiler mode: " + expressionCache.getCompilerMode());
     }
 
     /**
@@ -54,31 +107,390 @@ public class RulesEngine {
         return configuration;
     }
 
+    /**
+     * Get the cache of parsed rule conditions used by this rules engine.
+     *
+     * @return The expression cache
+     */
+    public ExpressionCache getExpressionCache() {
+        return expressionCache;
+    }
+
+    /**
+     * Set the pool used to evaluate fact maps in parallel in {@link #executeBatch(String, List)}.
+     * The common ForkJoinPool is used by default.
+     *
+     * @param batchPool The pool to use for batch evaluation
+     * @return This rules engine for method chaining
+     */
+    public RulesEngine setBatchPool(ForkJoinPool batchPool) {
+        this.batchPool = Objects.requireNonNull(batchPool, "batchPool");
+        LOGGER.fine("Batch pool set with parallelism: " + batchPool.getParallelism());
+        return this;
+    }
+
+    /**
+     * Get the pool used to evaluate fact maps in parallel.
+     *
+     * @return The batch pool
+     */
+    public ForkJoinPool getBatchPool() {
+        return batchPool;
+    }
+
+    /**
+     * Set the factory that provides the evaluation contexts rules are evaluated in.
+     * By default each engine has its own factory with the standard SpEL delegates.
+     *
+     * @param contextFactory The evaluation context factory to use
+     * @return This rules engine for method chaining
+     */
+    public RulesEngine setContextFactory(EvaluationContextFactory contextFactory) {
+        this.contextFactory = Objects.requireNonNull(contextFactory, "contextFactory");
+        return this;
+    }
+
+    /**
+     * Get the factory that provides the evaluation contexts rules are evaluated in.
+     *
+     * @return The evaluation context factory
+     */
+    public EvaluationContextFactory getContextFactory() {
+        return contextFactory;
+    }
+
+    /**
+     * Set the factory of the results returned by this engine. {@link RuleResultFactory#LEAN} makes results
+     * cheaper to create, which matters at high evaluation rates; other engines are not affected.
+     * By default each engine uses {@link RuleResultFactory#STANDARD}.
+     *
+     * @param resultFactory The result factory to use
+     * @return This rules engine for method chaining
+     */
+    public RulesEngine setResultFactory(RuleResultFactory resultFactory) {
+        this.resultFactory = Objects.requireNonNull(resultFactory, "resultFactory");
+        return this;
+    }
+
+    /**
+     * Get the factory of the results returned by this engine.
+     *
+     * @return The result factory
+     */
+    public RuleResultFactory getResultFactory() {
+        return resultFactory;
+    }
+
+    /**
+     * Enable or disable evaluation of read-only data-binding rules with a SimpleEvaluationContext.
+     * When enabled, rules whose conditions only read variables, properties and instance methods are
+     * evaluated with a read-only data-binding context instead of a StandardEvaluationContext; all other
+     * rules, and rules in rule groups, are still evaluated with a StandardEvaluationContext.
+     * This is disabled by default.
+     *
+     * @param dataBindingContextEnabled true to evaluate eligible rules with a read-only data-binding context
+     * @return This rules engine for method chaining
+     * @see Rule#isReadOnlyDataBinding()
+     */
+    public RulesEngine setDataBindingContextEnabled(boolean dataBindingContextEnabled) {
+        this.dataBindingContextEnabled = dataBindingContextEnabled;
+        LOGGER.fine("Read-only data-binding context " + (dataBindingContextEnabled ? "enabled" : "disabled"));
+        return this;
+    }
+
+    /**
+     * Check whether read-only data-binding rules are evaluated with a SimpleEvaluationContext.
+     *
+     * @return true if the read-only data-binding context is enabled, false otherwise
+     */
+    public boolean isDataBindingContextEnabled() {
+        return dataBindingContextEnabled;
+    }
+
+    /**
+     * Enable or disable evaluation of category rules through a compiled {@link RuleNetwork}.
+     * When enabled, {@link #executeRulesForCategory(String, Map)} and {@link #executeBatch(String, List)}
+     * evaluate each distinct sub-condition of a category's rules and rule groups at most once per fact map.
+     * The results are the same as without the network. The network always uses a StandardEvaluationContext.
+     * This is disabled by default.
+     *
+     * @param ruleNetworkEnabled true to evaluate category rules through a rule network
+     * @return This rules engine for method chaining
+     */
+    public RulesEngine setRuleNetworkEnabled(boolean ruleNetworkEnabled) {
+        this.ruleNetworkEnabled = ruleNetworkEnabled;
+        if (!ruleNetworkEnabled) {
+            ruleNetworks.clear();
+        }
+        LOGGER.fine("Rule network " + (ruleNetworkEnabled ? "enabled" : "disabled"));
+        return this;
+    }
+
+    /**
+     * Check whether category rules are evaluated through a compiled rule network.
+     *
+     * @return true if the rule network is enabled, false otherwise
+     */
+    public boolean isRuleNetworkEnabled() {
+        return ruleNetworkEnabled;
+    }
+
+    /**
+     * Enable or disable skipping category rules that cannot match by means of a {@link RuleIndex}.
+     * When enabled, {@link #executeRulesForCategory(String, Map)}, {@link #executeAllRulesForCategory(String, Map)}
+     * and {@link #executeBatch(String, List)} only evaluate the rules whose indexed equality or range predicate
+     * may hold for the facts. The results are the same as without the index. This is disabled by default.
+     *
+     * @param ruleIndexEnabled true to skip rules using the category's rule index
+     * @return This rules engine for method chaining
+     */
+    public RulesEngine setRuleIndexEnabled(boolean ruleIndexEnabled) {
+        this.ruleIndexEnabled = ruleIndexEnabled;
+        LOGGER.fine("Rule index " + (ruleIndexEnabled ? "enabled" : "disabled"));
+        return this;
+    }
+
+    /**
+     * Check whether category rules that cannot match are skipped by means of a rule index.
+     *
+     * @return true if the rule index is enabled, false otherwise
+     */
+    public boolean isRuleIndexEnabled() {
+        return ruleIndexEnabled;
+    }
+
+    /**
+     * Enable or disable recording metrics for every rule, rule group and decision table evaluated by this engine:
+     * evaluation, match and error counts and latency histograms, kept in the registry returned by
+     * {@link #getMetrics()}. Rules inside rule groups are recorded as well. This is disabled by default.
+     *
+     * @param metricsEnabled true to record rule metrics
+     * @return This rules engine for method chaining
+     */
+    public RulesEngine setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+        LOGGER.fine("Rule metrics " + (metricsEnabled ? "enabled" : "disabled"));
+        return this;
+    }
+
+    /**
+     * Check whether rule metrics are recorded.
+     *
+     * @return true if rule metrics are enabled, false otherwise
+     */
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * Get the registry of rule metrics recorded by this engine.
+     *
+     * @return The rule metrics
+     */
+    public RuleMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Get the rule network for the current rules and rule groups of a category, building it if necessary.
+     * The network is kept until the category's rules change.
+     *
+     * @param category The category of rules
+     * @return The rule network
+     */
+    public RuleNetwork getRuleNetwork(String category) {
+        return getRuleNetwork(category, configuration.getRulesForCategory(category));
+    }
+
+    private RuleNetwork getRuleNetwork(String category, List<RuleBase> rules) {
+        RuleNetwork network = ruleNetworks.get(category);
+        if (network == null || !network.isBuiltFrom(rules)) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Building rule network for category: " + category);
+            }
+            network = new RuleNetwork(rules, expressionCache);
+            ruleNetworks.put(category, network);
+        }
+        return network;
+    }
+
+    /**
+     * Get the SpEL compiler mode used for rule conditions.
+     *
+     * @return The compiler mode
+     */
+    public SpelCompilerMode getCompilerMode() {
+        return expressionCache.getCompilerMode();
+    }
+
+    /**
+     * Get the IDs of the rules found to be compiled to bytecode by the last call to {@link #compileRules()}.
+     * This does not compile anything, so rules compiled by Spring since then are not reported.
+     *
+     * @return The IDs of the compiled rules, in sorted order
+     */
+    public Set<String> getCompiledRuleIds() {
+        return compiledRuleIds;
+    }
+
+    /**
+     * Compile the conditions of the registered rules to bytecode, without waiting for the compiler mode's
+     * threshold. A condition can only be compiled after it has been evaluated at least once, so conditions
+     * that have not been evaluated yet, and conditions the SpEL compiler does not support, stay interpreted.
+     * Does nothing when the compiler mode is OFF.
+     *
+     * @return The IDs of the compiled rules, in sorted order
+     */
+    public Set<String> compileRules() {
+        Set<String> compiled = new TreeSet<>();
+        if (getCompilerMode() == SpelCompilerMode.OFF) {
+            return Collections.unmodifiableSet(compiled);
+        }
+
+        for (Rule rule : configuration.getRules()) {
+            try {
+                Expression exp = expressionCache.get(rule);
+                if (exp instanceof SpelExpression && ((SpelExpression) exp).compileExpression()) {
+                    compiled.add(rule.getId());
+                }
+            } catch (Exception e) {
+                LOGGER.fine("Rule '" + rule.getName() + "' cannot be compiled: " + e.getMessage());
+            }
+        }
+
+        LOGGER.fine(compiled.size() + " rules compiled: " + compiled);
+        compiledRuleIds = Collections.unmodifiableSet(compiled);
+        return compiledRuleIds;
+    }
+
     // Rule Execution Methods
 
     /**
-     * Create an evaluation context with the provided facts.
+     * Acquire an evaluation context with the provided facts.
+     * The context is borrowed from the context factory and must be handed back with
+     * {@link #releaseContext(StandardEvaluationContext)} once the evaluation is complete.
      *
      * @param facts The facts to add to the context
-     * @return A new StandardEvaluationContext with the facts added as variables
+     * @return A StandardEvaluationContext with the facts added as variables
      */
     private StandardEvaluationContext createContext(Map<String, Object> facts) {
-        LOGGER.fine("Creating evaluation context");
-        StandardEvaluationContext context = new StandardEvaluationContext();
-
-        // Add all facts to the evaluation context
-        if (facts != null) {
-            LOGGER.fine("Adding " + facts.size() + " facts to context");
-            for (Map.Entry<String, Object> fact : facts.entrySet()) {
-                context.setVariable(fact.getKey(), fact.getValue());
-                LOGGER.finest("Added fact: " + fact.getKey() + " = " + 
-                    (fact.getValue() != null ? fact.getValue().getClass().getSimpleName() : "null"));
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Acquiring evaluation context with " + (facts != null ? facts.size() : 0) + " facts");
+        }
+        return contextFactory.acquireContext(facts);
+    }
+
+    /**
+     * Hand an evaluation context back to the context factory, removing its facts.
+     *
+     * @param context The context obtained from {@link #createContext(Map)}
+     */
+    private void releaseContext(StandardEvaluationContext context) {
+        contextFactory.releaseContext(context);
+    }
+
+    /**
+     * Evaluate the condition of a rule against an evaluation context.
+     * If the read-only data-binding context is enabled and the rule is eligible, the condition is evaluated
+     * with that context first; should it fail there, it is evaluated again with the standard context.
+     *
+     * @param rule The rule whose condition is evaluated
+     * @param context The evaluation context obtained from {@link #createContext(Map)}
+     * @return The result of the condition
+     */
+    private Boolean evaluateCondition(Rule rule, StandardEvaluationContext context) {
+        if (!metricsEnabled) {
+            return conditionValue(rule, context);
+        }
+        long start = System.nanoTime();
+        try {
+            Boolean result = conditionValue(rule, context);
+            metrics.record(rule, result != null && result ? RuleMetrics.Outcome.MATCH : RuleMetrics.Outcome.NO_MATCH,
+                    System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            metrics.record(rule, RuleMetrics.Outcome.ERROR, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private Boolean conditionValue(Rule rule, StandardEvaluationContext context) {
+        Expression exp = expressionCache.get(rule);
+        if (dataBindingContextEnabled && rule.isReadOnlyDataBinding() && !dataBindingRejections.contains(rule)) {
+            try {
+                return exp.getValue(contextFactory.getDataBindingContext(context), Boolean.class);
+            } catch (SpelEvaluationException e) {
+                // The data-binding context rejects some operations at runtime, such as map property navigation
+                // and methods on Class objects; this engine evaluates such rules with the standard context from now on
+                if (!isDataBindingRejection(e)) {
+                    throw e;
+                }
+                dataBindingRejections.add(rule);
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.fine("Rule '" + rule.getName() + "' is rejected by the read-only data-binding context, "
+                            + "using the standard context: " + e.getMessage());
+                }
             }
-        } else {
-            LOGGER.fine("No facts provided to context");
         }
+        return exp.getValue(context, Boolean.class);
+    }
+
+    /**
+     * Check whether the read-only data-binding context of this engine has rejected a rule's condition,
+     * so that the rule is evaluated with the standard context.
+     *
+     * @param rule The rule
+     * @return true if the rule was rejected, false otherwise
+     */
+    boolean isRejectedByDataBinding(Rule rule) {
+        return dataBindingRejections.contains(rule);
+    }
+
+    private static boolean isDataBindingRejection(SpelEvaluationException e) {
+        return e.getMessageCode() == SpelMessage.PROPERTY_OR_FIELD_NOT_READABLE
+                || e.getMessageCode() == SpelMessage.METHOD_NOT_FOUND;
+    }
+
+    /**
+     * Evaluate a rule group against an evaluation context, recording metrics for the group and its rules
+     * if they are enabled.
+     *
+     * @param group The rule group
+     * @param context The evaluation context obtained from {@link #createContext(Map)}
+     * @return A match result if the rule group matched, or null otherwise
+     */
+    private RuleResult evaluateGroup(RuleGroup group, StandardEvaluationContext context) {
+        if (!metricsEnabled) {
+            return group.evaluateMatch(context, expressionCache, null, resultFactory);
+        }
+        long start = System.nanoTime();
+        RuleResult result = group.evaluateMatch(context, expressionCache, metrics, resultFactory);
+        metrics.record(group, result != null ? RuleMetrics.Outcome.MATCH : RuleMetrics.Outcome.NO_MATCH,
+                System.nanoTime() - start);
+        return result;
+    }
 
-        return context;
+    /**
+     * Evaluate a decision table against an evaluation context, recording metrics if they are enabled.
+     *
+     * @param table The decision table
+     * @param context The evaluation context obtained from {@link #createContext(Map)}
+     * @return The outputs of the rows selected by the table's hit policy
+     */
+    private List<String> evaluateTable(DecisionTable table, StandardEvaluationContext context) {
+        if (!metricsEnabled) {
+            return table.evaluate(context);
+        }
+        long start = System.nanoTime();
+        try {
+            List<String> outputs = table.evaluate(context);
+            metrics.record(table, outputs.isEmpty() ? RuleMetrics.Outcome.NO_MATCH : RuleMetrics.Outcome.MATCH,
+                    System.nanoTime() - start);
+            return outputs;
+        } catch (RuntimeException e) {
+            metrics.record(table, RuleMetrics.Outcome.ERROR, System.nanoTime() - start);
+            throw e;
+        }
     }
 
     /**
@@ -90,34 +502,45 @@ public class RulesEngine {
      */
     public RuleResult executeRulesList(List<Rule> rules, Map<String, Object> facts) {
         if (rules == null || rules.isEmpty()) {
-            LOGGER.info("No rules provided for execution");
-            return RuleResult.noRules();
+            EVENTS.info("No rules provided for execution", null);
+            return resultFactory.noRules();
         }
 
-        LOGGER.info("Executing " + rules.size() + " rules");
-        LOGGER.fine("Facts provided: " + (facts != null ? facts.keySet() : "none"));
+        if (EVENTS.isVerbose()) {
+            LOGGER.info("Executing " + rules.size() + " rules");
+        }
+        boolean fine = LOGGER.isLoggable(Level.FINE);
+        if (fine) {
+            LOGGER.fine("Facts provided: " + (facts != null ? facts.keySet() : "none"));
+        }
 
         StandardEvaluationContext context = createContext(facts);
+        try {
+            // Evaluate rules in priority order
+            for (Rule rule : rules) {
+                if (fine) {
+                    LOGGER.fine("Evaluating rule: " + rule.getName());
+                }
+                try {
+                    Boolean result = evaluateCondition(rule, context);
+                    if (fine) {
+                        LOGGER.fine("Rule '" + rule.getName() + "' evaluated to: " + result);
+                    }
 
-        // Evaluate rules in priority order
-        for (Rule rule : rules) {
-            LOGGER.fine("Evaluating rule: " + rule.getName());
-            try {
-                Expression exp = parser.parseExpression(rule.getCondition());
-                Boolean result = exp.getValue(context, Boolean.class);
-                LOGGER.fine("Rule '" + rule.getName() + "' evaluated to: " + result);
-
-                if (result != null && result) {
-                    LOGGER.info("Rule matched: " + rule.getName());
-                    return RuleResult.match(rule.getName(), rule.getMessage());
+                    if (result != null && result) {
+                        EVENTS.info("Rule matched", rule.getName());
+                        return resultFactory.match(rule.getName(), rule.getMessage());
+                    }
+                } catch (Exception e) {
+                    EVENTS.warning("Error evaluating rule", rule.getName(), e.getMessage(), e);
                 }
-            } catch (Exception e) {
-                LOGGER.log(Level.WARNING, "Error evaluating rule '" + rule.getName() + "': " + e.getMessage(), e);
             }
-        }
 
-        LOGGER.info("No rules matched");
-        return RuleResult.noMatch();
+            EVENTS.info("No rules matched", null);
+            return resultFactory.noMatch();
+        } finally {
+            releaseContext(context);
+        }
     }
 
     /**
@@ -129,51 +552,68 @@ public class RulesEngine {
      */
     public RuleResult executeRuleGroupsList(List<RuleGroup> ruleGroups, Map<String, Object> facts) {
         if (ruleGroups == null || ruleGroups.isEmpty()) {
-            LOGGER.info("No rule groups provided for execution");
-            return RuleResult.noRules();
+            EVENTS.info("No rule groups provided for execution", null);
+            return resultFactory.noRules();
         }
 
-        LOGGER.info("Executing " + ruleGroups.size() + " rule groups");
-        LOGGER.fine("Facts provided: " + (facts != null ? facts.keySet() : "none"));
+        if (EVENTS.isVerbose()) {
+            LOGGER.info("Executing " + ruleGroups.size() + " rule groups");
+        }
+        boolean fine = LOGGER.isLoggable(Level.FINE);
+        if (fine) {
+            LOGGER.fine("Facts provided: " + (facts != null ? facts.keySet() : "none"));
+        }
 
         StandardEvaluationContext context = createContext(facts);
+        try {
+            // Evaluate rule groups in priority order
+            for (RuleGroup group : ruleGroups) {
+                if (fine) {
+                    LOGGER.fine("Evaluating rule group: " + group.getName());
+                }
+                try {
+                    RuleResult result = evaluateGroup(group, context);
+                    if (fine) {
+                        LOGGER.fine("Rule group '" + group.getName() + "' evaluated to: " + (result != null));
+                    }
 
-        // Evaluate rule groups in priority order
-        for (RuleGroup group : ruleGroups) {
-            LOGGER.fine("Evaluating rule group: " + group.getName());
-            try {
-                boolean result = group.evaluate(context);
-                LOGGER.fine("Rule group '" + group.getName() + "' evaluated to: " + result);
-
-                if (result) {
-                    LOGGER.info("Rule group matched: " + group.getName());
-                    return RuleResult.match(group.getName(), group.getMessage());
+                    if (result != null) {
+                        EVENTS.info("Rule group matched", group.getName());
+                        return result;
+                    }
+                } catch (Exception e) {
+                    EVENTS.warning("Error evaluating rule group", group.getName(), e.getMessage(), e);
                 }
-            } catch (Exception e) {
-                LOGGER.log(Level.WARNING, "Error evaluating rule group '" + group.getName() + "': " + e.getMessage(), e);
             }
-        }
 
-        LOGGER.info("No rule groups matched");
-        return RuleResult.noMatch();
+            EVENTS.info("No rule groups matched", null);
+            return resultFactory.noMatch();
+        } finally {
+            releaseContext(context);
+        }
     }
 
     /**
      * Execute a list of rules against the provided facts.
      * This method determines the type of objects in the list and delegates to the appropriate method.
      *
-     * @param rules The list of rules to execute (can be a mix of Rule and RuleGroup objects)
+     * @param rules The list of rules to execute (can be a mix of Rule, RuleGroup and DecisionTable objects)
      * @param facts The facts to evaluate the rules against
      * @return The result of the first rule that matches, or a default result if no rules match
      */
     public RuleResult executeRules(List<RuleBase> rules, Map<String, Object> facts) {
         if (rules == null || rules.isEmpty()) {
-            LOGGER.info("No rules provided for execution");
-            return RuleResult.noRules();
+            EVENTS.info("No rules provided for execution", null);
+            return resultFactory.noRules();
         }
 
-        LOGGER.info("Executing " + rules.size() + " rules/rule groups");
-        LOGGER.fine("Facts provided: " + (facts != null ? facts.keySet() : "none"));
+        if (EVENTS.isVerbose()) {
+            LOGGER.info("Executing " + rules.size() + " rules/rule groups");
+        }
+        boolean fine = LOGGER.isLoggable(Level.FINE);
+        if (fine) {
+            LOGGER.fine("Facts provided: " + (facts != null ? facts.keySet() : "none"));
+        }
 
         // Check if all rules are of the same type and delegate to the appropriate method
         boolean allRules = true;
@@ -190,67 +630,471 @@ public class RulesEngine {
 
         if (allRules) {
             // All objects are Rule instances, so we can safely cast and delegate
-            LOGGER.fine("All objects are Rule instances, delegating to executeRulesList");
+            if (fine) {
+                LOGGER.fine("All objects are Rule instances, delegating to executeRulesList");
+            }
             @SuppressWarnings("unchecked")
             List<Rule> rulesList = (List<Rule>) (List<?>) rules;
             return executeRulesList(rulesList, facts);
         } else if (allRuleGroups) {
             // All objects are RuleGroup instances, so we can safely cast and delegate
-            LOGGER.fine("All objects are RuleGroup instances, delegating to executeRuleGroupsList");
+            if (fine) {
+                LOGGER.fine("All objects are RuleGroup instances, delegating to executeRuleGroupsList");
+            }
             @SuppressWarnings("unchecked")
             List<RuleGroup> ruleGroupsList = (List<RuleGroup>) (List<?>) rules;
             return executeRuleGroupsList(ruleGroupsList, facts);
         }
 
-        LOGGER.fine("Mixed list of rules and rule groups, processing manually");
+        if (fine) {
+            LOGGER.fine("Mixed list of rules and rule groups, processing manually");
+        }
         // Mixed list or unknown types, process manually
         StandardEvaluationContext context = createContext(facts);
+        try {
+            // Evaluate rules in priority order
+            for (RuleBase ruleObj : rules) {
+                if (fine) {
+                    LOGGER.fine("Evaluating rule/rule group: " + ruleObj.getName());
+                }
+                try {
+                    if (ruleObj instanceof Rule) {
+                        Rule rule = (Rule) ruleObj;
+                        Boolean result = evaluateCondition(rule, context);
+                        if (fine) {
+                            LOGGER.fine("Rule '" + rule.getName() + "' evaluated to: " + result);
+                        }
 
-        // Evaluate rules in priority order
-        for (RuleBase ruleObj : rules) {
-            LOGGER.fine("Evaluating rule/rule group: " + ruleObj.getName());
-            try {
-                if (ruleObj instanceof Rule) {
-                    Rule rule = (Rule) ruleObj;
-                    Expression exp = parser.parseExpression(rule.getCondition());
-                    Boolean result = exp.getValue(context, Boolean.class);
-                    LOGGER.fine("Rule '" + rule.getName() + "' evaluated to: " + result);
+                        if (result != null && result) {
+                            EVENTS.info("Rule matched", rule.getName());
+                            return resultFactory.match(rule.getName(), rule.getMessage());
+                        }
+                    } else if (ruleObj instanceof RuleGroup) {
+                        RuleGroup group = (RuleGroup) ruleObj;
+                        RuleResult result = evaluateGroup(group, context);
+                        if (fine) {
+                            LOGGER.fine("Rule group '" + group.getName() + "' evaluated to: " + (result != null));
+                        }
 
-                    if (result != null && result) {
-                        LOGGER.info("Rule matched: " + rule.getName());
-                        return RuleResult.match(rule.getName(), rule.getMessage());
+                        if (result != null) {
+                            EVENTS.info("Rule group matched", group.getName());
+                            return result;
+                        }
+                    } else if (ruleObj instanceof DecisionTable) {
+                        DecisionTable table = (DecisionTable) ruleObj;
+                        List<String> outputs = evaluateTable(table, context);
+                        if (fine) {
+                            LOGGER.fine("Decision table '" + table.getName() + "' matched " + outputs.size() + " rows");
+                        }
+
+                        if (!outputs.isEmpty()) {
+                            EVENTS.info("Decision table matched", table.getName());
+                            return resultFactory.match(table.getName(), outputs.get(0));
+                        }
                     }
-                } else if (ruleObj instanceof RuleGroup) {
-                    RuleGroup group = (RuleGroup) ruleObj;
-                    boolean result = group.evaluate(context);
-                    LOGGER.fine("Rule group '" + group.getName() + "' evaluated to: " + result);
-
-                    if (result) {
-                        LOGGER.info("Rule group matched: " + group.getName());
-                        return RuleResult.match(group.getName(), group.getMessage());
+                } catch (Exception e) {
+                    EVENTS.warning("Error evaluating rule/rule group", ruleObj.getName(), e.getMessage(), e);
+                }
+            }
+
+            EVENTS.info("No rules or rule groups matched", null);
+            return resultFactory.noMatch();
+        } finally {
+            releaseContext(context);
+        }
+    }
+
+    /**
+     * Execute a list of rules against facts bound into a typed frame.
+     * Rule conditions compiled against the frame's schema (see {@link FactSchema#isCompiled(Rule)}) read the
+     * primitive slots directly, without boxing. Other rules, rule groups and decision tables are evaluated by SpEL
+     * with the frame's facts as variables; the frame is only converted to a map if one of them is reached.
+     *
+     * @param rules The list of rules to execute (can be a mix of Rule, RuleGroup and DecisionTable objects)
+     * @param frame The facts to evaluate the rules against
+     * @return The result of the first rule that matches, or a default result if no rules match
+     */
+    public RuleResult executeRules(List<RuleBase> rules, FactFrame frame) {
+        if (rules == null || rules.isEmpty()) {
+            EVENTS.info("No rules provided for execution", null);
+            return resultFactory.noRules();
+        }
+
+        FactSchema schema = frame.getSchema();
+        StandardEvaluationContext context = null;
+        try {
+            for (RuleBase ruleObj : rules) {
+                if (ruleObj instanceof Rule) {
+                    Rule rule = (Rule) ruleObj;
+                    FrameCondition condition = schema.compile(rule);
+                    if (condition != FrameCondition.UNSUPPORTED) {
+                        long start = metricsEnabled ? System.nanoTime() : 0;
+                        byte result = condition.evaluate(frame);
+                        if (metricsEnabled) {
+                            metrics.record(rule, result == FrameCondition.TRUE ? RuleMetrics.Outcome.MATCH
+                                    : result == FrameCondition.ERROR ? RuleMetrics.Outcome.ERROR
+                                    : RuleMetrics.Outcome.NO_MATCH, System.nanoTime() - start);
+                        }
+                        if (result == FrameCondition.TRUE) {
+                            if (LOGGER.isLoggable(Level.FINE)) {
+                                LOGGER.fine("Rule matched: " + rule.getName());
+                            }
+                            return resultFactory.match(rule.getName(), rule.getMessage());
+                        }
+                        if (result == FrameCondition.ERROR) {
+                            EVENTS.warning("Error evaluating rule", rule.getName(), "Cannot convert null to boolean",
+                                    null);
+                        }
+                        continue;
                     }
                 }
-            } catch (Exception e) {
-                String ruleName = ruleObj.getName();
-                LOGGER.log(Level.WARNING, "Error evaluating rule/rule group '" + ruleName + "': " + e.getMessage(), e);
+
+                if (context == null) {
+                    context = createContext(frame.toMap());
+                }
+                RuleResult result = evaluateRule(ruleObj, context);
+                if (result != null) {
+                    return result;
+                }
+            }
+            return resultFactory.noMatch();
+        } finally {
+            if (context != null) {
+                releaseContext(context);
             }
         }
+    }
 
-        LOGGER.info("No rules or rule groups matched");
-        return RuleResult.noMatch();
+    /**
+     * Execute rules for a specific category against facts bound into a typed frame.
+     * Rules are evaluated in priority order as by {@link #executeRules(List, FactFrame)};
+     * the rule index and rule network are not used.
+     *
+     * @param category The category of rules to execute
+     * @param frame The facts to evaluate the rules against
+     * @return The result of the first rule that matches, or a default result if no rules match
+     */
+    public RuleResult executeRulesForCategory(String category, FactFrame frame) {
+        return executeRules(configuration.getSnapshot().getRulesForCategory(category), frame);
     }
 
     /**
      * Execute rules for a specific category against the provided facts.
+     * The rules are read from the configuration's current snapshot, so rules registered
+     * while this method runs do not affect the evaluation in progress.
      *
      * @param category The category of rules to execute
      * @param facts The facts to evaluate the rules against
      * @return The result of the first rule that matches, or a default result if no rules match
      */
     public RuleResult executeRulesForCategory(String category, Map<String, Object> facts) {
-        LOGGER.info("Executing rules for category: " + category);
-        List<RuleBase> rules = configuration.getRulesForCategory(category);
-        LOGGER.fine("Found " + rules.size() + " rules/rule groups in category: " + category);
-        return executeRules(rules, facts);
+        EVENTS.info("Executing rules for category", category);
+        ConfigurationSnapshot snapshot = configuration.getSnapshot();
+        List<RuleBase> rules = snapshot.getRulesForCategory(category);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Found " + rules.size() + " rules/rule groups in category: " + category);
+        }
+        return executeCategoryRules(category, snapshot, rules, facts);
+    }
+
+    /**
+     * Execute the rules of a category, skipping rules excluded by the category's rule index
+     * and using the category's rule network if they are enabled.
+     *
+     * @param category The category of the rules
+     * @param snapshot The configuration snapshot the rules were read from
+     * @param rules The rules and rule groups of the category
+     * @param facts The facts to evaluate the rules against
+     * @return The result of the first rule that matches, or a default result if no rules match
+     */
+    private RuleResult executeCategoryRules(String category, ConfigurationSnapshot snapshot, List<RuleBase> rules,
+                                            Map<String, Object> facts) {
+        BitSet candidates = null;
+        if (ruleIndexEnabled && !rules.isEmpty()) {
+            candidates = snapshot.getRuleIndex(category).candidates(facts);
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine(candidates.cardinality() + " of " + rules.size() + " rules/rule groups are candidates");
+            }
+            if (candidates.isEmpty()) {
+                EVENTS.info("No rules or rule groups matched", null);
+                return resultFactory.noMatch();
+            }
+        }
+
+        if (!ruleNetworkEnabled || rules.isEmpty()) {
+            return executeRules(candidates != null ? selectCandidates(rules, candidates) : rules, facts);
+        }
+
+        if (EVENTS.isVerbose()) {
+            LOGGER.info("Executing " + rules.size() + " rules/rule groups through the rule network");
+        }
+        RuleNetwork network = getRuleNetwork(category, rules);
+        StandardEvaluationContext context = createContext(facts);
+        try {
+            RuleResult result = network.execute(context, candidates, metricsEnabled ? metrics : null,
+                    resultFactory);
+            if (result.isTriggered()) {
+                EVENTS.info("Matched", result.getRuleName());
+            } else {
+                EVENTS.info("No rules or rule groups matched", null);
+            }
+            return result;
+        } finally {
+            releaseContext(context);
+        }
+    }
+
+    /**
+     * Select the rules and rule groups at the candidate positions, keeping their order.
+     *
+     * @param rules The rules and rule groups
+     * @param candidates The positions of the candidates
+     * @return The candidate rules and rule groups
+     */
+    private static List<RuleBase> selectCandidates(List<RuleBase> rules, BitSet candidates) {
+        if (candidates.cardinality() == rules.size()) {
+            return rules;
+        }
+        List<RuleBase> selected = new ArrayList<>(candidates.cardinality());
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            selected.add(rules.get(i));
+        }
+        return selected;
+    }
+
+    /**
+     * Execute all rules for a specific category against the provided facts and return every match.
+     *
+     * @param category The category of rules to execute
+     * @param facts The facts to evaluate the rules against
+     * @return The results of all rules and rule groups that matched, in priority order
+     */
+    public List<RuleResult> executeAllRulesForCategory(String category, Map<String, Object> facts) {
+        return executeAllRulesForCategory(category, facts, 0);
+    }
+
+    /**
+     * Execute all rules for a specific category against the provided facts and return every match,
+     * stopping once the given number of matches has been found.
+     *
+     * @param category The category of rules to execute
+     * @param facts The facts to evaluate the rules against
+     * @param maxMatches The maximum number of matches to return, or 0 for no limit
+     * @return The results of the rules and rule groups that matched, in priority order
+     */
+    public List<RuleResult> executeAllRulesForCategory(String category, Map<String, Object> facts, int maxMatches) {
+        EVENTS.info("Executing all rules for category", category);
+        ConfigurationSnapshot snapshot = configuration.getSnapshot();
+        List<RuleBase> rules = snapshot.getRulesForCategory(category);
+        if (ruleIndexEnabled && !rules.isEmpty()) {
+            rules = selectCandidates(rules, snapshot.getRuleIndex(category).candidates(facts));
+        }
+        return executeAllRules(rules, facts, maxMatches);
+    }
+
+    /**
+     * Execute a list of rules against the provided facts and return every match.
+     * Unlike {@link #executeRules(List, Map)}, evaluation does not stop at the first match;
+     * all rules are evaluated in a single pass over one shared evaluation context.
+     * A decision table contributes one result for each row selected by its hit policy.
+     *
+     * @param rules The list of rules to execute (can be a mix of Rule, RuleGroup and DecisionTable objects)
+     * @param facts The facts to evaluate the rules against
+     * @return The results of all rules and rule groups that matched, in list order
+     */
+    public List<RuleResult> executeAllRules(List<RuleBase> rules, Map<String, Object> facts) {
+        return executeAllRules(rules, facts, 0);
+    }
+
+    /**
+     * Execute a list of rules against the provided facts and return every match,
+     * stopping once the given number of matches has been found.
+     *
+     * @param rules The list of rules to execute (can be a mix of Rule, RuleGroup and DecisionTable objects)
+     * @param facts The facts to evaluate the rules against
+     * @param maxMatches The maximum number of matches to return, or 0 for no limit
+     * @return The results of the rules and rule groups that matched, in list order
+     */
+    public List<RuleResult> executeAllRules(List<RuleBase> rules, Map<String, Object> facts, int maxMatches) {
+        List<RuleResult> matches = new ArrayList<>();
+        if (rules == null || rules.isEmpty()) {
+            EVENTS.info("No rules provided for execution", null);
+            return matches;
+        }
+
+        if (EVENTS.isVerbose()) {
+            LOGGER.info("Executing all of " + rules.size() + " rules/rule groups"
+                    + (maxMatches > 0 ? ", stopping after " + maxMatches + " matches" : ""));
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Facts provided: " + (facts != null ? facts.keySet() : "none"));
+        }
+
+        StandardEvaluationContext context = createContext(facts);
+        try {
+            for (RuleBase ruleObj : rules) {
+                if (ruleObj instanceof DecisionTable) {
+                    matches.addAll(evaluateDecisionTable((DecisionTable) ruleObj, context));
+                } else {
+                    RuleResult result = evaluateRule(ruleObj, context);
+                    if (result != null) {
+                        matches.add(result);
+                    }
+                }
+                if (maxMatches > 0 && matches.size() >= maxMatches) {
+                    matches.subList(maxMatches, matches.size()).clear();
+                    if (LOGGER.isLoggable(Level.FINE)) {
+                        LOGGER.fine("Reached the limit of " + maxMatches + " matches, stopping evaluation");
+                    }
+                    break;
+                }
+            }
+
+            if (EVENTS.isVerbose()) {
+                LOGGER.info(matches.size() + " rules/rule groups matched");
+            }
+            return matches;
+        } finally {
+            releaseContext(context);
+        }
+    }
+
+    /**
+     * Evaluate a single rule or rule group against an evaluation context.
+     * Errors are logged and treated as no match.
+     *
+     * @param ruleObj The rule or rule group to evaluate
+     * @param context The evaluation context
+     * @return A match result if the rule or rule group matched, or null otherwise
+     */
+    private RuleResult evaluateRule(RuleBase ruleObj, StandardEvaluationContext context) {
+        boolean fine = LOGGER.isLoggable(Level.FINE);
+        if (fine) {
+            LOGGER.fine("Evaluating rule/rule group: " + ruleObj.getName());
+        }
+        try {
+            if (ruleObj instanceof Rule) {
+                Rule rule = (Rule) ruleObj;
+                Boolean result = evaluateCondition(rule, context);
+                if (fine) {
+                    LOGGER.fine("Rule '" + rule.getName() + "' evaluated to: " + result);
+                }
+
+                if (result != null && result) {
+                    if (fine) {
+                        LOGGER.fine("Rule matched: " + rule.getName());
+                    }
+                    return resultFactory.match(rule.getName(), rule.getMessage());
+                }
+            } else if (ruleObj instanceof RuleGroup) {
+                RuleGroup group = (RuleGroup) ruleObj;
+                RuleResult result = evaluateGroup(group, context);
+                if (fine) {
+                    LOGGER.fine("Rule group '" + group.getName() + "' evaluated to: " + (result != null));
+                }
+
+                if (result != null) {
+                    if (fine) {
+                        LOGGER.fine("Rule group matched: " + group.getName());
+                    }
+                    return result;
+                }
+            } else if (ruleObj instanceof DecisionTable) {
+                List<RuleResult> results = evaluateDecisionTable((DecisionTable) ruleObj, context);
+                return results.isEmpty() ? null : results.get(0);
+            }
+        } catch (Exception e) {
+            EVENTS.warning("Error evaluating rule/rule group", ruleObj.getName(), e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Evaluate a decision table against an evaluation context, producing a match result for each row
+     * selected by its hit policy. Errors are logged and treated as no match.
+     *
+     * @param table The decision table to evaluate
+     * @param context The evaluation context
+     * @return The match results of the selected rows, in table order
+     */
+    private List<RuleResult> evaluateDecisionTable(DecisionTable table, StandardEvaluationContext context) {
+        List<RuleResult> results = new ArrayList<>();
+        try {
+            for (String output : evaluateTable(table, context)) {
+                results.add(resultFactory.match(table.getName(), output));
+            }
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Decision table '" + table.getName() + "' matched " + results.size() + " rows");
+            }
+        } catch (Exception e) {
+            EVENTS.warning("Error evaluating decision table", table.getName(), e.getMessage(), e);
+        }
+        return results;
+    }
+
+    /**
+     * Execute the rules for a specific category against each of the provided fact maps.
+     * The fact maps are evaluated in parallel on the batch pool, each with its own evaluation context,
+     * and the results are returned in the same order as the fact maps.
+     *
+     * @param category The category of rules to execute
+     * @param factsList The fact maps to evaluate the rules against
+     * @return The result for each fact map, in input order
+     */
+    public List<RuleResult> executeBatch(String category, List<Map<String, Object>> factsList) {
+        if (factsList == null || factsList.isEmpty()) {
+            EVENTS.info("No facts provided for batch execution", null);
+            return new ArrayList<>();
+        }
+
+        if (EVENTS.isVerbose()) {
+            LOGGER.info("Executing batch of " + factsList.size() + " fact maps for category: " + category);
+        }
+        ConfigurationSnapshot snapshot = configuration.getSnapshot();
+        List<RuleBase> rules = snapshot.getRulesForCategory(category);
+        RuleResult[] results = new RuleResult[factsList.size()];
+        batchPool.invoke(new BatchTask(category, snapshot, rules, factsList, results, 0, factsList.size()));
+
+        EVENTS.info("Batch execution completed for category", category);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Fork/join task that evaluates a range of fact maps, splitting the range until it is small enough.
+     * Tasks only live for the duration of a batch and are never serialized.
+     */
+    @SuppressWarnings("serial")
+    private class BatchTask extends RecursiveAction {
+        private final String category;
+        private final ConfigurationSnapshot snapshot;
+        private final List<RuleBase> rules;
+        private final List<Map<String, Object>> factsList;
+        private final RuleResult[] results;
+        private final int from;
+        private final int to;
+
+        BatchTask(String category, ConfigurationSnapshot snapshot, List<RuleBase> rules,
+                  List<Map<String, Object>> factsList, RuleResult[] results, int from, int to) {
+            this.category = category;
+            this.snapshot = snapshot;
+            this.rules = rules;
+            this.factsList = factsList;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results[i] = executeCategoryRules(category, snapshot, rules, factsList.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BatchTask(category, snapshot, rules, factsList, results, from, middle),
+                    new BatchTask(category, snapshot, rules, factsList, results, middle, to));
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,30 +1,34 @@
 package com.rulesengine.core.engine;
 
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 
 /**
  * This class handles the configuration and setup of rules for the Rules Engine.
  * It provides methods for registering rules, creating rule groups, and managing rule relationships.
  * 
- * The configuration maintains three main collections:
+ * The registered rules are held in an immutable {@link ConfigurationSnapshot} with three main collections:
  * 1. Rules by category - for quick lookup of rules by their category
  * 2. Rules by ID - for quick lookup of individual rules
  * 3. Rule groups by ID - for quick lookup of rule groups
+ * 
+ * Each registration builds a new snapshot and publishes it atomically, so rules can be registered
+ * while other threads are evaluating against the current snapshot without any locking.
  */
 public class RulesEngineConfiguration {
     private static final Logger LOGGER = Logger.getLogger(RulesEngineConfiguration.class.getName());
     static final ExpressionParser parser = new SpelExpressionParser();
 
-    private final Map<Category, List<com.rulesengine.core.engine.RuleBase>> rulesByCategory = new HashMap<>();
-    private final Map<String, com.rulesengine.core.engine.Rule> rulesById = new HashMap<>();
-    private final Map<String, com.rulesengine.core.engine.RuleGroup> ruleGroupsById = new HashMap<>();
+    private final AtomicReference<ConfigurationSnapshot> snapshot = new AtomicReference<>(ConfigurationSnapshot.EMPTY);
 
     // Map to store categories by name for quick lookup
-    private final Map<String, Category> categoriesByName = new HashMap<>();
+    private final Map<String, Category> categoriesByName = new ConcurrentHashMap<>();
 
     /**
      * Create a new rule builder with a generated ID.
@@ -33,7 +37,7 @@ public class RulesEngineConfiguration {
      * @return A new rule builder
      */
     public com.rulesengine.core.engine.RuleBuilder rule() {
-        return new com.rulesengine.core.engine.RuleBuilder();
+        return new com.rulesengine.core.engine.RuleBuilder().withParser(parser);
     }
 
     /**
@@ -44,45 +48,58 @@ public class RulesEngineConfiguration {
      * @return A new rule builder
      */
     public com.rulesengine.core.engine.RuleBuilder rule(String id) {
-        return new com.rulesengine.core.engine.RuleBuilder(id);
+        return new com.rulesengine.core.engine.RuleBuilder(id).withParser(parser);
     }
 
     /**
      * Register a rule that has already been created.
+     * The rule condition is parsed (if it has not been already) so that an invalid
+     * condition is reported here rather than on every evaluation.
      * 
      * @param rule The rule to register
      * @return The registered rule for method chaining
+     * @throws IllegalArgumentException if the rule condition is not a valid SpEL expression
      */
     public com.rulesengine.core.engine.Rule registerRule(com.rulesengine.core.engine.Rule rule) {
-        rulesById.put(rule.getId(), rule);
-        for (Category category : rule.getCategories()) {
-            addRuleToCategory(rule, category);
-        }
+        validateCondition(rule);
+        snapshot.updateAndGet(current -> current.withRules(Collections.singletonList(rule)));
         return rule;
     }
 
-
     /**
-     * Add a rule to a category.
+     * Register several rules that have already been created, publishing them in a single snapshot.
+     * This is cheaper than registering the rules one at a time when loading a large rule set.
      * 
-     * @param rule The rule to add
-     * @param category The category to add the rule to
+     * @param rules The rules to register
+     * @return The registered rules
+     * @throws IllegalArgumentException if any rule condition is not a valid SpEL expression,
+     *         in which case none of the rules are registered
      */
-    private void addRuleToCategory(com.rulesengine.core.engine.RuleBase rule, Category category) {
-        rulesByCategory.computeIfAbsent(category, k -> new ArrayList<>()).add(rule);
-        // Sort rules by priority
-        sortRulesByPriority(category);
+    public List<com.rulesengine.core.engine.Rule> registerRules(Collection<com.rulesengine.core.engine.Rule> rules) {
+        List<com.rulesengine.core.engine.Rule> toRegister = new ArrayList<>(rules);
+        for (com.rulesengine.core.engine.Rule rule : toRegister) {
+            validateCondition(rule);
+        }
+        snapshot.updateAndGet(current -> current.withRules(toRegister));
+        return toRegister;
     }
 
     /**
-     * Add a rule to a category by name.
+     * Parse the rule condition, if it has not been already, so that an invalid condition is reported at registration.
+     * The condition is also classified as read-only data binding or not, so that this is not done on evaluation.
      * 
-     * @param rule The rule to add
-     * @param categoryName The name of the category to add the rule to
+     * @param rule The rule to validate
+     * @throws IllegalArgumentException if the rule condition is not a valid SpEL expression
      */
-    private void addRuleToCategory(com.rulesengine.core.engine.RuleBase rule, String categoryName) {
-        Category category = getCategoryByName(categoryName);
-        addRuleToCategory(rule, category);
+    private void validateCondition(com.rulesengine.core.engine.Rule rule) {
+        try {
+            rule.getExpression();
+            boolean readOnly = rule.isReadOnlyDataBinding();
+            LOGGER.fine("Rule '" + rule.getId() + "' is " + (readOnly ? "" : "not ") + "read-only data binding");
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Rule '" + rule.getId() + "' has an invalid condition '"
+                    + rule.getCondition() + "': " + e.getMessage(), e);
+        }
     }
 
     /**
@@ -105,13 +122,14 @@ public class RulesEngineConfiguration {
      * @return True if the rule was added successfully, false otherwise
      */
     public boolean addRuleToGroup(String groupId, String ruleId, int sequenceNumber) {
-        com.rulesengine.core.engine.RuleGroup group = ruleGroupsById.get(groupId);
+        ConfigurationSnapshot current = snapshot.get();
+        com.rulesengine.core.engine.RuleGroup group = current.getRuleGroupById(groupId);
         if (group == null) {
             LOGGER.warning("Rule group with ID '" + groupId + "' not found");
             return false;
         }
 
-        com.rulesengine.core.engine.Rule rule = rulesById.get(ruleId);
+        com.rulesengine.core.engine.Rule rule = current.getRuleById(ruleId);
         if (rule == null) {
             LOGGER.warning("Rule with ID '" + ruleId + "' not found");
             return false;
@@ -121,28 +139,6 @@ public class RulesEngineConfiguration {
         return true;
     }
 
-    /**
-     * Sort rules in a category by priority.
-     * 
-     * @param category The category to sort
-     */
-    private void sortRulesByPriority(Category category) {
-        List<com.rulesengine.core.engine.RuleBase> rules = rulesByCategory.get(category);
-        if (rules != null) {
-            rules.sort(Comparator.comparingInt(com.rulesengine.core.engine.RuleBase::getPriority));
-        }
-    }
-
-    /**
-     * Sort rules in a category by priority.
-     * 
-     * @param categoryName The name of the category to sort
-     */
-    private void sortRulesByPriority(String categoryName) {
-        Category category = getCategoryByName(categoryName);
-        sortRulesByPriority(category);
-    }
-
     /**
      * Create a new rule by combining multiple rules with an "AND" operator.
      * 
@@ -282,35 +278,89 @@ public class RulesEngineConfiguration {
      * @return The registered rule group for method chaining
      */
     public com.rulesengine.core.engine.RuleGroup registerRuleGroup(com.rulesengine.core.engine.RuleGroup group) {
-        ruleGroupsById.put(group.getId(), group);
-        for (Category category : group.getCategories()) {
-            rulesByCategory.computeIfAbsent(category, k -> new ArrayList<>()).add(group);
-            sortRulesByPriority(category);
-        }
+        snapshot.updateAndGet(current -> current.withRuleGroup(group));
         return group;
     }
 
+    /**
+     * Create a new decision table builder with a generated ID.
+     * This is the recommended way to create and register decision tables.
+     * 
+     * @return A new decision table builder
+     */
+    public DecisionTableBuilder decisionTable() {
+        return new DecisionTableBuilder().withParser(parser);
+    }
+
+    /**
+     * Create a new decision table builder with the specified ID.
+     * 
+     * @param id The unique identifier for the decision table
+     * @return A new decision table builder
+     */
+    public DecisionTableBuilder decisionTable(String id) {
+        return new DecisionTableBuilder(id).withParser(parser);
+    }
+
+    /**
+     * Register a decision table that has already been created.
+     * The table is evaluated with the rules and rule groups of its categories, in priority order.
+     * 
+     * @param table The decision table to register
+     * @return The registered decision table for method chaining
+     */
+    public DecisionTable registerDecisionTable(DecisionTable table) {
+        snapshot.updateAndGet(current -> current.withDecisionTable(table));
+        return table;
+    }
+
+    /**
+     * Get a decision table by its ID.
+     * 
+     * @param id The ID of the decision table
+     * @return The decision table, or null if not found
+     */
+    public DecisionTable getDecisionTableById(String id) {
+        return snapshot.get().getDecisionTableById(id);
+    }
 
+    /**
+     * Get the current snapshot of the registered rules and rule groups.
+     * The snapshot never changes; later registrations publish a new snapshot.
+     * 
+     * @return The current snapshot
+     */
+    public ConfigurationSnapshot getSnapshot() {
+        return snapshot.get();
+    }
 
     /**
      * Get the rules for a specific category.
      * 
      * @param category The category to get rules for
-     * @return The list of rules for the category
+     * @return The unmodifiable list of rules for the category from the current snapshot, sorted by priority
      */
     public List<com.rulesengine.core.engine.RuleBase> getRulesForCategory(Category category) {
-        return rulesByCategory.getOrDefault(category, new ArrayList<>());
+        return snapshot.get().getRulesForCategory(category.getName());
     }
 
     /**
      * Get the rules for a specific category by name.
      * 
      * @param categoryName The name of the category to get rules for
-     * @return The list of rules for the category
+     * @return The unmodifiable list of rules for the category from the current snapshot, sorted by priority
      */
     public List<com.rulesengine.core.engine.RuleBase> getRulesForCategory(String categoryName) {
-        Category category = getCategoryByName(categoryName);
-        return getRulesForCategory(category);
+        return snapshot.get().getRulesForCategory(categoryName);
+    }
+
+    /**
+     * Get all registered rules.
+     * 
+     * @return A list of all registered rules
+     */
+    public List<com.rulesengine.core.engine.Rule> getRules() {
+        return new ArrayList<>(snapshot.get().getRules());
     }
 
     /**
@@ -320,7 +370,7 @@ public class RulesEngineConfiguration {
      * @return The rule with the specified ID, or null if not found
      */
     public com.rulesengine.core.engine.Rule getRuleById(String id) {
-        com.rulesengine.core.engine.Rule rule = rulesById.get(id);
+        com.rulesengine.core.engine.Rule rule = snapshot.get().getRuleById(id);
         if (rule == null) {
             LOGGER.warning("Rule with ID '" + id + "' not found");
         }
@@ -334,7 +384,7 @@ public class RulesEngineConfiguration {
      * @return The rule group with the specified ID, or null if not found
      */
     public com.rulesengine.core.engine.RuleGroup getRuleGroupById(String id) {
-        com.rulesengine.core.engine.RuleGroup group = ruleGroupsById.get(id);
+        com.rulesengine.core.engine.RuleGroup group = snapshot.get().getRuleGroupById(id);
         if (group == null) {
             LOGGER.warning("Rule group with ID '" + id + "' not found");
         }
@@ -0,0 +1,103 @@
+package com.rulesengine.core.engine;
+
+import java.io.IOException;
+
+/**
+ * Enum representing the format of a template, which determines how evaluated values are escaped
+ * before they are inserted into the rendered output.
+ */
+public enum TemplateFormat {
+    /** Plain text, values are inserted as they are */
+    TEXT {
+        @Override
+        String replacement(char c) {
+            return null;
+        }
+
+        @Override
+        void escape(CharSequence value, Appendable out) throws IOException {
+            out.append(value);
+        }
+    },
+
+    /** XML, the characters &lt; &gt; &amp; " and ' are replaced by entities */
+    XML {
+        @Override
+        String replacement(char c) {
+            switch (c) {
+                case '<':
+                    return "&lt;";
+                case '>':
+                    return "&gt;";
+                case '&':
+                    return "&amp;";
+                case '"':
+                    return "&quot;";
+                case '\'':
+                    return "&apos;";
+                default:
+                    return null;
+            }
+        }
+    },
+
+    /** JSON, quotes, backslashes, slashes and control characters are backslash-escaped */
+    JSON {
+        @Override
+        String replacement(char c) {
+            switch (c) {
+                case '"':
+                    return "\\\"";
+                case '\\':
+                    return "\\\\";
+                case '/':
+                    return "\\/";
+                case '\b':
+                    return "\\b";
+                case '\f':
+                    return "\\f";
+                case '\n':
+                    return "\\n";
+                case '\r':
+                    return "\\r";
+                case '\t':
+                    return "\\t";
+                default:
+                    return null;
+            }
+        }
+    };
+
+    /**
+     * Get the escaped form of a character in this format.
+     *
+     * @param c The character to escape
+     * @return The replacement, or null if the character does not need escaping
+     */
+    abstract String replacement(char c);
+
+    /**
+     * Append a value to the output, escaped for this format.
+     * Runs of characters that need no escaping are appended in one call rather than one character at a time.
+     *
+     * @param value The value to escape
+     * @param out The output to append to
+     * @throws IOException if the output cannot be written to
+     */
+    void escape(CharSequence value, Appendable out) throws IOException {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement = replacement(value.charAt(i));
+            if (replacement != null) {
+                if (i > start) {
+                    out.append(value, start, i);
+                }
+                out.append(replacement);
+                start = i + 1;
+            }
+        }
+        if (start < value.length()) {
+            out.append(value, start, value.length());
+        }
+    }
+}
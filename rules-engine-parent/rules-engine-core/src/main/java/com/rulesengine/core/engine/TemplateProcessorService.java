@@ -1,8 +1,9 @@
 package com.rulesengine.core.engine;
 
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.Expression;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -10,9 +11,15 @@ import java.util.logging.Logger;
  * Service for processing templates with SpEL expressions.
  * This class handles replacing placeholders in templates with evaluated expressions.
  * Supports plain text, XML, and JSON formats.
+ *
+ * Templates that are rendered repeatedly should be compiled once with
+ * {@link #compileTemplate(String, TemplateFormat)} and the resulting {@link CompiledTemplate} rendered
+ * for each context, so that the placeholders are not scanned and parsed again on every call.
+ * Large documents can be rendered straight to an Appendable or OutputStream instead of a String.
  */
 public class TemplateProcessorService {
     private static final Logger LOGGER = Logger.getLogger(TemplateProcessorService.class.getName());
+    private static final EngineLogging.EventLog EVENTS = EngineLogging.eventLog(LOGGER);
     private final ExpressionEvaluatorService evaluatorService;
 
     public TemplateProcessorService(ExpressionEvaluatorService evaluatorService) {
@@ -21,6 +28,22 @@ public class TemplateProcessorService {
         LOGGER.fine("Using evaluator service: " + evaluatorService.getClass().getSimpleName());
     }
 
+    /**
+     * Compiles a template by splitting it into literal text and parsed placeholder expressions.
+     * Placeholders are in the format #{expression}.
+     * 
+     * @param template The template to compile
+     * @param format The format of the template, which determines how evaluated values are escaped
+     * @return The compiled template
+     */
+    public CompiledTemplate compileTemplate(String template, TemplateFormat format) {
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Compiling " + format + " template with " + (template != null ? template.length() : 0)
+                    + " characters");
+        }
+        return new CompiledTemplate(template, format, evaluatorService.getParser());
+    }
+
     /**
      * Processes a template by replacing all placeholders with evaluated expressions.
      * Placeholders are in the format #{expression}.
@@ -30,49 +53,11 @@ public class TemplateProcessorService {
      * @return The processed template
      */
     public String processTemplate(String template, EvaluationContext context) {
-        LOGGER.info("Processing template with " + (template != null ? template.length() : 0) + " characters");
-        LOGGER.fine("Template type: plain text");
-
-        StringBuilder result = new StringBuilder();
-        int pos = 0;
-        int expressionsProcessed = 0;
-
-        while (pos < template.length()) {
-            int startExpr = template.indexOf("#{", pos);
-            if (startExpr == -1) {
-                result.append(template.substring(pos));
-                break;
-            }
-
-            result.append(template.substring(pos, startExpr));
-            int endExpr = template.indexOf("}", startExpr);
-            if (endExpr == -1) {
-                // Unclosed expression, append the rest as is
-                LOGGER.warning("Unclosed expression found at position " + startExpr + ", treating as plain text");
-                result.append(template.substring(startExpr));
-                break;
-            }
-
-            // Extract and evaluate the expression
-            String expr = template.substring(startExpr + 2, endExpr);
-            LOGGER.fine("Processing expression: " + expr);
-            try {
-                Expression expression = evaluatorService.getParser().parseExpression(expr);
-                Object value = expression.getValue(context);
-                result.append(value != null ? value.toString() : "");
-                expressionsProcessed++;
-                LOGGER.finest("Expression '" + expr + "' evaluated to: " + value);
-            } catch (Exception e) {
-                LOGGER.log(Level.WARNING, "Error evaluating expression '" + expr + "': " + e.getMessage(), e);
-                // Keep the original expression on error
-                result.append("#{").append(expr).append("}");
-            }
-
-            pos = endExpr + 1;
+        if (EVENTS.isVerbose()) {
+            LOGGER.info("Processing template with " + (template != null ? template.length() : 0) + " characters");
         }
-
-        LOGGER.info("Template processing completed, " + expressionsProcessed + " expressions processed");
-        return result.toString();
+        LOGGER.fine("Template type: plain text");
+        return process(template, TemplateFormat.TEXT, context);
     }
 
     /**
@@ -85,50 +70,12 @@ public class TemplateProcessorService {
      * @return The processed XML template
      */
     public String processXmlTemplate(String xmlTemplate, EvaluationContext context) {
-        LOGGER.info("Processing XML template with " + (xmlTemplate != null ? xmlTemplate.length() : 0) + " characters");
-        LOGGER.fine("Template type: XML");
-
-        StringBuilder result = new StringBuilder();
-        int pos = 0;
-        int expressionsProcessed = 0;
-
-        while (pos < xmlTemplate.length()) {
-            int startExpr = xmlTemplate.indexOf("#{", pos);
-            if (startExpr == -1) {
-                result.append(xmlTemplate.substring(pos));
-                break;
-            }
-
-            result.append(xmlTemplate.substring(pos, startExpr));
-            int endExpr = xmlTemplate.indexOf("}", startExpr);
-            if (endExpr == -1) {
-                // Unclosed expression, append the rest as is
-                LOGGER.warning("Unclosed expression found at position " + startExpr + " in XML template, treating as plain text");
-                result.append(xmlTemplate.substring(startExpr));
-                break;
-            }
-
-            // Extract and evaluate the expression
-            String expr = xmlTemplate.substring(startExpr + 2, endExpr);
-            LOGGER.fine("Processing XML expression: " + expr);
-            try {
-                Expression expression = evaluatorService.getParser().parseExpression(expr);
-                Object value = expression.getValue(context);
-                String escapedValue = value != null ? escapeXml(value.toString()) : "";
-                result.append(escapedValue);
-                expressionsProcessed++;
-                LOGGER.finest("XML expression '" + expr + "' evaluated to: " + value + " (escaped: " + escapedValue + ")");
-            } catch (Exception e) {
-                LOGGER.log(Level.WARNING, "Error evaluating XML expression '" + expr + "': " + e.getMessage(), e);
-                // Keep the original expression on error
-                result.append("#{").append(expr).append("}");
-            }
-
-            pos = endExpr + 1;
+        if (EVENTS.isVerbose()) {
+            LOGGER.info("Processing XML template with " + (xmlTemplate != null ? xmlTemplate.length() : 0)
+                    + " characters");
         }
-
-        LOGGER.info("XML template processing completed, " + expressionsProcessed + " expressions processed");
-        return result.toString();
+        LOGGER.fine("Template type: XML");
+        return process(xmlTemplate, TemplateFormat.XML, context);
     }
 
     /**
@@ -141,165 +88,80 @@ public class TemplateProcessorService {
      * @return The processed JSON template
      */
     public String processJsonTemplate(String jsonTemplate, EvaluationContext context) {
-        LOGGER.info("Processing JSON template with " + (jsonTemplate != null ? jsonTemplate.length() : 0) + " characters");
-        LOGGER.fine("Template type: JSON");
-
-        StringBuilder result = new StringBuilder();
-        int pos = 0;
-        int expressionsProcessed = 0;
-
-        while (pos < jsonTemplate.length()) {
-            int startExpr = jsonTemplate.indexOf("#{", pos);
-            if (startExpr == -1) {
-                result.append(jsonTemplate.substring(pos));
-                break;
-            }
-
-            result.append(jsonTemplate.substring(pos, startExpr));
-            int endExpr = jsonTemplate.indexOf("}", startExpr);
-            if (endExpr == -1) {
-                // Unclosed expression, append the rest as is
-                LOGGER.warning("Unclosed expression found at position " + startExpr + " in JSON template, treating as plain text");
-                result.append(jsonTemplate.substring(startExpr));
-                break;
-            }
-
-            // Extract and evaluate the expression
-            String expr = jsonTemplate.substring(startExpr + 2, endExpr);
-            LOGGER.fine("Processing JSON expression: " + expr);
-            try {
-                Expression expression = evaluatorService.getParser().parseExpression(expr);
-                Object value = expression.getValue(context);
-                String escapedValue = value != null ? escapeJson(value.toString()) : "";
-                result.append(escapedValue);
-                expressionsProcessed++;
-                LOGGER.finest("JSON expression '" + expr + "' evaluated to: " + value + " (escaped: " + escapedValue + ")");
-            } catch (Exception e) {
-                LOGGER.log(Level.WARNING, "Error evaluating JSON expression '" + expr + "': " + e.getMessage(), e);
-                // Keep the original expression on error
-                result.append("#{").append(expr).append("}");
-            }
-
-            pos = endExpr + 1;
+        if (EVENTS.isVerbose()) {
+            LOGGER.info("Processing JSON template with " + (jsonTemplate != null ? jsonTemplate.length() : 0)
+                    + " characters");
         }
-
-        LOGGER.info("JSON template processing completed, " + expressionsProcessed + " expressions processed");
-        return result.toString();
+        LOGGER.fine("Template type: JSON");
+        return process(jsonTemplate, TemplateFormat.JSON, context);
     }
 
     /**
-     * Escapes XML special characters in a string.
+     * Processes a template by streaming it to an Appendable, such as a Writer, with all placeholders
+     * replaced by their evaluated and escaped expressions. The Appendable is neither flushed nor closed.
      * 
-     * @param str The string to escape
-     * @return The escaped string
+     * @param template The template to process
+     * @param format The format of the template, which determines how evaluated values are escaped
+     * @param context The evaluation context
+     * @param out The Appendable to write the processed template to
+     * @throws IOException if the Appendable cannot be written to
      */
-    private String escapeXml(String str) {
-        LOGGER.finest("Escaping XML string: " + (str != null ? str.length() + " chars" : "null"));
-
-        if (str == null) {
-            LOGGER.finest("Input string is null, returning empty string");
-            return "";
-        }
-
-        StringBuilder sb = new StringBuilder();
-        int specialCharsEscaped = 0;
-
-        for (int i = 0; i < str.length(); i++) {
-            char c = str.charAt(i);
-            switch (c) {
-                case '<':
-                    sb.append("&lt;");
-                    specialCharsEscaped++;
-                    break;
-                case '>':
-                    sb.append("&gt;");
-                    specialCharsEscaped++;
-                    break;
-                case '&':
-                    sb.append("&amp;");
-                    specialCharsEscaped++;
-                    break;
-                case '"':
-                    sb.append("&quot;");
-                    specialCharsEscaped++;
-                    break;
-                case '\'':
-                    sb.append("&apos;");
-                    specialCharsEscaped++;
-                    break;
-                default:
-                    sb.append(c);
-            }
-        }
-
-        if (specialCharsEscaped > 0) {
-            LOGGER.finest("Escaped " + specialCharsEscaped + " special XML characters");
+    public void processTemplate(String template, TemplateFormat format, EvaluationContext context, Appendable out)
+            throws IOException {
+        if (EVENTS.isVerbose()) {
+            LOGGER.info("Processing " + format + " template with " + (template != null ? template.length() : 0)
+                    + " characters to " + out.getClass().getSimpleName());
         }
-
-        return sb.toString();
+        int expressionsProcessed = compileTemplate(template, format).render(context, out);
+        logCompleted(format, expressionsProcessed);
     }
 
     /**
-     * Escapes JSON special characters in a string.
+     * Processes a template by streaming it to an OutputStream encoded as UTF-8, with all placeholders
+     * replaced by their evaluated and escaped expressions. The stream is flushed but not closed.
      * 
-     * @param str The string to escape
-     * @return The escaped string
+     * @param template The template to process
+     * @param format The format of the template, which determines how evaluated values are escaped
+     * @param context The evaluation context
+     * @param out The OutputStream to write the processed template to
+     * @throws IOException if the OutputStream cannot be written to
      */
-    private String escapeJson(String str) {
-        LOGGER.finest("Escaping JSON string: " + (str != null ? str.length() + " chars" : "null"));
-
-        if (str == null) {
-            LOGGER.finest("Input string is null, returning empty string");
-            return "";
+    public void processTemplate(String template, TemplateFormat format, EvaluationContext context, OutputStream out)
+            throws IOException {
+        if (EVENTS.isVerbose()) {
+            LOGGER.info("Processing " + format + " template with " + (template != null ? template.length() : 0)
+                    + " characters to " + out.getClass().getSimpleName());
         }
+        int expressionsProcessed = compileTemplate(template, format).render(context, out);
+        logCompleted(format, expressionsProcessed);
+    }
 
-        StringBuilder sb = new StringBuilder();
-        int specialCharsEscaped = 0;
-
-        for (int i = 0; i < str.length(); i++) {
-            char c = str.charAt(i);
-            switch (c) {
-                case '"':
-                    sb.append("\\\"");
-                    specialCharsEscaped++;
-                    break;
-                case '\\':
-                    sb.append("\\\\");
-                    specialCharsEscaped++;
-                    break;
-                case '/':
-                    sb.append("\\/");
-                    specialCharsEscaped++;
-                    break;
-                case '\b':
-                    sb.append("\\b");
-                    specialCharsEscaped++;
-                    break;
-                case '\f':
-                    sb.append("\\f");
-                    specialCharsEscaped++;
-                    break;
-                case '\n':
-                    sb.append("\\n");
-                    specialCharsEscaped++;
-                    break;
-                case '\r':
-                    sb.append("\\r");
-                    specialCharsEscaped++;
-                    break;
-                case '\t':
-                    sb.append("\\t");
-                    specialCharsEscaped++;
-                    break;
-                default:
-                    sb.append(c);
-            }
-        }
+    /**
+     * Compiles and renders a template in a single call.
+     * 
+     * @param template The template to process
+     * @param format The format of the template
+     * @param context The evaluation context
+     * @return The processed template
+     */
+    private String process(String template, TemplateFormat format, EvaluationContext context) {
+        CompiledTemplate compiled = compileTemplate(template, format);
+        String result = compiled.render(context);
+        logCompleted(format, compiled.getExpressionCount());
+        return result;
+    }
 
-        if (specialCharsEscaped > 0) {
-            LOGGER.finest("Escaped " + specialCharsEscaped + " special JSON characters");
+    /**
+     * Log that a template has been processed, counting it per format in production logging mode.
+     *
+     * @param format The format of the template
+     * @param expressionsProcessed The number of expressions that were processed
+     */
+    private static void logCompleted(TemplateFormat format, int expressionsProcessed) {
+        if (EVENTS.isVerbose()) {
+            LOGGER.info(format + " template processing completed, " + expressionsProcessed + " expressions processed");
+        } else {
+            EVENTS.info("Template processed", format.name());
         }
-
-        return sb.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,87 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CompiledTemplate.
+ */
+public class CompiledTemplateTest {
+
+    private final TemplateProcessorService templateProcessor = new TemplateProcessorService(new ExpressionEvaluatorService());
+
+    private StandardEvaluationContext contextWith(String name, Object value) {
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable(name, value);
+        return context;
+    }
+
+    @Test
+    public void testCompiledTemplateIsRenderedForEachContext() {
+        CompiledTemplate template = templateProcessor.compileTemplate("Dear #{#name}, total: #{2 * 21}.", TemplateFormat.TEXT);
+
+        assertEquals(2, template.getExpressionCount());
+        assertEquals("Dear Alice, total: 42.", template.render(contextWith("name", "Alice")));
+        assertEquals("Dear Bob, total: 42.", template.render(contextWith("name", "Bob")));
+    }
+
+    @Test
+    public void testValuesAreEscapedForTheFormat() {
+        StandardEvaluationContext context = contextWith("name", "<A & \"B\">");
+
+        assertEquals("<n>&lt;A &amp; &quot;B&quot;&gt;</n>",
+                templateProcessor.compileTemplate("<n>#{#name}</n>", TemplateFormat.XML).render(context));
+        assertEquals("{\"n\":\"<A & \\\"B\\\">\"}",
+                templateProcessor.compileTemplate("{\"n\":\"#{#name}\"}", TemplateFormat.JSON).render(context));
+    }
+
+    @Test
+    public void testInvalidAndUnclosedPlaceholdersAreKept() {
+        StandardEvaluationContext context = contextWith("name", "Alice");
+
+        assertEquals("Hi #{#name +}!", templateProcessor.compileTemplate("Hi #{#name +}!", TemplateFormat.TEXT).render(context));
+        assertEquals("Hi #{#missing.name}", templateProcessor.compileTemplate("Hi #{#missing.name}", TemplateFormat.TEXT).render(context));
+        assertEquals("Hi Alice #{#name", templateProcessor.compileTemplate("Hi #{#name} #{#name", TemplateFormat.TEXT).render(context));
+    }
+
+    @Test
+    public void testProcessMethodsMatchCompiledTemplates() {
+        StandardEvaluationContext context = contextWith("name", "O'Neil");
+        String template = "<p>#{#name}</p>";
+
+        assertEquals(templateProcessor.compileTemplate(template, TemplateFormat.TEXT).render(context),
+                templateProcessor.processTemplate(template, context));
+        assertEquals(templateProcessor.compileTemplate(template, TemplateFormat.XML).render(context),
+                templateProcessor.processXmlTemplate(template, context));
+        assertEquals("<p>O&apos;Neil</p>", templateProcessor.processXmlTemplate(template, context));
+    }
+
+    @Test
+    public void testRenderingToAppendableMatchesStringRendering() throws IOException {
+        StandardEvaluationContext context = contextWith("name", "Zo\u00eb & \"Co\"\n");
+        CompiledTemplate template = templateProcessor.compileTemplate("{\"name\":\"#{#name}\",\"bad\":\"#{#x.y}\"}", TemplateFormat.JSON);
+        StringWriter writer = new StringWriter();
+
+        int expressionsProcessed = template.render(context, writer);
+
+        assertEquals(1, expressionsProcessed);
+        assertEquals(template.render(context), writer.toString());
+    }
+
+    @Test
+    public void testRenderingToOutputStreamIsUtf8() throws IOException {
+        StandardEvaluationContext context = contextWith("name", "Zo\u00eb <Ltd>");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        templateProcessor.processTemplate("<n>#{#name}</n>", TemplateFormat.XML, context, out);
+
+        assertEquals("<n>Zo\u00eb &lt;Ltd&gt;</n>", out.toString(StandardCharsets.UTF_8));
+    }
+}
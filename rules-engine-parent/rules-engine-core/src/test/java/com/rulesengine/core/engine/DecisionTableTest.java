@@ -0,0 +1,194 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DecisionTable.
+ */
+public class DecisionTableTest {
+
+    private DecisionTableBuilder discountTable(RulesEngineConfiguration configuration) {
+        return configuration.decisionTable("T1")
+                .withName("discount")
+                .withCategory("order-discount")
+                .withInputs("#membershipLevel", "#category", "#price")
+                .withRow("Gold electronics 500+", "Gold", "Electronics", DecisionTable.atLeast(500))
+                .withRow("Gold 200-500", "Gold", null, DecisionTable.between(200, 500))
+                .withRow("Gold or Platinum", DecisionTable.oneOf("Gold", "Platinum"), DecisionTable.any(), null)
+                .withRow("Silver under 200", "Silver", null, DecisionTable.lessThan(200))
+                .withRow("Exactly 100", null, null, 100);
+    }
+
+    private Map<String, Object> facts(Object membershipLevel, Object category, Object price) {
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("membershipLevel", membershipLevel);
+        facts.put("category", category);
+        facts.put("price", price);
+        return facts;
+    }
+
+    private List<String> evaluate(DecisionTable table, Map<String, ?> facts) {
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        facts.forEach(context::setVariable);
+        return table.evaluate(context);
+    }
+
+    @Test
+    public void testFirstHitPolicy() {
+        DecisionTable table = discountTable(new RulesEngineConfiguration()).build();
+
+        assertEquals(Arrays.asList("Gold electronics 500+"), evaluate(table, facts("Gold", "Electronics", 750)));
+        assertEquals(Arrays.asList("Gold 200-500"), evaluate(table, facts("Gold", "Books", 200.0)));
+        assertEquals(Arrays.asList("Gold or Platinum"), evaluate(table, facts("Gold", "Books", 500L)));
+        assertEquals(Arrays.asList("Gold or Platinum"), evaluate(table, facts("Platinum", null, null)));
+        assertEquals(Arrays.asList("Silver under 200"), evaluate(table, facts("Silver", "Books", 199.99)));
+        assertEquals(Arrays.asList("Exactly 100"), evaluate(table, facts("Bronze", "Books", 100.0)));
+        assertTrue(evaluate(table, facts("Silver", "Books", 200)).isEmpty());
+        assertTrue(evaluate(table, facts(null, null, null)).isEmpty());
+    }
+
+    @Test
+    public void testCollectHitPolicy() {
+        RulesEngineConfiguration configuration = new RulesEngineConfiguration();
+        configuration.registerDecisionTable(discountTable(configuration)
+                .withHitPolicy(DecisionTable.HitPolicy.COLLECT)
+                .build());
+        RulesEngine engine = new RulesEngine(configuration);
+
+        List<RuleResult> results = engine.executeAllRulesForCategory("order-discount", facts("Gold", "Electronics", 100));
+
+        assertEquals(2, results.size());
+        assertEquals("Gold or Platinum", results.get(0).getMessage());
+        assertEquals("Exactly 100", results.get(1).getMessage());
+        assertEquals("discount", results.get(0).getRuleName());
+
+        assertEquals(1, engine.executeAllRulesForCategory("order-discount", facts("Gold", "Electronics", 100), 1).size());
+        assertEquals("Gold or Platinum",
+                engine.executeRulesForCategory("order-discount", facts("Gold", "Electronics", 100)).getMessage());
+    }
+
+    @Test
+    public void testInputExpressions() {
+        RulesEngineConfiguration configuration = new RulesEngineConfiguration();
+        DecisionTable table = configuration.decisionTable()
+                .withName("name length")
+                .withInputs("#name.length()", "#name == 'Ann'")
+                .withRow("Ann", null, true)
+                .withRow("Short", DecisionTable.atMost(3), false)
+                .withRow("Long", DecisionTable.greaterThan(3), null)
+                .build();
+
+        assertEquals(Arrays.asList("Ann"), evaluate(table, Collections.singletonMap("name", "Ann")));
+        assertEquals(Arrays.asList("Short"), evaluate(table, Collections.singletonMap("name", "Bob")));
+        assertEquals(Arrays.asList("Long"), evaluate(table, Collections.singletonMap("name", "Robert")));
+    }
+
+    @Test
+    public void testRootAndThisInputsAreEvaluated() {
+        DecisionTable table = new DecisionTableBuilder("T2")
+                .withName("root")
+                .withInputs("#root", "#this", "#rootLevel")
+                .withRow("Gold", "Gold", "Gold", "Silver")
+                .build();
+        StandardEvaluationContext context = new StandardEvaluationContext("Gold");
+        context.setVariable("rootLevel", "Silver");
+
+        assertEquals(Arrays.asList("Gold"), table.evaluate(context));
+    }
+
+    @Test
+    public void testCharactersAreNotEqualToStrings() {
+        DecisionTable table = new DecisionTableBuilder("T2")
+                .withName("initial")
+                .withInputs("#initial")
+                .withRow("Character", 'A')
+                .withRow("String", "A")
+                .withHitPolicy(DecisionTable.HitPolicy.COLLECT)
+                .build();
+        Expression rule = new SpelExpressionParser().parseExpression("#initial == 'A'");
+
+        for (Object initial : Arrays.asList('A', "A", new StringBuilder("A"))) {
+            StandardEvaluationContext context = new StandardEvaluationContext();
+            context.setVariable("initial", initial);
+            List<String> outputs = table.evaluate(context);
+            assertEquals(1, outputs.size());
+            assertEquals(rule.getValue(context, Boolean.class), outputs.contains("String"), "initial: " + initial);
+        }
+    }
+
+    @Test
+    public void testResultsMatchEquivalentRules() {
+        RulesEngineConfiguration tableConfiguration = new RulesEngineConfiguration();
+        tableConfiguration.registerDecisionTable(discountTable(tableConfiguration).withPriority(2).build());
+        RulesEngineConfiguration ruleConfiguration = new RulesEngineConfiguration();
+        String[][] rules = {
+                {"Gold electronics 500+", "#membershipLevel == 'Gold' and #category == 'Electronics' and #price >= 500"},
+                {"Gold 200-500", "#membershipLevel == 'Gold' and #price >= 200 and #price < 500"},
+                {"Gold or Platinum", "#membershipLevel == 'Gold' or #membershipLevel == 'Platinum'"},
+                {"Silver under 200", "#membershipLevel == 'Silver' and #price < 200"},
+                {"Exactly 100", "#price == 100"}
+        };
+        for (String[] rule : rules) {
+            ruleConfiguration.registerRule(ruleConfiguration.rule()
+                    .withCategory("order-discount")
+                    .withName("discount")
+                    .withCondition(rule[1])
+                    .withMessage(rule[0])
+                    .withPriority(2)
+                    .build());
+        }
+        for (RulesEngineConfiguration configuration : Arrays.asList(tableConfiguration, ruleConfiguration)) {
+            configuration.registerRule(configuration.rule()
+                    .withCategory("order-discount")
+                    .withName("vip")
+                    .withCondition("#category == 'VIP'")
+                    .withMessage("VIP")
+                    .withPriority(1)
+                    .build());
+        }
+        RulesEngine expected = new RulesEngine(ruleConfiguration);
+        List<RulesEngine> engines = Arrays.asList(
+                new RulesEngine(tableConfiguration),
+                new RulesEngine(tableConfiguration).setRuleIndexEnabled(true).setRuleNetworkEnabled(true));
+
+        List<Map<String, Object>> factMaps = new ArrayList<>();
+        for (Object level : Arrays.asList("Gold", "Platinum", "Silver", "Bronze")) {
+            for (Object category : Arrays.asList("Electronics", "Books", "VIP")) {
+                for (Object price : Arrays.asList(50, 100, 100.0, 199.99, 200, 499L, 500, 750.5)) {
+                    factMaps.add(facts(level, category, price));
+                }
+            }
+        }
+
+        for (Map<String, Object> facts : factMaps) {
+            RuleResult expectedResult = expected.executeRulesForCategory("order-discount", facts);
+            for (RulesEngine engine : engines) {
+                assertEquals(expectedResult.getMessage(),
+                        engine.executeRulesForCategory("order-discount", facts).getMessage(), "facts: " + facts);
+            }
+        }
+    }
+
+    @Test
+    public void testRowsMustHaveOneEntryPerInput() {
+        DecisionTableBuilder builder = new DecisionTableBuilder("T2")
+                .withName("broken")
+                .withInputs("#a", "#b")
+                .withRow("too short", "x");
+
+        assertThrows(IllegalStateException.class, builder::build);
+        assertThrows(IllegalArgumentException.class, () -> DecisionTable.between(5, 1));
+    }
+}
@@ -0,0 +1,186 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for EngineLogging.
+ */
+public class EngineLoggingTest {
+    private final List<LogRecord> records = Collections.synchronizedList(new ArrayList<>());
+    private final Handler handler = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+    private final List<Logger> loggers = new ArrayList<>();
+    private final List<Level> levels = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        for (Class<?> type : new Class<?>[] {RulesEngine.class, RuleGroup.class}) {
+            Logger logger = Logger.getLogger(type.getName());
+            loggers.add(logger);
+            levels.add(logger.getLevel());
+            logger.setLevel(Level.INFO);
+            logger.addHandler(handler);
+        }
+        EngineLogging.setSummaryInterval(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        EngineLogging.setMode(EngineLogging.Mode.VERBOSE);
+        EngineLogging.setSampleRate(0);
+        EngineLogging.setSummaryInterval(Duration.ofMinutes(1));
+        for (int i = 0; i < loggers.size(); i++) {
+            loggers.get(i).removeHandler(handler);
+            loggers.get(i).setLevel(levels.get(i));
+        }
+    }
+
+    private RulesEngine createEngine() {
+        RulesEngineConfiguration configuration = new RulesEngineConfiguration();
+        configuration.registerRule(configuration.rule("R1")
+                .withCategory("orders")
+                .withName("large order")
+                .withCondition("#amount > 100")
+                .withMessage("Large order")
+                .build());
+        RuleGroup group = configuration.group("G1")
+                .withCategory("orders")
+                .withName("broken group")
+                .withDescription("Group with a failing rule")
+                .withAndOperator()
+                .build();
+        group.addRule(configuration.rule()
+                .withName("missing method")
+                .withCondition("#amount.noSuchMethod()")
+                .withMessage("Never matches")
+                .build(), 1);
+        configuration.registerRuleGroup(group);
+        RulesEngine engine = new RulesEngine(configuration);
+        // Only keep the records of requests
+        records.clear();
+        return engine;
+    }
+
+    private List<String> messages(Level level) {
+        synchronized (records) {
+            return records.stream()
+                    .filter(record -> record.getLevel() == level)
+                    .map(LogRecord::getMessage)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testVerboseModeLogsEachEvent() {
+        RulesEngine engine = createEngine();
+
+        engine.executeRulesForCategory("orders", Map.of("amount", 500));
+        engine.executeRulesForCategory("orders", Map.of("amount", 50));
+
+        List<String> infos = messages(Level.INFO);
+        assertEquals(2, Collections.frequency(infos, "Executing rules for category: orders"));
+        assertEquals(1, Collections.frequency(infos, "Rule matched: large order"));
+        assertTrue(infos.contains("Executing 2 rules/rule groups"));
+        assertEquals(1, messages(Level.WARNING).size());
+        assertTrue(messages(Level.WARNING).get(0)
+                .startsWith("Error evaluating rule in group 'broken group/missing method': "));
+    }
+
+    @Test
+    public void testProductionModeSummarisesEvents() {
+        EngineLogging.setMode(EngineLogging.Mode.PRODUCTION);
+        RulesEngine engine = createEngine();
+
+        for (int i = 0; i < 3; i++) {
+            engine.executeRulesForCategory("orders", Map.of("amount", 500));
+        }
+        // The rule group, which fails, is only evaluated when the rule does not match
+        engine.executeRulesForCategory("orders", Map.of("amount", 50));
+        engine.executeRulesForCategory("orders", Map.of("amount", 50));
+
+        // Nothing is logged per request, except the first occurrence of the warning
+        assertTrue(messages(Level.INFO).isEmpty());
+        assertEquals(1, messages(Level.WARNING).size());
+
+        EngineLogging.flush();
+
+        List<String> infos = messages(Level.INFO);
+        assertEquals(1, infos.size());
+        String summary = infos.get(0);
+        assertTrue(summary.startsWith("Events since the last summary: "), summary);
+        assertTrue(summary.contains("Executing rules for category: orders x5"), summary);
+        assertTrue(summary.contains("Rule matched: large order x3"), summary);
+        assertTrue(summary.contains("No rules or rule groups matched x2"), summary);
+        List<String> warnings = messages(Level.WARNING);
+        assertEquals(2, warnings.size());
+        assertTrue(warnings.get(1).contains("Error evaluating rule in group: broken group/missing method x2"),
+                warnings.get(1));
+
+        // Counting starts again after a summary
+        records.clear();
+        EngineLogging.flush();
+        assertTrue(records.isEmpty());
+    }
+
+    @Test
+    public void testProductionModeSamplesEvents() {
+        EngineLogging.setMode(EngineLogging.Mode.PRODUCTION);
+        EngineLogging.setSampleRate(4);
+        RulesEngine engine = createEngine();
+
+        // Each request records two events: the category and the match
+        for (int i = 0; i < 8; i++) {
+            engine.executeRulesForCategory("orders", Map.of("amount", 500));
+        }
+
+        List<String> sampled = messages(Level.INFO);
+        assertEquals(4, sampled.size());
+        assertTrue(sampled.stream().allMatch(message -> message.startsWith("Sampled event: ")), sampled.toString());
+    }
+
+    @Test
+    public void testSwitchingToVerboseModeFlushesSummary() {
+        EngineLogging.setMode(EngineLogging.Mode.PRODUCTION);
+        createEngine().executeRulesForCategory("orders", Map.of("amount", 500));
+        assertTrue(messages(Level.INFO).isEmpty());
+
+        EngineLogging.setMode(EngineLogging.Mode.VERBOSE);
+
+        assertEquals(1, messages(Level.INFO).size());
+        assertTrue(messages(Level.INFO).get(0).contains("Rule matched: large order x1"));
+    }
+
+    @Test
+    public void testSettingsAreValidated() {
+        assertThrows(IllegalArgumentException.class, () -> EngineLogging.setMode(null));
+        assertThrows(IllegalArgumentException.class, () -> EngineLogging.setSummaryInterval(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> EngineLogging.setSampleRate(-1));
+    }
+}
@@ -0,0 +1,78 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for EvaluationContextFactory.
+ */
+public class EvaluationContextFactoryTest {
+
+    @Test
+    public void testContextsShareDelegates() {
+        EvaluationContextFactory factory = new EvaluationContextFactory();
+
+        StandardEvaluationContext first = factory.createContext(null);
+        StandardEvaluationContext second = factory.createContext(null);
+
+        assertNotSame(first, second);
+        assertSame(first.getPropertyAccessors().get(0), second.getPropertyAccessors().get(0));
+        assertSame(first.getTypeConverter(), second.getTypeConverter());
+        assertSame(first.getTypeLocator(), second.getTypeLocator());
+    }
+
+    @Test
+    public void testReleasedContextIsReusedWithoutPreviousFacts() {
+        EvaluationContextFactory factory = new EvaluationContextFactory();
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("amount", 100);
+
+        StandardEvaluationContext context = factory.acquireContext(facts);
+        assertEquals(100, context.lookupVariable("amount"));
+        factory.releaseContext(context);
+
+        StandardEvaluationContext reused = factory.acquireContext(null);
+        assertSame(context, reused);
+        assertNull(reused.lookupVariable("amount"));
+        factory.releaseContext(reused);
+    }
+
+    @Test
+    public void testNestedAcquireReturnsSeparateContext() {
+        EvaluationContextFactory factory = new EvaluationContextFactory();
+        Map<String, Object> outerFacts = new HashMap<>();
+        outerFacts.put("amount", 100);
+        Map<String, Object> innerFacts = new HashMap<>();
+        innerFacts.put("amount", 5);
+
+        StandardEvaluationContext outer = factory.acquireContext(outerFacts);
+        StandardEvaluationContext inner = factory.acquireContext(innerFacts);
+
+        assertNotSame(outer, inner);
+        assertEquals(100, outer.lookupVariable("amount"));
+        assertEquals(5, inner.lookupVariable("amount"));
+        factory.releaseContext(inner);
+        factory.releaseContext(outer);
+    }
+
+    @Test
+    public void testEngineDoesNotLeakFactsBetweenExecutions() {
+        RulesEngine engine = new RulesEngine(new RulesEngineConfiguration());
+        Rule rule = new RuleBuilder("R1")
+                .withName("has-discount")
+                .withCondition("#discount != null")
+                .withMessage("Discount present")
+                .build();
+        Map<String, Object> withDiscount = new HashMap<>();
+        withDiscount.put("discount", 10);
+
+        assertTrue(engine.executeRulesList(List.of(rule), withDiscount).isTriggered());
+        assertFalse(engine.executeRulesList(List.of(rule), new HashMap<>()).isTriggered());
+    }
+}
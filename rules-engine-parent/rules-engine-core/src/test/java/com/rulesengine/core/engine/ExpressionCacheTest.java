@@ -0,0 +1,197 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ExpressionCache.
+ */
+public class ExpressionCacheTest {
+
+    @Test
+    public void testRepeatedLookupsAreServedFromCache() {
+        ExpressionCache cache = new ExpressionCache();
+
+        Expression first = cache.get("#amount > 100");
+        Expression second = cache.get("#amount > 100");
+
+        assertSame(first, second);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0.5, cache.getHitRate());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testLruEvictionKeepsRecentlyUsedExpressions() {
+        ExpressionCache cache = new ExpressionCache(new SpelExpressionParser(), 2, ExpressionCache.EvictionPolicy.LRU);
+
+        Expression a = cache.get("1 + 1");
+        cache.get("2 + 2");
+        cache.get("1 + 1"); // touch a so that "2 + 2" becomes the eldest entry
+        cache.get("3 + 3");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertSame(a, cache.get("1 + 1"));
+    }
+
+    @Test
+    public void testFifoEvictionIgnoresAccessOrder() {
+        ExpressionCache cache = new ExpressionCache(new SpelExpressionParser(), 2, ExpressionCache.EvictionPolicy.FIFO);
+
+        Expression a = cache.get("1 + 1");
+        cache.get("2 + 2");
+        cache.get("1 + 1");
+        cache.get("3 + 3");
+
+        assertEquals(1, cache.getEvictionCount());
+        assertNotSame(a, cache.get("1 + 1"));
+    }
+
+    @Test
+    public void testConcurrentLookupsStayWithinCapacity() throws Exception {
+        ExpressionCache cache = new ExpressionCache(new SpelExpressionParser(), 8, ExpressionCache.EvictionPolicy.LRU);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    int n = i % 16;
+                    assertEquals(n, cache.get(n + " + 0").getValue());
+                }
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(cache.size() <= 8);
+        assertEquals(4000, cache.getHitCount() + cache.getMissCount());
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+
+    @Test
+    public void testInvalidExpressionsAreNotCached() {
+        ExpressionCache cache = new ExpressionCache();
+
+        assertThrows(ParseException.class, () -> cache.get("#amount >"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testInvalidCapacityIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExpressionCache(new SpelExpressionParser(), 0, ExpressionCache.EvictionPolicy.LRU));
+    }
+
+    @Test
+    public void testRulesEngineSharesCacheWithRuleGroups() {
+        RulesEngineConfiguration config = new RulesEngineConfiguration();
+        Rule highValue = config.registerRule(config.rule("R1")
+                .withCategory("test")
+                .withName("high-value")
+                .withCondition("#amount > 100")
+                .withMessage("High value")
+                .withPriority(20)
+                .build());
+        RuleGroup group = config.createRuleGroupWithAnd("G1", "test", "group", "Group description", 10);
+        group.addRule(highValue, 1);
+
+        RulesEngine engine = new RulesEngine(config, new SpelExpressionParser());
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("amount", 150);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(engine.executeRulesForCategory("test", facts).isTriggered());
+        }
+
+        ExpressionCache cache = engine.getExpressionCache();
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void testRulesEngineParsesConditionsWithItsParser() {
+        AtomicInteger parses = new AtomicInteger();
+        SpelExpressionParser parser = new SpelExpressionParser() {
+            @Override
+            public Expression parseExpression(String expressionString) throws ParseException {
+                parses.incrementAndGet();
+                return super.parseExpression(expressionString);
+            }
+        };
+        RulesEngineConfiguration config = new RulesEngineConfiguration();
+        Rule rule = config.registerRule(config.rule("R1")
+                .withCategory("test")
+                .withName("high-value")
+                .withCondition("#amount > 100")
+                .withMessage("High value")
+                .build());
+
+        RulesEngine engine = new RulesEngine(config, parser);
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("amount", 150);
+
+        assertTrue(engine.executeRulesForCategory("test", facts).isTriggered());
+        assertEquals(1, parses.get());
+        assertNotSame(rule.getExpression(), engine.getExpressionCache().get(rule));
+    }
+
+    @Test
+    public void testRuleConditionsAreResolvedFromTheRule() {
+        ExpressionCache cache = new ExpressionCache();
+        Rule rule = new RuleBuilder("R1")
+                .withName("high-value")
+                .withCondition("#amount > 100")
+                .withMessage("High value")
+                .build();
+
+        assertSame(rule.getExpression(), cache.get(rule));
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void testDefaultRulesEngineEvaluatesTheRulesExpressions() {
+        RulesEngineConfiguration config = new RulesEngineConfiguration();
+        Rule rule = config.registerRule(config.rule("R1")
+                .withCategory("test")
+                .withName("high-value")
+                .withCondition("#amount > 100")
+                .withMessage("High value")
+                .build());
+        RuleGroup group = config.createRuleGroupWithAnd("G1", "test", "group", "Group description", 10);
+        group.addRule(rule, 1);
+
+        RulesEngine engine = new RulesEngine(config);
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("amount", 150);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(engine.executeRulesForCategory("test", facts).isTriggered());
+        }
+
+        ExpressionCache cache = engine.getExpressionCache();
+        assertSame(rule.getExpression(), cache.get(rule));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+    }
+}
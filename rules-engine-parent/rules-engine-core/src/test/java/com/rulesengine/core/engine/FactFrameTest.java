@@ -0,0 +1,128 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for FactFrame and FactSchema.
+ */
+public class FactFrameTest {
+
+    private final FactSchema schema = new FactSchema()
+            .withLong("investmentAmount")
+            .withDouble("marketVolatility")
+            .withBoolean("verified")
+            .withString("accountType");
+
+    private Rule rule(String condition) {
+        return new RuleBuilder()
+                .withName(condition)
+                .withCondition(condition)
+                .withMessage("Matched " + condition)
+                .build();
+    }
+
+    @Test
+    public void testSlotsAreTyped() {
+        FactFrame frame = schema.newFrame()
+                .setLong("investmentAmount", 250000)
+                .setDouble(schema.slot("marketVolatility"), 0.25)
+                .set("verified", true)
+                .set("accountType", "retirement");
+
+        assertEquals(250000L, frame.get(schema.slot("investmentAmount")));
+        assertEquals(0.25, frame.get(schema.slot("marketVolatility")));
+        assertEquals(Boolean.TRUE, frame.toMap().get("verified"));
+        assertThrows(IllegalArgumentException.class, () -> frame.setDouble("investmentAmount", 1.5));
+        assertThrows(IllegalArgumentException.class, () -> frame.set("investmentAmount", 1.5));
+        assertThrows(IllegalArgumentException.class, () -> frame.setLong("unknown", 1));
+        assertThrows(IllegalArgumentException.class, () -> schema.withLong("verified"));
+
+        frame.clear();
+        assertFalse(frame.isSet(schema.slot("investmentAmount")));
+        assertNull(frame.toMap().get("accountType"));
+    }
+
+    @Test
+    public void testSimpleConditionsAreCompiled() {
+        assertTrue(schema.isCompiled(rule("#investmentAmount > 100000 and #accountType == 'retirement'")));
+        assertTrue(schema.isCompiled(rule("!#verified or 0.3 <= #marketVolatility")));
+        assertTrue(schema.isCompiled(rule("#verified == false and #investmentAmount != -5")));
+        assertFalse(schema.isCompiled(rule("#accountType.length() > 3")));
+        assertFalse(schema.isCompiled(rule("#marketVolatility > 0.5f")));
+        assertFalse(schema.isCompiled(rule("#accountType > 'a'")));
+        assertFalse(schema.isCompiled(rule("#unknown > 1")));
+    }
+
+    @Test
+    public void testCompiledConditionsAreKeptOnTheRule() {
+        Rule rule = rule("#investmentAmount > 100000");
+        FactSchema other = new FactSchema().withDouble("investmentAmount");
+
+        FrameCondition compiled = schema.compile(rule);
+        assertSame(compiled, schema.compile(rule));
+        assertSame(schema, rule.getFrameCondition().schema);
+
+        assertNotSame(compiled, other.compile(rule));
+        assertSame(other, rule.getFrameCondition().schema);
+        assertTrue(schema.isCompiled(rule));
+    }
+
+    @Test
+    public void testResultsMatchMapEvaluation() {
+        String[] conditions = {
+                "#investmentAmount > 100000 and #accountType == 'retirement'",
+                "#investmentAmount >= 500000.5",
+                "100 > #investmentAmount",
+                "#investmentAmount == 7 or #investmentAmount == 7.0",
+                "#marketVolatility > 0.3 and #verified",
+                "#marketVolatility <= -1 or !#verified",
+                "#marketVolatility != 0.25",
+                "#accountType != 'brokerage' and #verified == true",
+                "#verified != false and #investmentAmount < -2",
+                "#accountType.length() > 9",
+                "true and #marketVolatility == 0"
+        };
+        List<RuleBase> rules = new ArrayList<>();
+        for (String condition : conditions) {
+            rules.add(rule(condition));
+        }
+        RulesEngine engine = new RulesEngine(new RulesEngineConfiguration());
+
+        Random random = new Random(7);
+        long[] amounts = {-5, 0, 7, 99, 100, 100001, 500000, 500001, Long.MAX_VALUE};
+        double[] volatilities = {-1.0, 0, 0.25, 0.3, 0.31, Double.NaN};
+        String[] accountTypes = {"retirement", "brokerage", "sophisticated"};
+        FactFrame frame = schema.newFrame();
+        for (int i = 0; i < 2000; i++) {
+            frame.clear();
+            if (random.nextInt(6) > 0) {
+                frame.setLong("investmentAmount", amounts[random.nextInt(amounts.length)]);
+            }
+            if (random.nextInt(6) > 0) {
+                frame.setDouble("marketVolatility", volatilities[random.nextInt(volatilities.length)]);
+            }
+            if (random.nextInt(6) > 0) {
+                frame.setBoolean("verified", random.nextBoolean());
+            }
+            if (random.nextInt(6) > 0) {
+                frame.setString("accountType", accountTypes[random.nextInt(accountTypes.length)]);
+            }
+
+            for (int r = 0; r < rules.size(); r++) {
+                List<RuleBase> single = Collections.singletonList(rules.get(r));
+                assertEquals(engine.executeRules(single, frame.toMap()).isTriggered(),
+                        engine.executeRules(single, frame).isTriggered(),
+                        conditions[r] + " with " + frame.toMap());
+            }
+            assertEquals(engine.executeRules(rules, frame.toMap()).getRuleName(),
+                    engine.executeRules(rules, frame).getRuleName(), "facts: " + frame.toMap());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.Expression;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RuleBuilder.
+ */
+public class RuleBuilderTest {
+
+    @Test
+    public void testBuildParsesConditionOnce() {
+        Rule rule = new RuleBuilder("R1")
+                .withName("high-value")
+                .withCondition("#amount > 100")
+                .withMessage("High value")
+                .build();
+
+        Expression expression = rule.getExpression();
+        assertNotNull(expression);
+        assertEquals("#amount > 100", expression.getExpressionString());
+        assertSame(expression, rule.getExpression());
+    }
+
+    @Test
+    public void testBuildRejectsInvalidCondition() {
+        RuleBuilder builder = new RuleBuilder("R1")
+                .withName("broken")
+                .withCondition("#amount >")
+                .withMessage("Broken");
+
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    public void testCostHint() {
+        RuleBuilder builder = new RuleBuilder("R1")
+                .withName("projection")
+                .withCondition("#orders.![amount].size() > 3")
+                .withMessage("Many orders");
+
+        assertEquals(Rule.DEFAULT_COST_HINT, builder.build().getCostHint());
+        assertEquals(50.0, builder.withCostHint(50).build().getCostHint());
+        assertThrows(IllegalStateException.class, builder.withCostHint(0)::build);
+    }
+
+    @Test
+    public void testRegisterRejectsInvalidCondition() {
+        RulesEngineConfiguration config = new RulesEngineConfiguration();
+        Rule rule = new Rule("broken", "#amount >", "Broken");
+
+        assertThrows(IllegalArgumentException.class, () -> config.registerRule(rule));
+        assertNull(config.getRuleById(rule.getId()));
+    }
+
+    @Test
+    public void testCombinedRulesArePreParsed() {
+        RulesEngineConfiguration config = new RulesEngineConfiguration();
+        Rule large = config.rule("R1").withName("large").withCondition("#amount > 100").withMessage("Large").build();
+        Rule retirement = config.rule("R2").withName("retirement").withCondition("#accountType == 'retirement'")
+                .withMessage("Retirement").build();
+
+        Rule combined = config.combineWithAnd("R3", "test", "combined", List.of(large, retirement),
+                "Large retirement", "Large retirement investment", 10);
+        config.registerRule(combined);
+
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("amount", 150);
+        facts.put("accountType", "retirement");
+
+        assertEquals("(#amount > 100) && (#accountType == 'retirement')", combined.getExpression().getExpressionString());
+        assertTrue(new RulesEngine(config).executeRulesForCategory("test", facts).isTriggered());
+    }
+}
@@ -0,0 +1,121 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for adaptive rule ordering in RuleGroup.
+ */
+public class RuleGroupAdaptiveOrderingTest {
+
+    private Rule rule(String name, String condition, double costHint) {
+        return new RuleBuilder(name)
+                .withName(name)
+                .withCondition(condition)
+                .withMessage(name + " holds")
+                .withCostHint(costHint)
+                .build();
+    }
+
+    private StandardEvaluationContext context(Object flag, Object amount) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            values.add(i);
+        }
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("flag", flag);
+        context.setVariable("amount", amount);
+        context.setVariable("values", values);
+        return context;
+    }
+
+    @Test
+    public void testCostHintsGiveInitialOrder() {
+        RuleGroup group = new RuleGroupBuilder("G1").withName("hinted").withDescription("Hinted")
+                .withAdaptiveOrdering().build();
+        group.addRule(rule("projection", "#values.![#this * 2][0] >= 0", 50), 1);
+        group.addRule(rule("flag", "#flag", 1), 2);
+
+        assertEquals(Arrays.asList("flag", "projection"), group.getEvaluationOrder());
+
+        group.setAdaptiveOrdering(false);
+        assertEquals(Arrays.asList("projection", "flag"), group.getEvaluationOrder());
+    }
+
+    @Test
+    public void testCheapSelectiveRuleMovesFirst() {
+        RuleGroup group = new RuleGroupBuilder("G1").withName("and").withDescription("And")
+                .withAdaptiveOrdering().build();
+        group.addRule(rule("projection", "#values.![#this * 2][0] >= 0", 1), 1);
+        group.addRule(rule("flag", "#flag", 1), 2);
+
+        for (int i = 0; i < 1024; i++) {
+            group.evaluate(context(i % 10 == 0, 1), null);
+        }
+
+        assertEquals(Arrays.asList("flag", "projection"), group.getEvaluationOrder());
+        assertTrue(group.evaluate(context(true, 1), null));
+        assertFalse(group.evaluate(context(false, 1), null));
+    }
+
+    @Test
+    public void testResultsMatchSequenceOrder() {
+        for (boolean isAndOperator : new boolean[]{true, false}) {
+            RuleGroup sequential = new RuleGroup("G1", "test", "group", "Group", 1, isAndOperator);
+            RuleGroup adaptive = new RuleGroup("G2", "test", "group", "Group", 1, isAndOperator);
+            adaptive.setAdaptiveOrdering(true);
+            List<Rule> rules = Arrays.asList(
+                    rule("projection", "#values.^[#this > #amount + 1990] != null", 20),
+                    rule("flag", "#flag", 1),
+                    rule("amount", "#amount > 5", 1),
+                    rule("missing", "#missing.value > 1", 5));
+            for (int i = 0; i < rules.size(); i++) {
+                sequential.addRule(rules.get(i), i + 1);
+                adaptive.addRule(rules.get(i), i + 1);
+            }
+
+            Random random = new Random(42);
+            List<Object> flags = Arrays.asList(true, false, null);
+            for (int i = 0; i < 600; i++) {
+                Object flag = flags.get(random.nextInt(flags.size()));
+                int amount = random.nextInt(20);
+                assertEquals(sequential.evaluate(context(flag, amount), null),
+                        adaptive.evaluate(context(flag, amount), null), "flag: " + flag + ", amount: " + amount);
+            }
+        }
+    }
+
+    @Test
+    public void testRulesWithSideEffectsKeepSequenceOrder() {
+        RuleGroup group = new RuleGroupBuilder("G1").withName("assigning").withDescription("Assigning")
+                .withAdaptiveOrdering().build();
+        group.addRule(rule("assign", "(#amount = 10) > 5", 50), 1);
+        group.addRule(rule("flag", "#flag", 1), 2);
+
+        assertEquals(Arrays.asList("assign", "flag"), group.getEvaluationOrder());
+        assertTrue(group.evaluate(context(true, 1), null));
+    }
+
+    @Test
+    public void testRulesCallingMethodsKeepSequenceOrder() {
+        RuleGroup group = new RuleGroupBuilder("G1").withName("guarded").withDescription("Guarded")
+                .withAdaptiveOrdering().build();
+        group.addRule(rule("guard", "#values != null", 50), 1);
+        group.addRule(rule("size", "#values.size() > 3", 1), 2);
+
+        assertEquals(Arrays.asList("guard", "size"), group.getEvaluationOrder());
+        StandardEvaluationContext context = context(true, 1);
+        context.setVariable("values", null);
+        for (int i = 0; i < 256; i++) {
+            assertFalse(group.evaluate(context, null));
+        }
+        assertEquals(Arrays.asList("guard", "size"), group.getEvaluationOrder());
+    }
+}
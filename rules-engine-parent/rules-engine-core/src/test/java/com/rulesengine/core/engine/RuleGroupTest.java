@@ -0,0 +1,94 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RuleGroup.
+ */
+public class RuleGroupTest {
+
+    private Rule rule(String name, String condition) {
+        return new RuleBuilder(name)
+                .withName(name)
+                .withCondition(condition)
+                .withMessage(name + " holds")
+                .build();
+    }
+
+    private StandardEvaluationContext context(int amount) {
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("amount", amount);
+        return context;
+    }
+
+    @Test
+    public void testRulesAreKeptInSequenceOrder() {
+        RuleGroup group = new RuleGroup("G1", "test", "large", "Large amount", 1, true);
+        assertEquals("Large amount", group.getMessage());
+
+        group.addRule(rule("second", "#amount > 10"), 2);
+        group.addRule(rule("first", "#amount > 5"), 1);
+        group.addRule(rule("third", "#amount > 20"), 3);
+        group.addRule(rule("replaced", "#amount > 15"), 3);
+
+        List<String> names = new ArrayList<>();
+        group.getRules().forEach(rule -> names.add(rule.getName()));
+        assertEquals(List.of("first", "second", "replaced"), names);
+        assertThrows(UnsupportedOperationException.class, () -> group.getRules().clear());
+        assertEquals("large: first holds AND second holds AND replaced holds", group.getMessage());
+    }
+
+    @Test
+    public void testEvaluateMatchReturnsGroupMessage() {
+        RuleGroup group = new RuleGroup("G1", "test", "any", "Any amount", 1, false);
+        group.addRule(rule("small", "#amount < 5"), 1);
+        group.addRule(rule("large", "#amount > 100"), 2);
+
+        RuleResult result = group.evaluateMatch(context(200), null);
+
+        assertNotNull(result);
+        assertEquals("any", result.getRuleName());
+        assertEquals("any: small holds OR large holds", result.getMessage());
+        assertNull(group.evaluateMatch(context(50), null));
+    }
+
+    @Test
+    public void testConcurrentEvaluation() throws Exception {
+        RuleGroup group = new RuleGroup("G1", "test", "range", "In range", 1, true);
+        group.addRule(rule("above", "#amount > 10"), 1);
+        group.addRule(rule("below", "#amount < 20"), 2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    int matches = 0;
+                    for (int amount = 0; amount < 1000; amount++) {
+                        RuleResult result = group.evaluateMatch(context(amount % 30), null);
+                        if (result != null) {
+                            assertEquals("range: above holds AND below holds", result.getMessage());
+                            matches++;
+                        }
+                    }
+                    return matches;
+                }));
+            }
+            for (Future<Integer> future : futures) {
+                // 11..19 out of every 30 amounts
+                assertEquals(33 * 9, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
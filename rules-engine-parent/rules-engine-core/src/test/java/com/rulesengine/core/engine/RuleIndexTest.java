@@ -0,0 +1,138 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RuleIndex.
+ */
+public class RuleIndexTest {
+
+    private void addRule(RulesEngineConfiguration configuration, String id, String condition, int priority) {
+        configuration.registerRule(configuration.rule(id)
+                .withCategory("investment")
+                .withName(id)
+                .withCondition(condition)
+                .withMessage("Matched " + id)
+                .withPriority(priority)
+                .build());
+    }
+
+    private RulesEngineConfiguration investmentConfiguration() {
+        RulesEngineConfiguration configuration = new RulesEngineConfiguration();
+        addRule(configuration, "R1", "#accountType == 'retirement' and #investmentAmount > 100000", 1);
+        addRule(configuration, "R2", "'brokerage' == #accountType", 2);
+        addRule(configuration, "R3", "#investmentAmount > 100000", 3);
+        addRule(configuration, "R4", "#investmentAmount <= 500 and #riskScore >= 7", 4);
+        addRule(configuration, "R5", "1000 < #investmentAmount", 5);
+        addRule(configuration, "R6", "#riskScore < -1.5", 6);
+        addRule(configuration, "R7", "#accountType matches '.{4,}'", 7);
+        return configuration;
+    }
+
+    private Map<String, Object> facts(Object accountType, Object investmentAmount, Object riskScore) {
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("accountType", accountType);
+        facts.put("investmentAmount", investmentAmount);
+        facts.put("riskScore", riskScore);
+        return facts;
+    }
+
+    @Test
+    public void testOnlyRulesWhosePredicatesMayHoldAreCandidates() {
+        ConfigurationSnapshot snapshot = investmentConfiguration().getSnapshot();
+        RuleIndex index = snapshot.getRuleIndex("investment");
+
+        assertEquals(6, index.getIndexedRuleCount());
+
+        BitSet candidates = index.candidates(facts("retirement", 200000, 5));
+        // R1 (retirement), R3 (> 100000), R5 (> 1000) and R7 (not indexed)
+        assertEquals("{0, 2, 4, 6}", candidates.toString());
+
+        candidates = index.candidates(facts("brokerage", 100, null));
+        // R2, R4 (<= 500) and R6 (a null risk score is less than every number), R7
+        assertEquals("{1, 3, 5, 6}", candidates.toString());
+    }
+
+    @Test
+    public void testUnknownValueTypesKeepRulesAsCandidates() {
+        RuleIndex index = investmentConfiguration().getSnapshot().getRuleIndex("investment");
+
+        BitSet candidates = index.candidates(facts(42, "lots", 2.5f));
+
+        assertEquals(7, candidates.cardinality());
+    }
+
+    @Test
+    public void testConditionsWithSideEffectsDisablePruning() {
+        RulesEngineConfiguration configuration = investmentConfiguration();
+        addRule(configuration, "R8", "(#accountType = 'retirement') != null", 8);
+
+        RuleIndex index = configuration.getSnapshot().getRuleIndex("investment");
+
+        assertEquals(8, index.candidates(facts("savings", 1, 1)).cardinality());
+    }
+
+    @Test
+    public void testConditionsCallingMethodsDisablePruning() {
+        RulesEngineConfiguration configuration = investmentConfiguration();
+        addRule(configuration, "R8", "#accountType.length() > 3", 8);
+
+        RuleIndex index = configuration.getSnapshot().getRuleIndex("investment");
+
+        assertEquals(6, index.getIndexedRuleCount());
+        assertEquals(8, index.candidates(facts("savings", 1, 1)).cardinality());
+    }
+
+    @Test
+    public void testIndexIsCarriedOverUntilCategoryChanges() {
+        RulesEngineConfiguration configuration = investmentConfiguration();
+        RuleIndex index = configuration.getSnapshot().getRuleIndex("investment");
+
+        configuration.registerRule(configuration.rule("O1")
+                .withCategory("other")
+                .withName("other")
+                .withCondition("true")
+                .withMessage("Other")
+                .build());
+        assertSame(index, configuration.getSnapshot().getRuleIndex("investment"));
+
+        addRule(configuration, "R9", "#riskScore > 9", 9);
+        assertNotSame(index, configuration.getSnapshot().getRuleIndex("investment"));
+    }
+
+    @Test
+    public void testResultsMatchFullScan() {
+        RulesEngineConfiguration configuration = investmentConfiguration();
+        RulesEngine fullScan = new RulesEngine(configuration);
+        RulesEngine indexed = new RulesEngine(configuration).setRuleIndexEnabled(true);
+        RulesEngine indexedNetwork = new RulesEngine(configuration).setRuleIndexEnabled(true).setRuleNetworkEnabled(true);
+
+        List<Map<String, Object>> factMaps = new ArrayList<>();
+        for (Object accountType : Arrays.asList("retirement", "brokerage", "abc", null, 7)) {
+            for (Object amount : Arrays.asList(100, 500, 500.5, 1000, 1001L, 100000, 100001.0, null, "x")) {
+                for (Object risk : Arrays.asList(-2, -1.5, 7, 7.5f, null)) {
+                    factMaps.add(facts(accountType, amount, risk));
+                }
+            }
+        }
+
+        for (Map<String, Object> facts : factMaps) {
+            RuleResult expected = fullScan.executeRulesForCategory("investment", facts);
+            assertEquals(expected.getRuleName(), indexed.executeRulesForCategory("investment", facts).getRuleName(),
+                    "facts: " + facts);
+            assertEquals(expected.getRuleName(), indexedNetwork.executeRulesForCategory("investment", facts).getRuleName(),
+                    "facts: " + facts);
+            assertEquals(fullScan.executeAllRulesForCategory("investment", facts).size(),
+                    indexed.executeAllRulesForCategory("investment", facts).size(), "facts: " + facts);
+        }
+    }
+}
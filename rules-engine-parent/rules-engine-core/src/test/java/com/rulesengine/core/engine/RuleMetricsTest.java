@@ -0,0 +1,183 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RuleMetrics.
+ */
+public class RuleMetricsTest {
+
+    private RulesEngine createEngine() {
+        RulesEngineConfiguration configuration = new RulesEngineConfiguration();
+        configuration.registerRule(configuration.rule("R1")
+                .withCategory("orders")
+                .withName("large order")
+                .withCondition("#amount > 100")
+                .withMessage("Large order")
+                .withPriority(10)
+                .build());
+        configuration.registerRule(configuration.rule("R2")
+                .withCategory("orders")
+                .withName("broken rule")
+                .withCondition("#amount.noSuchMethod()")
+                .withMessage("Never matches")
+                .withPriority(20)
+                .build());
+        RuleGroup group = configuration.group("G1")
+                .withCategory("orders")
+                .withName("small order group")
+                .withDescription("Small orders from the north")
+                .withPriority(30)
+                .withAndOperator()
+                .build();
+        group.addRule(configuration.rule("G1-1")
+                .withName("small order")
+                .withCondition("#amount < 100")
+                .withMessage("Small order")
+                .build(), 1);
+        group.addRule(configuration.rule("G1-2")
+                .withName("north")
+                .withCondition("#region == 'north'")
+                .withMessage("North")
+                .build(), 2);
+        configuration.registerRuleGroup(group);
+        return new RulesEngine(configuration);
+    }
+
+    @Test
+    public void testMetricsAreDisabledByDefault() {
+        RulesEngine engine = createEngine();
+
+        engine.executeRulesForCategory("orders", Map.of("amount", 500));
+
+        assertFalse(engine.isMetricsEnabled());
+        assertTrue(engine.getMetrics().getSnapshots().isEmpty());
+    }
+
+    @Test
+    public void testRecordsEvaluationsMatchesAndErrors() {
+        RulesEngine engine = createEngine().setMetricsEnabled(true);
+
+        engine.executeRulesForCategory("orders", Map.of("amount", 500, "region", "north"));
+        engine.executeRulesForCategory("orders", Map.of("amount", 50, "region", "north"));
+        engine.executeRulesForCategory("orders", Map.of("amount", 50, "region", "south"));
+
+        RuleMetrics metrics = engine.getMetrics();
+        RuleMetrics.Snapshot large = metrics.getSnapshot("R1");
+        assertEquals("large order", large.getName());
+        assertEquals(3, large.getEvaluations());
+        assertEquals(1, large.getMatches());
+        assertEquals(0, large.getErrors());
+        assertEquals(1.0 / 3, large.getHitRate(), 1e-9);
+
+        // The broken rule is only reached when the first rule does not match
+        RuleMetrics.Snapshot broken = metrics.getSnapshot("R2");
+        assertEquals(2, broken.getEvaluations());
+        assertEquals(0, broken.getMatches());
+        assertEquals(2, broken.getErrors());
+
+        RuleMetrics.Snapshot group = metrics.getSnapshot("G1");
+        assertEquals(2, group.getEvaluations());
+        assertEquals(1, group.getMatches());
+
+        // Rules inside the group are recorded as well
+        assertEquals(2, metrics.getSnapshot("G1-1").getMatches());
+        assertEquals(2, metrics.getSnapshot("G1-2").getEvaluations());
+        assertEquals(1, metrics.getSnapshot("G1-2").getMatches());
+        assertNull(metrics.getSnapshot("missing"));
+    }
+
+    @Test
+    public void testCategorySnapshotAddsUpRules() {
+        RulesEngine engine = createEngine().setMetricsEnabled(true);
+
+        engine.executeRulesForCategory("orders", Map.of("amount", 500, "region", "north"));
+        engine.executeRulesForCategory("orders", Map.of("amount", 50, "region", "north"));
+
+        RuleMetrics metrics = engine.getMetrics();
+        RuleMetrics.Snapshot orders = metrics.getCategorySnapshot("orders");
+        // R1 twice, R2 and G1 once each
+        assertEquals("orders", orders.getId());
+        assertEquals(4, orders.getEvaluations());
+        assertEquals(2, orders.getMatches());
+        assertEquals(1, orders.getErrors());
+
+        // The rules inside the group were built without a category and are in the default category
+        assertEquals(Set.of("default", "orders"), metrics.getCategorySnapshots().keySet());
+        assertEquals(2, metrics.getCategorySnapshot("default").getEvaluations());
+        assertEquals(2, metrics.getCategorySnapshot("default").getMatches());
+        assertTrue(orders.getMaxNanos() >= metrics.getSnapshot("R1").getMaxNanos());
+    }
+
+    @Test
+    public void testRuleNetworkRecordsMetrics() {
+        RulesEngine engine = createEngine().setMetricsEnabled(true).setRuleNetworkEnabled(true);
+
+        engine.executeRulesForCategory("orders", Map.of("amount", 50, "region", "north"));
+
+        RuleMetrics metrics = engine.getMetrics();
+        assertEquals(0, metrics.getSnapshot("R1").getMatches());
+        assertEquals(1, metrics.getSnapshot("R2").getErrors());
+        assertEquals(1, metrics.getSnapshot("G1").getMatches());
+        assertEquals(1, metrics.getSnapshot("G1-2").getMatches());
+    }
+
+    @Test
+    public void testListenersReceiveEvaluations() {
+        RulesEngine engine = createEngine().setMetricsEnabled(true);
+        List<String> events = new ArrayList<>();
+        RuleMetrics.Listener listener = (rule, outcome, nanos) -> events.add(rule.getId() + " " + outcome);
+        engine.getMetrics().addListener(listener);
+
+        engine.executeRulesForCategory("orders", Map.of("amount", 500));
+        assertEquals(List.of("R1 MATCH"), events);
+
+        assertTrue(engine.getMetrics().removeListener(listener));
+        assertFalse(engine.getMetrics().removeListener(listener));
+        engine.executeRulesForCategory("orders", Map.of("amount", 500));
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    public void testPercentilesAndReset() {
+        RuleMetrics metrics = new RuleMetrics();
+        Rule rule = new RulesEngineConfiguration().rule("R1")
+                .withName("timed")
+                .withCondition("true")
+                .withMessage("Timed")
+                .build();
+        for (int i = 1; i <= 100; i++) {
+            metrics.record(rule, RuleMetrics.Outcome.MATCH, i * 1000L);
+        }
+
+        RuleMetrics.Snapshot snapshot = metrics.getSnapshot("R1");
+        assertEquals(100, snapshot.getEvaluations());
+        assertEquals(50500, snapshot.getMeanNanos(), 1e-9);
+        assertEquals(100000, snapshot.getMaxNanos());
+        // Percentiles are accurate to within 1/16
+        assertEquals(50000, snapshot.getPercentileNanos(50), 50000 / 16.0);
+        assertEquals(99000, snapshot.getPercentileNanos(99), 99000 / 16.0);
+        assertEquals(100000, snapshot.getPercentileNanos(100));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getPercentileNanos(101));
+
+        metrics.reset();
+        assertNull(metrics.getSnapshot("R1"));
+    }
+
+    @Test
+    public void testHistogramBucketsCoverValues() {
+        for (long value : new long[] {0, 1, 15, 16, 17, 1000, 123456789, LatencyHistogram.MAX_TRACKABLE_VALUE}) {
+            int index = LatencyHistogram.index(value);
+            assertTrue(LatencyHistogram.lowestValue(index) <= value, "value " + value);
+            assertTrue(LatencyHistogram.highestValue(index) >= value, "value " + value);
+        }
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.index(LatencyHistogram.MAX_TRACKABLE_VALUE));
+    }
+}
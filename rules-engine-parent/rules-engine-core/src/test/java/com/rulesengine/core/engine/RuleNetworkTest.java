@@ -0,0 +1,184 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.SpelCompilerMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RuleNetwork.
+ */
+public class RuleNetworkTest {
+
+    /**
+     * A fact that counts how often its score is read.
+     */
+    public static class CountingClient {
+        private final int score;
+        private int reads;
+
+        public CountingClient(int score) {
+            this.score = score;
+        }
+
+        public int getScore() {
+            reads++;
+            return score;
+        }
+    }
+
+    /**
+     * A fact whose method returns a different value on every call.
+     */
+    public static class Ticker {
+        private int calls;
+
+        public int next() {
+            return ++calls;
+        }
+    }
+
+    private void addRule(RulesEngineConfiguration configuration, String id, String condition, int priority) {
+        configuration.registerRule(configuration.rule(id)
+                .withCategory("risk")
+                .withName(id)
+                .withCondition(condition)
+                .withMessage("Matched " + id)
+                .withPriority(priority)
+                .build());
+    }
+
+    private RulesEngineConfiguration riskConfiguration() {
+        RulesEngineConfiguration configuration = new RulesEngineConfiguration();
+        addRule(configuration, "R1", "#client.score > 7 and #region == 'EU'", 1);
+        addRule(configuration, "R2", "#client.score > 7 and #region == 'US'", 2);
+        addRule(configuration, "R3", "#amount > 1000 or #client.score > 7", 3);
+        addRule(configuration, "R4", "#missing.value > 1 or #region == 'APAC'", 4);
+        addRule(configuration, "R5", "#flag", 5);
+        return configuration;
+    }
+
+    @Test
+    public void testIdenticalSubConditionsAreShared() {
+        RulesEngine engine = new RulesEngine(riskConfiguration()).setRuleNetworkEnabled(true);
+
+        RuleNetwork network = engine.getRuleNetwork("risk");
+
+        assertEquals(9, network.getConditionCount());
+        assertEquals(7, network.getAlphaNodeCount());
+    }
+
+    @Test
+    public void testSharedSubConditionIsEvaluatedOncePerFactMap() {
+        RulesEngine engine = new RulesEngine(riskConfiguration()).setRuleNetworkEnabled(true);
+        CountingClient client = new CountingClient(9);
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("client", client);
+        facts.put("region", "APAC");
+        facts.put("amount", 10);
+
+        RuleResult result = engine.executeRulesForCategory("risk", facts);
+
+        assertEquals("R3", result.getRuleName());
+        assertEquals(1, client.reads);
+    }
+
+    @Test
+    public void testResultsMatchSequentialEvaluation() {
+        RulesEngineConfiguration configuration = riskConfiguration();
+        configuration.createRuleGroupWithAnd("G1", "risk", "large-eu", "Large EU trade", 0);
+        configuration.addRuleToGroup("G1", "R1", 1);
+        addRule(configuration, "R6", "#amount > 5000", 6);
+        configuration.addRuleToGroup("G1", "R6", 2);
+        RulesEngine sequential = new RulesEngine(configuration);
+        RulesEngine network = new RulesEngine(configuration).setRuleNetworkEnabled(true);
+
+        List<Map<String, Object>> factMaps = new ArrayList<>();
+        for (Object region : Arrays.asList("EU", "US", "APAC", null)) {
+            for (Object amount : Arrays.asList(10, 2000, 6000, null)) {
+                for (Object flag : Arrays.asList(true, false, null, "text")) {
+                    Map<String, Object> facts = new HashMap<>();
+                    facts.put("client", new CountingClient(amount == null ? 3 : 8));
+                    facts.put("region", region);
+                    facts.put("amount", amount);
+                    facts.put("flag", flag);
+                    factMaps.add(facts);
+                }
+            }
+        }
+
+        for (Map<String, Object> facts : factMaps) {
+            RuleResult expected = sequential.executeRulesForCategory("risk", facts);
+            RuleResult actual = network.executeRulesForCategory("risk", facts);
+            assertEquals(expected.getRuleName(), actual.getRuleName(), "facts: " + facts);
+            assertEquals(expected.getMessage(), actual.getMessage(), "facts: " + facts);
+        }
+    }
+
+    @Test
+    public void testNetworkIsRebuiltWhenRulesChange() {
+        RulesEngineConfiguration configuration = riskConfiguration();
+        configuration.createRuleGroupWithOr("G1", "risk", "any-region", "Any region", 10);
+        RulesEngine engine = new RulesEngine(configuration).setRuleNetworkEnabled(true);
+
+        RuleNetwork first = engine.getRuleNetwork("risk");
+        assertSame(first, engine.getRuleNetwork("risk"));
+
+        configuration.addRuleToGroup("G1", "R1", 1);
+        RuleNetwork afterGroupChange = engine.getRuleNetwork("risk");
+        assertNotSame(first, afterGroupChange);
+
+        addRule(configuration, "R7", "#region == 'EU'", 7);
+        assertNotSame(afterGroupChange, engine.getRuleNetwork("risk"));
+    }
+
+    @Test
+    public void testMethodCallsAreNotShared() {
+        RulesEngineConfiguration configuration = new RulesEngineConfiguration();
+        addRule(configuration, "R1", "#ticker.next() > 1 and #region == 'EU'", 1);
+        addRule(configuration, "R2", "#ticker.next() > 1 and #region == 'EU'", 2);
+        RulesEngine sequential = new RulesEngine(configuration);
+        RulesEngine network = new RulesEngine(configuration).setRuleNetworkEnabled(true);
+        Ticker sequentialTicker = new Ticker();
+        Ticker networkTicker = new Ticker();
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("region", "EU");
+
+        facts.put("ticker", sequentialTicker);
+        RuleResult expected = sequential.executeRulesForCategory("risk", facts);
+        facts.put("ticker", networkTicker);
+        RuleResult actual = network.executeRulesForCategory("risk", facts);
+
+        assertEquals("R2", expected.getRuleName());
+        assertEquals(expected.getRuleName(), actual.getRuleName());
+        assertEquals(sequentialTicker.calls, networkTicker.calls);
+        // The region test is shared, the method call is not
+        assertEquals(4, network.getRuleNetwork("risk").getConditionCount());
+        assertEquals(1, network.getRuleNetwork("risk").getAlphaNodeCount());
+    }
+
+    @Test
+    public void testSubConditionsAreParsedThroughTheExpressionCache() {
+        RulesEngine engine = new RulesEngine(riskConfiguration(), SpelCompilerMode.IMMEDIATE)
+                .setRuleNetworkEnabled(true);
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("client", new CountingClient(9));
+        facts.put("region", "EU");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("R1", engine.executeRulesForCategory("risk", facts).getRuleName());
+        }
+
+        ExpressionCache cache = engine.getExpressionCache();
+        long misses = cache.getMissCount();
+        cache.get("#client.score > 7");
+        cache.get("#region == 'EU'");
+        assertEquals(misses, cache.getMissCount());
+    }
+}
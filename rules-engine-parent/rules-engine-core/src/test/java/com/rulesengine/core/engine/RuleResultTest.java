@@ -0,0 +1,95 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RuleResult.
+ */
+public class RuleResultTest {
+    private static final RuleResultFactory LEAN = RuleResultFactory.LEAN;
+
+    @Test
+    public void testDefaultModeCreatesNewResults() {
+        RuleResult first = RuleResult.noMatch();
+        RuleResult second = RuleResultFactory.STANDARD.noMatch();
+
+        assertNotSame(first, second);
+        assertNotEquals(first.getId(), second.getId());
+        assertNotSame(RuleResult.NO_MATCH, first);
+        assertEquals(RuleResult.ResultType.NO_MATCH, first.getResultType());
+    }
+
+    @Test
+    public void testLeanFactorySharesMisses() {
+        assertSame(RuleResult.NO_MATCH, LEAN.noMatch());
+        assertSame(RuleResult.NO_RULES, LEAN.noRules());
+        assertEquals("no-match", RuleResult.NO_MATCH.getRuleName());
+        assertFalse(RuleResult.NO_MATCH.isTriggered());
+        assertEquals(RuleResult.ResultType.NO_RULES, RuleResult.NO_RULES.getResultType());
+        assertEquals(RuleResult.NO_MATCH.getId(), LEAN.noMatch().getId());
+        assertEquals(RuleResult.ResultType.ERROR, LEAN.error("rule", "Failed").getResultType());
+    }
+
+    @Test
+    public void testLeanFactoryAssignsUniqueIdsAndTimestamps() {
+        Instant before = Instant.now().minusMillis(1);
+
+        RuleResult first = LEAN.match("rule", "Matched");
+        RuleResult second = LEAN.match("rule", "Matched");
+
+        assertNotNull(first.getId());
+        assertEquals(first.getId(), first.getId());
+        assertNotEquals(first.getId(), second.getId());
+        assertNotEquals(first, second);
+        assertEquals(first, first);
+        assertFalse(first.getTimestamp().isBefore(before));
+        assertFalse(first.getTimestamp().isAfter(Instant.now()));
+        assertTrue(first.toString().contains("id=" + first.getId()));
+    }
+
+    @Test
+    public void testComparingLeanResultsDoesNotAssignIds() {
+        RuleResult first = LEAN.match("rule", "Matched");
+        RuleResult second = LEAN.match("rule", "Matched");
+        Set<RuleResult> results = new HashSet<>();
+
+        results.add(first);
+        results.add(second);
+        results.add(first);
+
+        assertEquals(2, results.size());
+        assertNotEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        // Only the ID requested first gets the lower sequence number
+        assertTrue(second.getId().getLeastSignificantBits() < first.getId().getLeastSignificantBits());
+        assertTrue(results.contains(first));
+    }
+
+    @Test
+    public void testLeanResultsArePerEngine() {
+        RulesEngineConfiguration configuration = new RulesEngineConfiguration();
+        configuration.registerRule(configuration.rule("R1")
+                .withCategory("orders")
+                .withName("large order")
+                .withCondition("#amount > 100")
+                .withMessage("Large order")
+                .build());
+        RulesEngine lean = new RulesEngine(configuration).setResultFactory(LEAN);
+        RulesEngine standard = new RulesEngine(configuration);
+
+        assertSame(LEAN, lean.getResultFactory());
+        assertSame(RuleResult.NO_MATCH, lean.executeRulesForCategory("orders", Map.of("amount", 50)));
+        assertSame(RuleResult.NO_RULES, lean.executeRulesForCategory("payments", Map.of("amount", 50)));
+        assertTrue(lean.executeRulesForCategory("orders", Map.of("amount", 500)).isTriggered());
+        assertNotSame(RuleResult.NO_MATCH, standard.executeRulesForCategory("orders", Map.of("amount", 50)));
+        assertNotSame(RuleResult.NO_MATCH, RuleResult.noMatch());
+        assertThrows(NullPointerException.class, () -> standard.setResultFactory(null));
+    }
+}
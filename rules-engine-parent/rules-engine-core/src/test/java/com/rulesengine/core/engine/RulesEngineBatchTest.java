@@ -0,0 +1,71 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RulesEngine batch evaluation.
+ */
+public class RulesEngineBatchTest {
+
+    private RulesEngine engine;
+
+    @BeforeEach
+    public void setUp() {
+        RulesEngineConfiguration config = new RulesEngineConfiguration();
+        Rule highRisk = config.registerRule(config.rule("RA001")
+                .withCategory("risk")
+                .withName("high-risk-client")
+                .withCondition("#clientRiskScore > 7")
+                .withMessage("High-risk client detected")
+                .withPriority(10)
+                .build());
+        Rule volatileMarket = config.registerRule(config.rule("RA002")
+                .withCategory("risk")
+                .withName("volatile-market")
+                .withCondition("#marketVolatility > 0.2")
+                .withMessage("Volatile market conditions detected")
+                .withPriority(20)
+                .build());
+        RuleGroup group = config.createRuleGroupWithAnd("RG001", "risk", "risky-client-in-volatile-market",
+                "Checks for risky clients in volatile markets", 5);
+        group.addRule(highRisk, 1);
+        group.addRule(volatileMarket, 2);
+
+        engine = new RulesEngine(config);
+    }
+
+    @Test
+    public void testBatchResultsMatchSequentialResultsInInputOrder() {
+        List<Map<String, Object>> factsList = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Map<String, Object> facts = new HashMap<>();
+            facts.put("clientRiskScore", i % 10);
+            facts.put("marketVolatility", (i % 4) * 0.1);
+            factsList.add(facts);
+        }
+
+        List<RuleResult> results = engine.setBatchPool(new ForkJoinPool(4)).executeBatch("risk", factsList);
+
+        assertEquals(factsList.size(), results.size());
+        for (int i = 0; i < factsList.size(); i++) {
+            RuleResult expected = engine.executeRulesForCategory("risk", factsList.get(i));
+            assertEquals(expected.getRuleName(), results.get(i).getRuleName());
+            assertEquals(expected.getMessage(), results.get(i).getMessage());
+        }
+    }
+
+    @Test
+    public void testEmptyBatchReturnsEmptyList() {
+        assertTrue(engine.executeBatch("risk", new ArrayList<>()).isEmpty());
+        assertTrue(engine.executeBatch("risk", null).isEmpty());
+    }
+}
@@ -0,0 +1,95 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.SpelCompilerMode;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RulesEngine compiler modes.
+ */
+public class RulesEngineCompilationTest {
+
+    private RulesEngineConfiguration config;
+    private Map<String, Object> facts;
+
+    @BeforeEach
+    public void setUp() {
+        config = new RulesEngineConfiguration();
+        config.registerRule(config.rule("R1")
+                .withCategory("risk")
+                .withName("high-risk-client")
+                .withCondition("#clientRiskScore > 7")
+                .withMessage("High-risk client detected")
+                .withPriority(10)
+                .build());
+        config.registerRule(config.rule("R2")
+                .withCategory("risk")
+                .withName("large-position")
+                .withCondition("#positions.?[#this > 1000].size() > 0")
+                .withMessage("Large position detected")
+                .withPriority(20)
+                .build());
+
+        facts = new HashMap<>();
+        facts.put("clientRiskScore", 5);
+        facts.put("positions", List.of(500, 2500));
+    }
+
+    @Test
+    public void testImmediateModeCompilesSimpleRules() {
+        RulesEngine engine = new RulesEngine(config, SpelCompilerMode.IMMEDIATE);
+
+        for (int i = 0; i < 3; i++) {
+            RuleResult result = engine.executeRulesForCategory("risk", facts);
+            assertTrue(result.isTriggered());
+            assertEquals("large-position", result.getRuleName());
+        }
+
+        Set<String> compiled = engine.compileRules();
+        assertTrue(compiled.contains("R1"));
+        // Selection is not supported by the SpEL compiler, so R2 is still interpreted
+        assertFalse(compiled.contains("R2"));
+        assertEquals(compiled, engine.getCompiledRuleIds());
+    }
+
+    @Test
+    public void testGettingCompiledRulesDoesNotCompile() {
+        RulesEngine engine = new RulesEngine(config, SpelCompilerMode.MIXED);
+        engine.executeRulesForCategory("risk", facts);
+
+        // MIXED mode has not reached its threshold, and the getter does not force compilation
+        assertTrue(engine.getCompiledRuleIds().isEmpty());
+        assertTrue(engine.compileRules().contains("R1"));
+        assertTrue(engine.getCompiledRuleIds().contains("R1"));
+    }
+
+    @Test
+    public void testMixedModeMatchesInterpretedResults() {
+        RulesEngine interpreted = new RulesEngine(config);
+        RulesEngine mixed = new RulesEngine(config, SpelCompilerMode.MIXED);
+
+        for (int score = 0; score < 200; score++) {
+            facts.put("clientRiskScore", score);
+            facts.put("positions", List.of(score));
+            assertEquals(interpreted.executeRulesForCategory("risk", facts).getRuleName(),
+                    mixed.executeRulesForCategory("risk", facts).getRuleName());
+        }
+    }
+
+    @Test
+    public void testOffModeReportsNoCompiledRules() {
+        RulesEngine engine = new RulesEngine(config);
+        engine.executeRulesForCategory("risk", facts);
+
+        assertEquals(SpelCompilerMode.OFF, engine.getCompilerMode());
+        assertTrue(engine.compileRules().isEmpty());
+        assertTrue(engine.getCompiledRuleIds().isEmpty());
+    }
+}
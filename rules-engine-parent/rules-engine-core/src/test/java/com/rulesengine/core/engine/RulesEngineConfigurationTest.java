@@ -0,0 +1,108 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RulesEngineConfiguration.
+ */
+public class RulesEngineConfigurationTest {
+
+    private static Rule rule(RulesEngineConfiguration config, String id, String category, int priority) {
+        return config.rule(id)
+                .withCategory(category)
+                .withName(id)
+                .withCondition("#value > " + priority)
+                .withMessage("Rule " + id)
+                .withPriority(priority)
+                .build();
+    }
+
+    @Test
+    public void testRulesAreKeptInPriorityThenRegistrationOrder() {
+        RulesEngineConfiguration config = new RulesEngineConfiguration();
+        config.registerRule(rule(config, "R1", "test", 30));
+        config.registerRule(rule(config, "R2", "test", 10));
+        config.registerRule(rule(config, "R3", "test", 30));
+        config.registerRule(rule(config, "R4", "test", 20));
+
+        List<String> ids = new ArrayList<>();
+        for (RuleBase rule : config.getRulesForCategory("test")) {
+            ids.add(rule.getId());
+        }
+        assertEquals(List.of("R2", "R4", "R1", "R3"), ids);
+    }
+
+    @Test
+    public void testSnapshotsAreImmutable() {
+        RulesEngineConfiguration config = new RulesEngineConfiguration();
+        config.registerRule(rule(config, "R1", "test", 10));
+        ConfigurationSnapshot before = config.getSnapshot();
+
+        config.registerRule(rule(config, "R2", "test", 5));
+
+        assertEquals(1, before.getRulesForCategory("test").size());
+        assertNull(before.getRuleById("R2"));
+        assertEquals(2, config.getSnapshot().getRulesForCategory("test").size());
+        assertEquals(before.getVersion() + 1, config.getSnapshot().getVersion());
+        assertThrows(UnsupportedOperationException.class,
+                () -> config.getRulesForCategory("test").add(rule(config, "R3", "test", 1)));
+    }
+
+    @Test
+    public void testRegisterRulesPublishesOneSnapshot() {
+        RulesEngineConfiguration config = new RulesEngineConfiguration();
+        long version = config.getSnapshot().getVersion();
+
+        config.registerRules(List.of(rule(config, "R1", "a", 10), rule(config, "R2", "b", 10)));
+
+        assertEquals(version + 1, config.getSnapshot().getVersion());
+        assertNotNull(config.getRuleById("R1"));
+        assertNotNull(config.getRuleById("R2"));
+    }
+
+    @Test
+    public void testRegistrationWhileEvaluating() throws Exception {
+        RulesEngineConfiguration config = new RulesEngineConfiguration();
+        config.registerRule(rule(config, "R0", "test", 1000000));
+        RulesEngine engine = new RulesEngine(config);
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("value", 0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                readers.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        engine.executeRulesForCategory("test", facts);
+                    }
+                }));
+            }
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 1; i <= 200; i++) {
+                    config.registerRule(rule(config, "R" + i, "test", i));
+                }
+            });
+
+            writer.get(30, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(201, config.getRulesForCategory("test").size());
+    }
+}
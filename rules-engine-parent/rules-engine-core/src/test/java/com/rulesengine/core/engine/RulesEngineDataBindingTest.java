@@ -0,0 +1,210 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for evaluating read-only data-binding rules with a SimpleEvaluationContext.
+ */
+public class RulesEngineDataBindingTest {
+
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+
+    @Test
+    public void testReadOnlyExpressionsAreClassified() {
+        assertTrue(ExpressionInspector.isReadOnlyDataBinding(parser.parseExpression("#amount > 100 and #name.startsWith('A')")));
+        assertTrue(ExpressionInspector.isReadOnlyDataBinding(parser.parseExpression("#items.?[#this > 2].size() == 1")));
+        assertFalse(ExpressionInspector.isReadOnlyDataBinding(parser.parseExpression("T(java.lang.Math).max(#a, #b) > 1")));
+        assertFalse(ExpressionInspector.isReadOnlyDataBinding(parser.parseExpression("new java.util.Date() != null")));
+        assertFalse(ExpressionInspector.isReadOnlyDataBinding(parser.parseExpression("(#count = 5) > 1")));
+        assertFalse(ExpressionInspector.isReadOnlyDataBinding(parser.parseExpression("@service != null")));
+    }
+
+    @Test
+    public void testRegistrationClassifiesRules() {
+        RulesEngineConfiguration configuration = new RulesEngineConfiguration();
+        Rule readOnly = configuration.rule("R1")
+                .withName("large-order")
+                .withCondition("#quantity > 10")
+                .withMessage("Large order")
+                .build();
+        Rule withType = configuration.rule("R2")
+                .withName("rounded")
+                .withCondition("T(java.lang.Math).round(#price) > 10")
+                .withMessage("Rounded price")
+                .build();
+
+        configuration.registerRule(readOnly);
+        configuration.registerRule(withType);
+
+        assertTrue(readOnly.isReadOnlyDataBinding());
+        assertFalse(withType.isReadOnlyDataBinding());
+    }
+
+    @Test
+    public void testBothPathsProduceTheSameResults() {
+        RulesEngineConfiguration configuration = new RulesEngineConfiguration();
+        configuration.registerRule(configuration.rule("R1")
+                .withCategory("orders")
+                .withName("rounded")
+                .withCondition("T(java.lang.Math).round(#price) > 100")
+                .withMessage("Expensive")
+                .withPriority(1)
+                .build());
+        configuration.registerRule(configuration.rule("R2")
+                .withCategory("orders")
+                .withName("vip")
+                .withCondition("#customer.toUpperCase() == 'VIP' and #quantity > 10")
+                .withMessage("VIP order")
+                .withPriority(2)
+                .build());
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("price", 50.0);
+        facts.put("customer", "vip");
+        facts.put("quantity", 12);
+
+        RulesEngine standard = new RulesEngine(configuration);
+        RulesEngine dataBinding = new RulesEngine(configuration).setDataBindingContextEnabled(true);
+
+        RuleResult expected = standard.executeRulesForCategory("orders", facts);
+        RuleResult actual = dataBinding.executeRulesForCategory("orders", facts);
+        assertEquals("vip", actual.getRuleName());
+        assertEquals(expected.getRuleName(), actual.getRuleName());
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+
+    @Test
+    public void testFallsBackToStandardContextWhenDataBindingFails() {
+        // Methods on Class objects are not available to a read-only data-binding context
+        Rule rule = new RuleBuilder("R1")
+                .withName("string-type")
+                .withCondition("#type.getSimpleName() == 'String'")
+                .withMessage("String type")
+                .build();
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("type", String.class);
+
+        RulesEngine engine = new RulesEngine(new RulesEngineConfiguration()).setDataBindingContextEnabled(true);
+
+        assertTrue(rule.isReadOnlyDataBinding());
+        assertTrue(engine.executeRulesList(List.of(rule), facts).isTriggered());
+        assertTrue(engine.isRejectedByDataBinding(rule));
+        assertTrue(rule.isReadOnlyDataBinding());
+    }
+
+    @Test
+    public void testRejectionsAreKeptPerEngine() {
+        Rule rule = new RuleBuilder("R1")
+                .withName("simple-name")
+                .withCondition("#type.getSimpleName() == 'String'")
+                .withMessage("String type")
+                .build();
+        Map<String, Object> classFacts = new HashMap<>();
+        classFacts.put("type", String.class);
+        Map<String, Object> stringFacts = new HashMap<>();
+        stringFacts.put("type", new Named("String"));
+
+        RulesEngine rejecting = new RulesEngine(new RulesEngineConfiguration()).setDataBindingContextEnabled(true);
+        RulesEngine other = new RulesEngine(new RulesEngineConfiguration()).setDataBindingContextEnabled(true);
+
+        assertTrue(rejecting.executeRulesList(List.of(rule), classFacts).isTriggered());
+        assertTrue(other.executeRulesList(List.of(rule), stringFacts).isTriggered());
+        assertTrue(rejecting.isRejectedByDataBinding(rule));
+        assertFalse(other.isRejectedByDataBinding(rule));
+    }
+
+    @Test
+    public void testRejectedRulesAreOnlyTriedOnceWithDataBinding() {
+        Rule rule = new RuleBuilder("R1")
+                .withName("string-type")
+                .withCondition("#counter.next() > 0 and #type.getSimpleName() == 'String'")
+                .withMessage("String type")
+                .build();
+        int[] calls = new int[1];
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("counter", new Counter(calls));
+        facts.put("type", String.class);
+
+        RulesEngine engine = new RulesEngine(new RulesEngineConfiguration()).setDataBindingContextEnabled(true);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(engine.executeRulesList(List.of(rule), facts).isTriggered());
+        }
+        assertTrue(engine.isRejectedByDataBinding(rule));
+        // Once with the data-binding context, then once per evaluation with the standard context
+        assertEquals(4, calls[0]);
+    }
+
+    @Test
+    public void testEvaluationErrorsAreNotRetried() {
+        Rule rule = new RuleBuilder("R1")
+                .withName("counted")
+                .withCondition("#counter.next() > 0 and #codes[5] == 'X'")
+                .withMessage("Counted")
+                .build();
+        int[] calls = new int[1];
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("counter", new Counter(calls));
+        facts.put("codes", List.of("A"));
+
+        RulesEngine engine = new RulesEngine(new RulesEngineConfiguration()).setDataBindingContextEnabled(true);
+        engine.executeRulesList(List.of(rule), facts);
+
+        assertEquals(1, calls[0]);
+        assertFalse(engine.isRejectedByDataBinding(rule));
+    }
+
+    /**
+     * A fact with a simple name, which a read-only data-binding context can read.
+     */
+    public static class Named {
+        private final String simpleName;
+
+        Named(String simpleName) {
+            this.simpleName = simpleName;
+        }
+
+        public String getSimpleName() {
+            return simpleName;
+        }
+    }
+
+    /**
+     * A fact with a method that counts its calls.
+     */
+    public static class Counter {
+        private final int[] calls;
+
+        Counter(int[] calls) {
+            this.calls = calls;
+        }
+
+        public int next() {
+            return ++calls[0];
+        }
+    }
+
+    @Test
+    public void testDataBindingContextFollowsVariableChanges() {
+        EvaluationContextFactory factory = new EvaluationContextFactory();
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("amount", 100);
+
+        var context = factory.acquireContext(facts);
+        var dataBinding = factory.getDataBindingContext(context);
+        assertEquals(100, dataBinding.lookupVariable("amount"));
+
+        context.setVariable("limit", 50);
+        assertEquals(50, dataBinding.lookupVariable("limit"));
+
+        factory.releaseContext(context);
+        assertNull(dataBinding.lookupVariable("amount"));
+        assertNull(dataBinding.lookupVariable("limit"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.rulesengine.core.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the evaluate-all execution methods of RulesEngine.
+ */
+public class RulesEngineExecuteAllTest {
+
+    private RulesEngine engine;
+    private Map<String, Object> facts;
+
+    @BeforeEach
+    public void setUp() {
+        RulesEngineConfiguration config = new RulesEngineConfiguration();
+        Rule kyc = config.registerRule(config.rule("CO001").withCategory("compliance").withName("kyc-required")
+                .withCondition("!#kycVerified").withMessage("KYC verification required").withPriority(10).build());
+        config.registerRule(config.rule("CO002").withCategory("compliance").withName("large-transfer")
+                .withCondition("#amount > 10000").withMessage("Large transfer reporting required").withPriority(20).build());
+        config.registerRule(config.rule("CO003").withCategory("compliance").withName("sanctioned-country")
+                .withCondition("#country == 'XX'").withMessage("Sanctioned country").withPriority(30).build());
+        Rule highRisk = config.registerRule(config.rule("CO004").withCategory("compliance").withName("high-risk")
+                .withCondition("#clientRiskScore > 7").withMessage("High-risk client").withPriority(40).build());
+        RuleGroup group = config.createRuleGroupWithAnd("CG001", "compliance", "unverified-high-risk",
+                "Unverified high-risk client", 50);
+        group.addRule(kyc, 1);
+        group.addRule(highRisk, 2);
+
+        engine = new RulesEngine(config);
+        facts = new HashMap<>();
+        facts.put("kycVerified", false);
+        facts.put("amount", 25000);
+        facts.put("country", "GB");
+        facts.put("clientRiskScore", 9);
+    }
+
+    @Test
+    public void testAllMatchesAreReturnedInPriorityOrder() {
+        List<RuleResult> results = engine.executeAllRulesForCategory("compliance", facts);
+
+        assertEquals(List.of("kyc-required", "large-transfer", "high-risk", "unverified-high-risk"),
+                results.stream().map(RuleResult::getRuleName).collect(Collectors.toList()));
+        assertTrue(results.stream().allMatch(RuleResult::isTriggered));
+    }
+
+    @Test
+    public void testEvaluationStopsAtMaxMatches() {
+        List<RuleResult> results = engine.executeAllRulesForCategory("compliance", facts, 2);
+
+        assertEquals(List.of("kyc-required", "large-transfer"),
+                results.stream().map(RuleResult::getRuleName).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testNoMatchesReturnsEmptyList() {
+        facts.put("kycVerified", true);
+        facts.put("amount", 10);
+        facts.put("clientRiskScore", 1);
+
+        assertTrue(engine.executeAllRulesForCategory("compliance", facts).isEmpty());
+        assertTrue(engine.executeAllRulesForCategory("unknown", facts).isEmpty());
+    }
+}
@@ -0,0 +1,296 @@
+package com.rulesengine.demo.service;
+
+import com.rulesengine.core.service.LookupServiceRegistry;
+import com.rulesengine.core.service.Validator;
+import com.rulesengine.demo.model.Trade;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * Implementation of RecordMatcher for Trade objects that only checks a trade against the validators routed to
+ * its category, so an "NYSE" market trade is checked against Markets but not against InstrumentTypes.
+ * Trades whose category has no route are checked against all the requested validators.
+ *
+ * The values of the routed lookup services are combined into one index from value to the lookups that accept
+ * it, so a trade is matched with a single probe however many lookups its category is routed to. The index is
+ * rebuilt when a routed name is registered to another validator or the {@link LookupService#getVersion() version}
+ * of a routed lookup changes. Only plain {@link LookupService} instances are indexed; subclasses, which may
+ * override how values are validated, case-insensitive lookups and other validators are called directly.
+ */
+public class CategoryRoutedTradeMatcher implements RecordMatcher<Trade> {
+    /** The routes of the demo trade categories to the demo lookup services. */
+    public static final Map<String, List<String>> DEFAULT_ROUTES = Map.of(
+            "InstrumentType", List.of("InstrumentTypes"),
+            "Market", List.of("Markets"),
+            "TradeStatus", List.of("TradeStatuses"));
+
+    private final LookupServiceRegistry registry;
+    private final Map<String, List<String>> routes;
+    private volatile ValueIndex index;
+
+    /**
+     * Create a new matcher with the default routes.
+     *
+     * @param registry The registry of the validators
+     */
+    public CategoryRoutedTradeMatcher(LookupServiceRegistry registry) {
+        this(registry, DEFAULT_ROUTES);
+    }
+
+    /**
+     * Create a new matcher.
+     *
+     * @param registry The registry of the validators
+     * @param routes The names of the validators for each trade category
+     */
+    public CategoryRoutedTradeMatcher(LookupServiceRegistry registry, Map<String, List<String>> routes) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Registry cannot be null");
+        }
+        if (routes == null) {
+            throw new IllegalArgumentException("Routes cannot be null");
+        }
+        this.registry = registry;
+        Map<String, List<String>> copy = new LinkedHashMap<>();
+        routes.forEach((category, validatorNames) -> copy.put(category, List.copyOf(validatorNames)));
+        this.routes = copy;
+        refresh();
+    }
+
+    /**
+     * Rebuild the index from the lookup services currently in the registry. The index is also rebuilt when it
+     * is used after a change, so this is only needed to rebuild it ahead of time.
+     *
+     * @return This matcher
+     */
+    public CategoryRoutedTradeMatcher refresh() {
+        Set<String> validatorNames = new TreeSet<>();
+        routes.values().forEach(validatorNames::addAll);
+        this.index = ValueIndex.build(registry, validatorNames);
+        return this;
+    }
+
+    /**
+     * Get the index, rebuilding it first if the routed validators have changed since it was built.
+     */
+    private ValueIndex currentIndex() {
+        ValueIndex index = this.index;
+        if (!index.isCurrent(registry)) {
+            refresh();
+            index = this.index;
+        }
+        return index;
+    }
+
+    @Override
+    public List<Trade> findMatchingRecords(List<Trade> sourceTrades, List<String> validatorNames) {
+        return DemoTradeRecordMatcher.filter(sourceTrades, matcher(validatorNames), false);
+    }
+
+    @Override
+    public List<Trade> findNonMatchingRecords(List<Trade> sourceTrades, List<String> validatorNames) {
+        return DemoTradeRecordMatcher.filter(sourceTrades, matcher(validatorNames).negate(), false);
+    }
+
+    /**
+     * Get the names of the routed lookups that accept a value, with a single probe of the index.
+     *
+     * @param value The value
+     * @return The names of the lookups, in name order
+     */
+    public List<String> getAcceptingLookups(Object value) {
+        ValueIndex index = currentIndex();
+        List<String> lookupNames = new ArrayList<>();
+        long mask = index.find(value);
+        for (int bit = 0; bit < index.lookupNames.length; bit++) {
+            if ((mask & 1L << bit) != 0) {
+                lookupNames.add(index.lookupNames[bit]);
+            }
+        }
+        index.unindexed.forEach((name, validator) -> {
+            if (validator.validate(value)) {
+                lookupNames.add(name);
+            }
+        });
+        lookupNames.sort(null);
+        return lookupNames;
+    }
+
+    /**
+     * Resolve the routes once into a predicate that tests whether a trade's value is accepted by at least one
+     * of the requested validators routed to its category. Names that do not resolve to a validator are ignored.
+     * The predicate can be used from several threads at once, and keeps using the validators and values that
+     * were current when it was created.
+     *
+     * @param validatorNames The names of the validators
+     * @return The predicate
+     */
+    public Predicate<Trade> matcher(List<String> validatorNames) {
+        ValueIndex index = currentIndex();
+        Set<String> requested = new HashSet<>(validatorNames);
+        Map<String, Route> plan = new HashMap<>();
+        routes.forEach((category, routed) -> {
+            List<String> names = new ArrayList<>();
+            for (String name : routed) {
+                if (requested.contains(name)) {
+                    names.add(name);
+                }
+            }
+            plan.put(category, route(index, names));
+        });
+        Route fallback = route(index, validatorNames);
+        return trade -> plan.getOrDefault(trade.getCategory(), fallback).matches(index, trade.getValue());
+    }
+
+    private Route route(ValueIndex index, List<String> validatorNames) {
+        long mask = 0;
+        List<Validator> validators = new ArrayList<>();
+        for (String name : validatorNames) {
+            Integer bit = index.bits.get(name);
+            if (bit != null) {
+                mask |= 1L << bit;
+            } else {
+                Validator validator = registry.getService(name, Validator.class);
+                if (validator != null) {
+                    validators.add(validator);
+                }
+            }
+        }
+        return new Route(mask, validators.toArray(new Validator[0]));
+    }
+
+    /**
+     * The lookups a trade category is checked against: indexed lookups as a mask of their bits, other
+     * validators as they are.
+     */
+    private static final class Route {
+        private final long mask;
+        private final Validator[] validators;
+
+        Route(long mask, Validator[] validators) {
+            this.mask = mask;
+            this.validators = validators;
+        }
+
+        boolean matches(ValueIndex index, Object value) {
+            if ((index.find(value) & mask) != 0) {
+                return true;
+            }
+            for (Validator validator : validators) {
+                if (validator.validate(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * An immutable index mapping each accepted value to a mask with a bit for each lookup accepting it.
+     * It also records the validators it was built from, and the versions of the lookups among them.
+     */
+    private static final class ValueIndex {
+        private final String[] lookupNames;
+        private final Map<String, Integer> bits;
+        private final Map<String, Long> masks;
+        private final Map<String, Validator> unindexed;
+        private final String[] validatorNames;
+        private final Validator[] validators;
+        private final long[] versions;
+
+        private ValueIndex(String[] lookupNames, Map<String, Integer> bits, Map<String, Long> masks,
+                           Map<String, Validator> unindexed, String[] validatorNames, Validator[] validators,
+                           long[] versions) {
+            this.lookupNames = lookupNames;
+            this.bits = bits;
+            this.masks = masks;
+            this.unindexed = unindexed;
+            this.validatorNames = validatorNames;
+            this.validators = validators;
+            this.versions = versions;
+        }
+
+        static ValueIndex build(LookupServiceRegistry registry, Set<String> validatorNames) {
+            List<String> lookupNames = new ArrayList<>();
+            Map<String, Integer> bits = new HashMap<>();
+            Map<String, Long> masks = new HashMap<>();
+            Map<String, Validator> unindexed = new LinkedHashMap<>();
+            String[] names = validatorNames.toArray(new String[0]);
+            Validator[] validators = new Validator[names.length];
+            long[] versions = new long[names.length];
+            for (int i = 0; i < names.length; i++) {
+                String name = names[i];
+                Validator validator = registry.getService(name, Validator.class);
+                validators[i] = validator;
+                if (validator == null) {
+                    continue;
+                }
+                if (validator instanceof LookupService) {
+                    // Read before the values, so that a concurrent change is detected on the next use
+                    versions[i] = ((LookupService) validator).getVersion();
+                }
+                // Subclasses may validate differently from their values, case-insensitive lookups do not accept
+                // values as listed, and a mask has room for 64 lookups
+                if (validator.getClass() != LookupService.class || ((LookupService) validator).isCaseInsensitive()
+                        || lookupNames.size() == Long.SIZE) {
+                    unindexed.put(name, validator);
+                    continue;
+                }
+                long bit = 1L << lookupNames.size();
+                bits.put(name, lookupNames.size());
+                lookupNames.add(name);
+                List<String> values = ((LookupService) validator).getLookupValues();
+                if (values != null) {
+                    for (String value : values) {
+                        if (value != null) {
+                            masks.merge(value, bit, (a, b) -> a | b);
+                        }
+                    }
+                }
+            }
+            return new ValueIndex(lookupNames.toArray(new String[0]), Map.copyOf(bits), Map.copyOf(masks),
+                    unindexed, names, validators, versions);
+        }
+
+        /**
+         * Check whether the registry still holds the validators this index was built from, with the same values.
+         *
+         * @param registry The registry of the validators
+         * @return true if the index is current
+         */
+        boolean isCurrent(LookupServiceRegistry registry) {
+            for (int i = 0; i < validatorNames.length; i++) {
+                Validator validator = registry.getService(validatorNames[i], Validator.class);
+                if (validator != validators[i]) {
+                    return false;
+                }
+                if (validator instanceof LookupService && ((LookupService) validator).getVersion() != versions[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Find the lookups accepting a value.
+         *
+         * @param value The value
+         * @return The mask of the bits of the lookups, or 0 if no indexed lookup accepts the value
+         */
+        long find(Object value) {
+            if (value instanceof String) {
+                Long mask = masks.get(value);
+                return mask != null ? mask : 0L;
+            }
+            return 0L;
+        }
+    }
+}
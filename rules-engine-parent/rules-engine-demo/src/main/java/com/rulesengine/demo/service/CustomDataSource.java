@@ -1,6 +1,9 @@
 package com.rulesengine.demo.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -48,6 +51,16 @@ public class CustomDataSource implements DataSource {
         return (T) dataStore.get(dataType);
     }
 
+    /**
+     * Get data from this source for many sets of parameters at once.
+     * The data of this source does not depend on the parameters, so it is looked up once for the whole batch.
+     */
+    @Override
+    public <T> List<T> getDataBatch(String dataType, List<Object[]> parametersList) {
+        T data = getData(dataType);
+        return new ArrayList<>(Collections.nCopies(parametersList.size(), data));
+    }
+
     /**
      * Add or update data in this data source.
      *
@@ -1,22 +1,65 @@
 package com.rulesengine.demo.service;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Manager for data sources.
  * This class maintains an internal configuration of data sources and provides
  * methods to load, register, and request data from them.
+ *
+ * Data can be requested synchronously or asynchronously. Concurrent asynchronous requests for the same data
+ * type and parameters from the same source are coalesced into a single call to the source. Once a
+ * {@link #setCacheTtl(Duration) cache TTL} is set, results are also cached per source, data type and
+ * parameters, and synchronous requests are served from the cache and coalesced as well.
+ * The cache holds at most {@link #setCacheCapacity(int) a given number} of results; when it is full,
+ * expired results are evicted first, then the results closest to expiry.
+ *
+ * Batch requests pass many sets of parameters to {@link DataSource#getDataBatch(String, List)} in one call;
+ * with caching enabled, only the requests that are neither cached nor in flight are passed on.
+ * <pre>
+ * DataServiceManager manager = new DataServiceManager()
+ *         .setCacheTtl(Duration.ofMinutes(5))
+ *         .loadDataSource(referenceData);
+ * manager.requestDataAsync("instruments").thenAccept(...);
+ * </pre>
  */
 public class DataServiceManager {
     private static final Logger LOGGER = Logger.getLogger(DataServiceManager.class.getName());
 
+    /** The default maximum number of cached results. */
+    public static final int DEFAULT_CACHE_CAPACITY = 1000;
+
     // Map of data sources by name
-    private final Map<String, DataSource> dataSourcesByName = new HashMap<>();
+    private final Map<String, DataSource> dataSourcesByName = new ConcurrentHashMap<>();
 
     // Map of data sources by data type
-    private final Map<String, DataSource> dataSourcesByType = new HashMap<>();
+    private final Map<String, DataSource> dataSourcesByType = new ConcurrentHashMap<>();
+
+    // Results being loaded or cached, by source, data type and parameters
+    private final Map<RequestKey, CacheEntry> cache = new ConcurrentHashMap<>();
+    private final Object evictionLock = new Object();
+    private volatile long cacheTtlNanos;
+    private volatile int cacheCapacity = DEFAULT_CACHE_CAPACITY;
+    private volatile Executor executor = ForkJoinPool.commonPool();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
 
     /**
      * Create a new DataServiceManager.
@@ -51,8 +94,12 @@ public class DataServiceManager {
         }
 
         // Register the data source by name and type
-        dataSourcesByName.put(name, dataSource);
-        dataSourcesByType.put(dataType, dataSource);
+        DataSource replacedByName = dataSourcesByName.put(name, dataSource);
+        DataSource replacedByType = dataSourcesByType.put(dataType, dataSource);
+        if (replacedByName != null || replacedByType != null) {
+            // Results of a replaced source must not be served for the new one
+            cache.keySet().removeIf(key -> key.source == replacedByName || key.source == replacedByType);
+        }
 
         LOGGER.info("Loaded data source: " + name + " (type: " + dataType + ")");
         return this;
@@ -84,7 +131,7 @@ public class DataServiceManager {
      * @return The data source, or null if not found
      */
     public DataSource getDataSourceByName(String name) {
-        return dataSourcesByName.get(name);
+        return name != null ? dataSourcesByName.get(name) : null;
     }
 
     /**
@@ -94,7 +141,7 @@ public class DataServiceManager {
      * @return The data source, or null if not found
      */
     public DataSource getDataSourceByType(String dataType) {
-        return dataSourcesByType.get(dataType);
+        return dataType != null ? dataSourcesByType.get(dataType) : null;
     }
 
     /**
@@ -118,7 +165,7 @@ public class DataServiceManager {
             return null;
         }
 
-        return dataSource.getData(dataType, parameters);
+        return getData(dataSource, dataType, parameters);
     }
 
     /**
@@ -136,7 +183,554 @@ public class DataServiceManager {
             return null;
         }
 
-        return dataSource.getData(dataType, parameters);
+        return getData(dataSource, dataType, parameters);
+    }
+
+    /**
+     * Request data from a data source by name without blocking the caller.
+     * The data source is called on the {@link #setExecutor(Executor) executor}, unless an identical request
+     * is already in flight or its result is cached.
+     *
+     * @param <T> The type of data to return
+     * @param sourceName The name of the data source
+     * @param dataType The type of data to request
+     * @param parameters Optional parameters to filter or customize the data
+     * @return A future of the requested data, completed with null if the data source is not found or does not
+     *         support the data type, or completed exceptionally if the data source fails
+     */
+    public <T> CompletableFuture<T> requestDataByNameAsync(String sourceName, String dataType, Object... parameters) {
+        DataSource dataSource = getDataSourceByName(sourceName);
+        if (dataSource == null) {
+            LOGGER.warning("Data source not found: " + sourceName);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (!dataSource.supportsDataType(dataType)) {
+            LOGGER.warning("Data source " + sourceName + " does not support data type: " + dataType);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return getDataAsync(dataSource, dataType, parameters);
+    }
+
+    /**
+     * Request data from a data source by data type without blocking the caller.
+     * The data source is called on the {@link #setExecutor(Executor) executor}, unless an identical request
+     * is already in flight or its result is cached.
+     *
+     * @param <T> The type of data to return
+     * @param dataType The type of data to request
+     * @param parameters Optional parameters to filter or customize the data
+     * @return A future of the requested data, completed with null if no data source supports the data type,
+     *         or completed exceptionally if the data source fails
+     */
+    public <T> CompletableFuture<T> requestDataAsync(String dataType, Object... parameters) {
+        DataSource dataSource = getDataSourceByType(dataType);
+        if (dataSource == null) {
+            LOGGER.warning("No data source found for data type: " + dataType);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return getDataAsync(dataSource, dataType, parameters);
+    }
+
+    /**
+     * Request data for many sets of parameters from a data source by data type in one call.
+     * The requests are passed to {@link DataSource#getDataBatch(String, List)}, so a data source that supports
+     * batches serves them in one round trip. If caching is enabled, requests that are cached or in flight are
+     * served from the cache and only the others are passed to the data source.
+     *
+     * @param <T> The type of data to return
+     * @param dataType The type of data to request
+     * @param parametersList The parameters of each request
+     * @return The requested data, one element per set of parameters in the same order, or null if no data source
+     *         supports the data type
+     */
+    public <T> List<T> requestDataBatch(String dataType, List<Object[]> parametersList) {
+        DataSource dataSource = getDataSourceByType(dataType);
+        if (dataSource == null) {
+            LOGGER.warning("No data source found for data type: " + dataType);
+            return null;
+        }
+
+        return getDataBatch(dataSource, dataType, parametersList);
+    }
+
+    /**
+     * Request data for many sets of parameters from a data source by name in one call,
+     * as by {@link #requestDataBatch(String, List)}.
+     *
+     * @param <T> The type of data to return
+     * @param sourceName The name of the data source
+     * @param dataType The type of data to request
+     * @param parametersList The parameters of each request
+     * @return The requested data, one element per set of parameters in the same order, or null if the data
+     *         source is not found or does not support the data type
+     */
+    public <T> List<T> requestDataBatchByName(String sourceName, String dataType, List<Object[]> parametersList) {
+        DataSource dataSource = getDataSourceByName(sourceName);
+        if (dataSource == null) {
+            LOGGER.warning("Data source not found: " + sourceName);
+            return null;
+        }
+
+        if (!dataSource.supportsDataType(dataType)) {
+            LOGGER.warning("Data source " + sourceName + " does not support data type: " + dataType);
+            return null;
+        }
+
+        return getDataBatch(dataSource, dataType, parametersList);
+    }
+
+    /**
+     * Request data for many sets of parameters from a data source by data type without blocking the caller,
+     * as by {@link #requestDataBatch(String, List)}. The requests that are neither cached nor in flight are
+     * passed to the data source in one call on the {@link #setExecutor(Executor) executor}.
+     *
+     * @param <T> The type of data to return
+     * @param dataType The type of data to request
+     * @param parametersList The parameters of each request
+     * @return A future of the requested data, completed with null if no data source supports the data type,
+     *         or completed exceptionally if the data source fails
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<List<T>> requestDataBatchAsync(String dataType, List<Object[]> parametersList) {
+        DataSource dataSource = getDataSourceByType(dataType);
+        if (dataSource == null) {
+            LOGGER.warning("No data source found for data type: " + dataType);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<CompletableFuture<Object>> futures = requestBatch(dataSource, dataType, parametersList, executor);
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<T> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<Object> future : futures) {
+                results.add((T) future.join());
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Get data from a source on the calling thread, through the cache if caching is enabled.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T getData(DataSource dataSource, String dataType, Object[] parameters) {
+        if (cacheTtlNanos == 0) {
+            return dataSource.getData(dataType, parameters);
+        }
+        CompletableFuture<Object> future = request(dataSource, dataType, parameters, null);
+        try {
+            return (T) future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> getDataBatch(DataSource dataSource, String dataType, List<Object[]> parametersList) {
+        if (cacheTtlNanos == 0) {
+            return dataSource.getDataBatch(dataType, parametersList);
+        }
+        List<CompletableFuture<Object>> futures = requestBatch(dataSource, dataType, parametersList, null);
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<Object> future : futures) {
+                results.add((T) future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> getDataAsync(DataSource dataSource, String dataType, Object[] parameters) {
+        CompletableFuture<Object> future = request(dataSource, dataType, parameters, executor);
+        // Callers must not be able to complete the shared future
+        return (CompletableFuture<T>) future.copy();
+    }
+
+    /**
+     * Join an in-flight or cached request for the same data, or start loading it.
+     *
+     * @param dataSource The data source
+     * @param dataType The type of data to request
+     * @param parameters The parameters of the request
+     * @param loadExecutor The executor to load on, or null to load on the calling thread
+     * @return The shared future of the data
+     */
+    private CompletableFuture<Object> request(DataSource dataSource, String dataType, Object[] parameters,
+                                              Executor loadExecutor) {
+        RequestKey key = new RequestKey(dataSource, dataType, parameters);
+        long now = System.nanoTime();
+        CacheEntry entry = liveEntry(key, now);
+        if (entry != null) {
+            return entry.future;
+        }
+        CacheEntry created = new CacheEntry();
+        entry = register(key, now, created);
+        if (entry != created) {
+            return entry.future;
+        }
+
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Loading " + dataType + " from data source " + dataSource.getName());
+        }
+        Runnable load = () -> load(key, created);
+        if (loadExecutor == null) {
+            load.run();
+        } else {
+            try {
+                loadExecutor.execute(load);
+            } catch (RuntimeException e) {
+                // A rejected load must not leave an entry that later requests wait on forever
+                fail(key, created, e);
+            }
+        }
+        return created.future;
+    }
+
+    /**
+     * Get the entry of a request if it is in flight or cached and has not expired.
+     *
+     * @param key The request
+     * @param now The current time from {@link System#nanoTime()}
+     * @return The live entry, or null if the request has to be loaded
+     */
+    private CacheEntry liveEntry(RequestKey key, long now) {
+        CacheEntry entry = cache.get(key);
+        if (entry != null && !entry.isExpired(now)) {
+            countHit(entry);
+            return entry;
+        }
+        return null;
+    }
+
+    /**
+     * Register a new entry for a request, unless another thread has registered a live one in the meantime.
+     * The caller must load the request if the new entry is returned.
+     *
+     * @param key The request
+     * @param now The current time from {@link System#nanoTime()}
+     * @param created The new entry
+     * @return The new entry, or the live entry registered by another thread
+     */
+    private CacheEntry register(RequestKey key, long now, CacheEntry created) {
+        CacheEntry entry = cache.compute(key,
+                (k, existing) -> existing != null && !existing.isExpired(now) ? existing : created);
+        if (entry != created) {
+            countHit(entry);
+            return entry;
+        }
+        loads.increment();
+        if (cache.size() > cacheCapacity) {
+            evict();
+        }
+        return created;
+    }
+
+    /**
+     * Join the in-flight or cached requests among a batch, and load all others in one call to the data source.
+     *
+     * @param dataSource The data source
+     * @param dataType The type of data to request
+     * @param parametersList The parameters of each request
+     * @param loadExecutor The executor to load on, or null to load on the calling thread
+     * @return The shared future of each request, in the same order
+     */
+    private List<CompletableFuture<Object>> requestBatch(DataSource dataSource, String dataType,
+                                                         List<Object[]> parametersList, Executor loadExecutor) {
+        List<CompletableFuture<Object>> futures = new ArrayList<>(parametersList.size());
+        List<RequestKey> loadKeys = new ArrayList<>();
+        List<CacheEntry> loadEntries = new ArrayList<>();
+        long now = System.nanoTime();
+        for (Object[] parameters : parametersList) {
+            RequestKey key = new RequestKey(dataSource, dataType, parameters);
+            CacheEntry entry = liveEntry(key, now);
+            if (entry == null) {
+                CacheEntry created = new CacheEntry();
+                entry = register(key, now, created);
+                if (entry == created) {
+                    loadKeys.add(key);
+                    loadEntries.add(created);
+                }
+            }
+            futures.add(entry.future);
+        }
+
+        if (!loadKeys.isEmpty()) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Loading " + loadKeys.size() + " of " + parametersList.size() + " " + dataType
+                        + " requests from data source " + dataSource.getName());
+            }
+            Runnable load = () -> loadBatch(dataSource, dataType, loadKeys, loadEntries);
+            if (loadExecutor == null) {
+                load.run();
+            } else {
+                try {
+                    loadExecutor.execute(load);
+                } catch (RuntimeException e) {
+                    // A rejected load must not leave entries that later requests wait on forever
+                    for (int i = 0; i < loadKeys.size(); i++) {
+                        fail(loadKeys.get(i), loadEntries.get(i), e);
+                    }
+                }
+            }
+        }
+        return futures;
+    }
+
+    private void countHit(CacheEntry entry) {
+        if (entry.future.isDone()) {
+            hits.increment();
+        } else {
+            coalesced.increment();
+        }
+    }
+
+    private void load(RequestKey key, CacheEntry entry) {
+        Object data;
+        try {
+            data = key.source.getData(key.dataType, key.parameters);
+        } catch (Throwable e) {
+            fail(key, entry, e);
+            return;
+        }
+        long ttl = cacheTtlNanos;
+        entry.expiresAt = System.nanoTime() + ttl;
+        if (ttl == 0) {
+            cache.remove(key, entry);
+        }
+        entry.future.complete(data);
+    }
+
+    /**
+     * Fail a request that could not be loaded. Failures are not cached, so that the next request tries again.
+     */
+    private void fail(RequestKey key, CacheEntry entry, Throwable e) {
+        entry.expiresAt = System.nanoTime();
+        cache.remove(key, entry);
+        entry.future.completeExceptionally(e);
+    }
+
+    private void loadBatch(DataSource dataSource, String dataType, List<RequestKey> keys, List<CacheEntry> entries) {
+        List<Object> data;
+        try {
+            List<Object[]> parametersList = new ArrayList<>(keys.size());
+            for (RequestKey key : keys) {
+                parametersList.add(key.parameters);
+            }
+            data = dataSource.getDataBatch(dataType, parametersList);
+            if (data == null || data.size() != keys.size()) {
+                throw new IllegalStateException("Data source " + dataSource.getName() + " returned "
+                        + (data == null ? "no results" : data.size() + " results") + " for " + keys.size()
+                        + " requests");
+            }
+        } catch (Throwable e) {
+            for (int i = 0; i < keys.size(); i++) {
+                fail(keys.get(i), entries.get(i), e);
+            }
+            return;
+        }
+        long ttl = cacheTtlNanos;
+        long expiresAt = System.nanoTime() + ttl;
+        for (int i = 0; i < keys.size(); i++) {
+            CacheEntry entry = entries.get(i);
+            entry.expiresAt = expiresAt;
+            if (ttl == 0) {
+                cache.remove(keys.get(i), entry);
+            }
+            entry.future.complete(data.get(i));
+        }
+    }
+
+    /**
+     * Evict expired results and, if the cache is still full, the results closest to expiry until a tenth of
+     * the capacity is free again. Results still being loaded are never evicted.
+     */
+    private void evict() {
+        synchronized (evictionLock) {
+            int capacity = cacheCapacity;
+            if (cache.size() <= capacity) {
+                return;
+            }
+            long now = System.nanoTime();
+            List<Map.Entry<RequestKey, CacheEntry>> loaded = new ArrayList<>();
+            for (Map.Entry<RequestKey, CacheEntry> cached : cache.entrySet()) {
+                CacheEntry entry = cached.getValue();
+                if (entry.isExpired(now)) {
+                    if (cache.remove(cached.getKey(), entry)) {
+                        evictions.increment();
+                    }
+                } else if (entry.future.isDone()) {
+                    loaded.add(cached);
+                }
+            }
+            int target = capacity - capacity / 10;
+            if (cache.size() > target) {
+                loaded.sort(Comparator.comparingLong(cached -> cached.getValue().expiresAt - now));
+                for (int i = 0; i < loaded.size() && cache.size() > target; i++) {
+                    if (cache.remove(loaded.get(i).getKey(), loaded.get(i).getValue())) {
+                        evictions.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Set how long results are cached. A zero duration, the default, disables caching; asynchronous requests
+     * are still coalesced while in flight. Results cached before the TTL changes keep their expiry time.
+     *
+     * @param ttl How long a result is served from the cache after it has been loaded
+     * @return This manager for method chaining
+     * @throws IllegalArgumentException if the TTL is null or negative
+     */
+    public DataServiceManager setCacheTtl(Duration ttl) {
+        if (ttl == null || ttl.isNegative()) {
+            throw new IllegalArgumentException("Cache TTL must not be negative");
+        }
+        this.cacheTtlNanos = ttl.toNanos();
+        if (ttl.isZero()) {
+            invalidateCache();
+        }
+        return this;
+    }
+
+    /**
+     * Get how long results are cached.
+     *
+     * @return The cache TTL, zero if caching is disabled
+     */
+    public Duration getCacheTtl() {
+        return Duration.ofNanos(cacheTtlNanos);
+    }
+
+    /**
+     * Set the maximum number of cached results. The default is {@link #DEFAULT_CACHE_CAPACITY}.
+     *
+     * @param capacity The maximum number of cached results
+     * @return This manager for method chaining
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public DataServiceManager setCacheCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        this.cacheCapacity = capacity;
+        if (cache.size() > capacity) {
+            evict();
+        }
+        return this;
+    }
+
+    /**
+     * Get the maximum number of cached results.
+     *
+     * @return The cache capacity
+     */
+    public int getCacheCapacity() {
+        return cacheCapacity;
+    }
+
+    /**
+     * Set the executor on which asynchronous requests call data sources. The default is the common
+     * fork-join pool; slow or blocking data sources are better served by a dedicated executor.
+     *
+     * @param executor The executor
+     * @return This manager for method chaining
+     * @throws IllegalArgumentException if the executor is null
+     */
+    public DataServiceManager setExecutor(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor must not be null");
+        }
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Get the executor on which asynchronous requests call data sources.
+     *
+     * @return The executor
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Remove all cached results. Requests in flight are completed but their results are not cached.
+     */
+    public void invalidateCache() {
+        cache.clear();
+    }
+
+    /**
+     * Remove the cached results of a data type.
+     *
+     * @param dataType The type of data
+     */
+    public void invalidateCache(String dataType) {
+        cache.keySet().removeIf(key -> Objects.equals(key.dataType, dataType));
+    }
+
+    /**
+     * Get the number of results currently cached or being loaded.
+     *
+     * @return The number of cache entries
+     */
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * Get the number of requests served from a cached result.
+     *
+     * @return The hit count
+     */
+    public long getCacheHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of requests that called a data source through the cache or the coalescing of
+     * asynchronous requests.
+     *
+     * @return The load count
+     */
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    /**
+     * Get the number of requests that joined an identical request already in flight.
+     *
+     * @return The coalesced request count
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Get the number of results evicted because the cache was full.
+     *
+     * @return The eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
     }
 
     /**
@@ -151,4 +745,49 @@ public class DataServiceManager {
 
         return this;
     }
+
+    /**
+     * Identifies a request: the data source, the data type and the parameters, compared element by element.
+     */
+    private static final class RequestKey {
+        private final DataSource source;
+        private final String dataType;
+        private final Object[] parameters;
+        private final int hash;
+
+        RequestKey(DataSource source, String dataType, Object[] parameters) {
+            this.source = source;
+            this.dataType = dataType;
+            // Copied, so that a caller reusing or changing its array cannot change the key's hash
+            this.parameters = parameters != null ? parameters.clone() : new Object[0];
+            this.hash = 31 * (31 * System.identityHashCode(source) + Objects.hashCode(dataType))
+                    + Arrays.deepHashCode(this.parameters);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RequestKey)) return false;
+            RequestKey that = (RequestKey) o;
+            return source == that.source && Objects.equals(dataType, that.dataType)
+                    && Arrays.deepEquals(parameters, that.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A result being loaded or cached. The expiry time is set once the result has been loaded.
+     */
+    private static final class CacheEntry {
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile long expiresAt;
+
+        boolean isExpired(long now) {
+            return future.isDone() && now - expiresAt >= 0;
+        }
+    }
 }
@@ -1,5 +1,8 @@
 package com.rulesengine.demo.service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Interface for data sources that can provide various types of data.
  * This interface abstracts away the concrete implementation of data sources,
@@ -37,4 +40,23 @@ public interface DataSource {
      * @return The requested data, or null if the data type is not supported
      */
     <T> T getData(String dataType, Object... parameters);
+
+    /**
+     * Get data from this source for many sets of parameters at once.
+     * The default implementation calls {@link #getData(String, Object...)} for each set of parameters;
+     * data sources backed by a store that can serve many keys per round trip should override it.
+     * 
+     * @param <T> The type of data to return
+     * @param dataType The type of data to get
+     * @param parametersList The parameters of each request
+     * @return The requested data, one element per set of parameters in the same order; an element is null
+     *         if the data type is not supported
+     */
+    default <T> List<T> getDataBatch(String dataType, List<Object[]> parametersList) {
+        List<T> results = new ArrayList<>(parametersList.size());
+        for (Object[] parameters : parametersList) {
+            results.add(getData(dataType, parameters));
+        }
+        return results;
+    }
 }
\ No newline at end of file
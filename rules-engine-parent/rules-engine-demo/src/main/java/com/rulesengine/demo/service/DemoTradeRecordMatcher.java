@@ -6,46 +6,143 @@ import com.rulesengine.core.service.Validator;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of RecordMatcher for Trade objects.
+ *
+ * The validators are looked up in the registry once per call, not once per trade. Trades are matched on the
+ * calling thread unless the matcher is {@link #DemoTradeRecordMatcher(LookupServiceRegistry, boolean) created}
+ * to match in parallel, in which case lists of at least {@link #PARALLEL_THRESHOLD} trades are matched on the
+ * common fork-join pool, so the validators must be safe to call from several threads at once.
+ * {@link #partitionRecords(List, List)} sorts
+ * trades into matching and non-matching ones in a single pass, and {@link #matchRecords(Stream, List, Consumer,
+ * Consumer)} hands each trade on as it is matched without collecting any list.
  */
 public class DemoTradeRecordMatcher implements com.rulesengine.demo.service.RecordMatcher<Trade> {
+    /** The number of trades from which lists are matched in parallel by a parallel matcher. */
+    public static final int PARALLEL_THRESHOLD = 10_000;
+
     private final LookupServiceRegistry registry;
-    
+    private final boolean parallel;
+
     public DemoTradeRecordMatcher(LookupServiceRegistry registry) {
+        this(registry, false);
+    }
+
+    /**
+     * Create a new matcher.
+     *
+     * @param registry The registry of the validators
+     * @param parallel Whether to match lists of at least {@link #PARALLEL_THRESHOLD} trades in parallel
+     */
+    public DemoTradeRecordMatcher(LookupServiceRegistry registry, boolean parallel) {
         this.registry = registry;
+        this.parallel = parallel;
     }
-    
+
+    /**
+     * Check whether this matcher matches large lists in parallel.
+     *
+     * @return true if lists of at least {@link #PARALLEL_THRESHOLD} trades are matched in parallel
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
     @Override
     public List<Trade> findMatchingRecords(List<Trade> sourceTrades, List<String> validatorNames) {
-        List<Trade> matchingTrades = new ArrayList<>();
-        for (Trade trade : sourceTrades) {
-            if (hasMatch(trade, validatorNames)) {
-                matchingTrades.add(trade);
-            }
-        }
-        return matchingTrades;
+        return filter(sourceTrades, matcher(validatorNames), parallel);
     }
-    
+
     @Override
     public List<Trade> findNonMatchingRecords(List<Trade> sourceTrades, List<String> validatorNames) {
-        List<Trade> nonMatchingTrades = new ArrayList<>();
-        for (Trade trade : sourceTrades) {
-            if (!hasMatch(trade, validatorNames)) {
-                nonMatchingTrades.add(trade);
+        return filter(sourceTrades, matcher(validatorNames).negate(), parallel);
+    }
+
+    /**
+     * Sort trades into those that match at least one of the validators and those that match none, in one pass.
+     *
+     * @param sourceTrades The trades
+     * @param validatorNames The names of the validators
+     * @return The matching trades under true and the non-matching trades under false, each in source order
+     */
+    public Map<Boolean, List<Trade>> partitionRecords(List<Trade> sourceTrades, List<String> validatorNames) {
+        Predicate<Trade> matcher = matcher(validatorNames);
+        return stream(sourceTrades, parallel).collect(Collectors.partitioningBy(matcher));
+    }
+
+    /**
+     * Match a stream of trades, handing each trade to one of two consumers as it is matched.
+     * Nothing is collected, so the trades can be read from a file or a cursor. If the stream is parallel,
+     * the consumers are called from several threads at once.
+     *
+     * @param sourceTrades The trades
+     * @param validatorNames The names of the validators
+     * @param matching Receives the trades that match at least one of the validators
+     * @param nonMatching Receives the trades that match none of the validators
+     */
+    public void matchRecords(Stream<Trade> sourceTrades, List<String> validatorNames,
+                             Consumer<Trade> matching, Consumer<Trade> nonMatching) {
+        Predicate<Trade> matcher = matcher(validatorNames);
+        sourceTrades.forEach(trade -> {
+            if (matcher.test(trade)) {
+                matching.accept(trade);
+            } else {
+                nonMatching.accept(trade);
             }
-        }
-        return nonMatchingTrades;
+        });
     }
-    
-    private boolean hasMatch(Trade trade, List<String> validatorNames) {
+
+    /**
+     * Resolve validators once into a predicate that tests whether a trade's value is accepted by at least one
+     * of them. Names that do not resolve to a validator are ignored. The predicate can be used from several
+     * threads at once.
+     *
+     * @param validatorNames The names of the validators
+     * @return The predicate
+     */
+    public Predicate<Trade> matcher(List<String> validatorNames) {
+        List<Validator> resolved = new ArrayList<>(validatorNames.size());
         for (String validatorName : validatorNames) {
             Validator validator = registry.getService(validatorName, Validator.class);
-            if (validator != null && validator.validate(trade.getValue())) {
+            if (validator != null) {
+                resolved.add(validator);
+            }
+        }
+        Validator[] validators = resolved.toArray(new Validator[0]);
+        return trade -> hasMatch(trade, validators);
+    }
+
+    static List<Trade> filter(List<Trade> sourceTrades, Predicate<Trade> predicate, boolean parallel) {
+        if (!parallel || sourceTrades.size() < PARALLEL_THRESHOLD) {
+            List<Trade> trades = new ArrayList<>();
+            for (Trade trade : sourceTrades) {
+                if (predicate.test(trade)) {
+                    trades.add(trade);
+                }
+            }
+            return trades;
+        }
+        return sourceTrades.parallelStream().filter(predicate).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private static Stream<Trade> stream(List<Trade> sourceTrades, boolean parallel) {
+        return parallel && sourceTrades.size() >= PARALLEL_THRESHOLD
+                ? sourceTrades.parallelStream() : sourceTrades.stream();
+    }
+
+    private static boolean hasMatch(Trade trade, Validator[] validators) {
+        Object value = trade.getValue();
+        for (Validator validator : validators) {
+            if (validator.validate(value)) {
                 return true;
             }
         }
         return false;
     }
-}
\ No newline at end of file
+}
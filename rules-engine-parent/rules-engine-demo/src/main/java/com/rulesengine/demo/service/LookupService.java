@@ -4,20 +4,40 @@ import com.rulesengine.core.service.IDataLookup;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
+/**
+ * A lookup service that validates values against a list of accepted values, and enriches and transforms them.
+ *
+ * The accepted values are copied into an immutable index when they are set, so validating a value does not
+ * depend on the length of the list: short lists are scanned, longer ones are hashed. Changes made to the list
+ * after it has been set are not seen by the index.
+ *
+ * In {@link #setCaseInsensitive(boolean) case-insensitive mode}, values are matched regardless of case, and
+ * enrich and transform are given the accepted value as it appears in the list, so "nyse" is enriched and
+ * transformed as "NYSE".
+ *
+ * Each change of the accepted values or of the case-insensitive mode increments the {@link #getVersion() version},
+ * so that values copied from the service can be checked for staleness.
+ */
 public class LookupService implements IDataLookup {
-    private List<String> lookupValues;
+    private volatile List<String> lookupValues;
     private String name;
-    private Map<String, Object> enrichmentData;
-    private Function<Object, Object> transformationFunction;
+    private volatile Map<String, Object> enrichmentData;
+    private volatile Function<Object, Object> transformationFunction;
+    private volatile boolean caseInsensitive;
+    private volatile ValueIndex index;
+    private final AtomicLong version = new AtomicLong();
 
     public LookupService(String name, List<String> lookupValues) {
         this.name = name;
         this.lookupValues = lookupValues;
         this.enrichmentData = new HashMap<>();
         this.transformationFunction = value -> value; // Identity function by default
+        this.index = ValueIndex.build(lookupValues, false);
     }
 
     @Override
@@ -28,22 +48,36 @@ public class LookupService implements IDataLookup {
     @Override
     public boolean validate(Object value) {
         if (value instanceof String) {
-            return lookupValues.contains(value);
+            return index.find((String) value) != null;
         }
         return false;
     }
 
     @Override
     public Object enrich(Object value) {
-        if (value instanceof String && enrichmentData.containsKey(value)) {
-            return enrichmentData.get(value);
+        Object key = canonical(value);
+        Map<String, Object> data = enrichmentData;
+        if (key instanceof String && data.containsKey(key)) {
+            return data.get(key);
         }
         return value;
     }
 
     @Override
     public Object transform(Object value) {
-        return transformationFunction.apply(value);
+        return transformationFunction.apply(canonical(value));
+    }
+
+    /**
+     * Get the accepted value a value stands for: in case-insensitive mode the accepted value that matches it
+     * regardless of case, otherwise the value itself.
+     */
+    private Object canonical(Object value) {
+        if (caseInsensitive && value instanceof String) {
+            String accepted = index.find((String) value);
+            return accepted != null ? accepted : value;
+        }
+        return value;
     }
 
     public void setEnrichmentData(Map<String, Object> enrichmentData) {
@@ -54,12 +88,138 @@ public class LookupService implements IDataLookup {
         this.transformationFunction = transformationFunction;
     }
 
+    /**
+     * Set the accepted values and rebuild the index.
+     *
+     * @param lookupValues The accepted values
+     */
+    public void setLookupValues(List<String> lookupValues) {
+        this.index = ValueIndex.build(lookupValues, caseInsensitive);
+        this.lookupValues = lookupValues;
+        version.incrementAndGet();
+    }
+
+    /**
+     * Enable or disable matching values regardless of case. Values are compared in their lower-case form in
+     * the root locale. This is disabled by default.
+     *
+     * @param caseInsensitive true to match values regardless of case
+     */
+    public void setCaseInsensitive(boolean caseInsensitive) {
+        this.index = ValueIndex.build(lookupValues, caseInsensitive);
+        this.caseInsensitive = caseInsensitive;
+        version.incrementAndGet();
+    }
+
+    /**
+     * Get the version of the accepted values, which is incremented after the values or the case-insensitive
+     * mode are set. Values read after the version are at least as recent as that version.
+     *
+     * @return The version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    public boolean isCaseInsensitive() {
+        return caseInsensitive;
+    }
+
     // Existing methods
     public List<String> getLookupValues() {
         return lookupValues;
     }
 
     public boolean containsValue(String value) {
-        return lookupValues.contains(value);
+        return value != null ? index.find(value) != null : index.containsNull;
+    }
+
+    /**
+     * An immutable index of accepted values, mapping the normalised form of each value to the value itself.
+     */
+    private abstract static class ValueIndex {
+        // Lists up to this size are scanned, which is faster than hashing the probe
+        private static final int SCAN_THRESHOLD = 8;
+
+        final boolean caseInsensitive;
+        final boolean containsNull;
+
+        ValueIndex(boolean caseInsensitive, boolean containsNull) {
+            this.caseInsensitive = caseInsensitive;
+            this.containsNull = containsNull;
+        }
+
+        static ValueIndex build(List<String> values, boolean caseInsensitive) {
+            Map<String, String> accepted = new HashMap<>();
+            boolean containsNull = false;
+            if (values != null) {
+                for (String value : values) {
+                    if (value == null) {
+                        containsNull = true;
+                    } else {
+                        // The first of several values that normalise alike is the canonical one
+                        accepted.putIfAbsent(normalise(value, caseInsensitive), value);
+                    }
+                }
+            }
+            if (accepted.size() <= SCAN_THRESHOLD) {
+                return new ScanIndex(accepted, caseInsensitive, containsNull);
+            }
+            return new HashIndex(accepted, caseInsensitive, containsNull);
+        }
+
+        static String normalise(String value, boolean caseInsensitive) {
+            return caseInsensitive ? value.toLowerCase(Locale.ROOT) : value;
+        }
+
+        /**
+         * Find the accepted value matching a value.
+         *
+         * @param value The value
+         * @return The accepted value, or null if the value is not accepted
+         */
+        final String find(String value) {
+            return lookup(normalise(value, caseInsensitive));
+        }
+
+        abstract String lookup(String key);
+    }
+
+    private static final class ScanIndex extends ValueIndex {
+        private final String[] keys;
+        private final String[] values;
+
+        ScanIndex(Map<String, String> accepted, boolean caseInsensitive, boolean containsNull) {
+            super(caseInsensitive, containsNull);
+            this.keys = accepted.keySet().toArray(new String[0]);
+            this.values = new String[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                values[i] = accepted.get(keys[i]);
+            }
+        }
+
+        @Override
+        String lookup(String key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].equals(key)) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class HashIndex extends ValueIndex {
+        private final Map<String, String> accepted;
+
+        HashIndex(Map<String, String> accepted, boolean caseInsensitive, boolean containsNull) {
+            super(caseInsensitive, containsNull);
+            this.accepted = Map.copyOf(accepted);
+        }
+
+        @Override
+        String lookup(String key) {
+            return accepted.get(key);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,124 @@
+package com.rulesengine.demo.service;
+
+import com.rulesengine.core.service.LookupServiceRegistry;
+import com.rulesengine.core.service.Validator;
+import com.rulesengine.demo.model.Trade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CategoryRoutedTradeMatcher.
+ */
+public class CategoryRoutedTradeMatcherTest {
+    private static final List<String> VALIDATORS = List.of("InstrumentTypes", "Markets", "TradeStatuses");
+
+    private LookupServiceRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new LookupServiceRegistry();
+        registry.registerService(new LookupService("InstrumentTypes", Arrays.asList("Equity", "Bond")));
+        registry.registerService(new LookupService("Markets", Arrays.asList("NYSE", "LSE", "Equity")));
+        registry.registerService(new LookupService("TradeStatuses", Arrays.asList("Executed", null)));
+    }
+
+    @Test
+    public void testTradesAreOnlyCheckedAgainstTheirCategory() {
+        CategoryRoutedTradeMatcher matcher = new CategoryRoutedTradeMatcher(registry);
+        List<Trade> trades = List.of(
+                new Trade("T1", "Equity", "InstrumentType"),
+                new Trade("T2", "NYSE", "InstrumentType"),
+                new Trade("T3", "NYSE", "Market"),
+                new Trade("T4", "Executed", "TradeStatus"),
+                new Trade("T5", "LSE", "Uncategorized"),
+                new Trade("T6", "Unknown", "Uncategorized"));
+
+        assertEquals(List.of(trades.get(0), trades.get(2), trades.get(3), trades.get(4)),
+                matcher.findMatchingRecords(trades, VALIDATORS));
+        assertEquals(List.of(trades.get(1), trades.get(5)), matcher.findNonMatchingRecords(trades, VALIDATORS));
+        // Only the requested validators are checked
+        assertEquals(List.of(trades.get(2), trades.get(4)), matcher.findMatchingRecords(trades, List.of("Markets")));
+    }
+
+    @Test
+    public void testAcceptingLookupsAreFoundInOneProbe() {
+        CategoryRoutedTradeMatcher matcher = new CategoryRoutedTradeMatcher(registry);
+
+        assertEquals(List.of("InstrumentTypes", "Markets"), matcher.getAcceptingLookups("Equity"));
+        assertEquals(List.of("TradeStatuses"), matcher.getAcceptingLookups("Executed"));
+        assertEquals(List.of(), matcher.getAcceptingLookups("Unknown"));
+        assertEquals(List.of(), matcher.getAcceptingLookups(null));
+        assertEquals(List.of(), matcher.getAcceptingLookups(42));
+    }
+
+    @Test
+    public void testUnindexedValidatorsAreCalled() {
+        LookupService markets = new LookupService("Markets", Arrays.asList("NYSE"));
+        markets.setCaseInsensitive(true);
+        registry.registerService(markets);
+        registry.registerService(new Validator() {
+            @Override
+            public String getName() {
+                return "Prefixed";
+            }
+
+            @Override
+            public boolean validate(Object value) {
+                return value instanceof String && ((String) value).startsWith("X");
+            }
+        });
+        CategoryRoutedTradeMatcher matcher = new CategoryRoutedTradeMatcher(registry,
+                Map.of("Market", List.of("Markets", "Prefixed")));
+
+        List<Trade> trades = List.of(new Trade("T1", "nyse", "Market"), new Trade("T2", "XLON", "Market"),
+                new Trade("T3", "LSE", "Market"));
+
+        assertEquals(trades.subList(0, 2), matcher.findMatchingRecords(trades, List.of("Markets", "Prefixed")));
+        assertEquals(List.of("Markets"), matcher.getAcceptingLookups("nyse"));
+        assertEquals(List.of("Prefixed"), matcher.getAcceptingLookups("XLON"));
+    }
+
+    @Test
+    public void testSubclassesOfLookupServiceAreCalled() {
+        registry.registerService(new LookupService("Markets", Arrays.asList("NYSE")) {
+            @Override
+            public boolean validate(Object value) {
+                return super.validate(value) || "XLON".equals(value);
+            }
+        });
+        CategoryRoutedTradeMatcher matcher = new CategoryRoutedTradeMatcher(registry);
+
+        assertTrue(matcher.matcher(VALIDATORS).test(new Trade("T1", "XLON", "Market")));
+        assertTrue(matcher.matcher(VALIDATORS).test(new Trade("T2", "NYSE", "Market")));
+        assertEquals(List.of("Markets"), matcher.getAcceptingLookups("XLON"));
+    }
+
+    @Test
+    public void testChangedLookupsArePickedUp() {
+        CategoryRoutedTradeMatcher matcher = new CategoryRoutedTradeMatcher(registry);
+        Trade trade = new Trade("T1", "TSE", "Market");
+        Predicate<Trade> predicate = matcher.matcher(VALIDATORS);
+        assertFalse(predicate.test(trade));
+
+        registry.registerService(new LookupService("Markets", Arrays.asList("TSE")));
+        assertTrue(matcher.matcher(VALIDATORS).test(trade));
+        assertFalse(predicate.test(trade));
+
+        registry.getService("Markets", LookupService.class).setLookupValues(Arrays.asList("HKEX"));
+        assertFalse(matcher.matcher(VALIDATORS).test(trade));
+        assertEquals(List.of("Markets"), matcher.getAcceptingLookups("HKEX"));
+
+        registry.getService("InstrumentTypes", LookupService.class).setCaseInsensitive(true);
+        assertEquals(List.of("InstrumentTypes"), matcher.getAcceptingLookups("equity"));
+        assertSame(matcher, matcher.refresh());
+        assertThrows(IllegalArgumentException.class, () -> new CategoryRoutedTradeMatcher(null));
+        assertThrows(IllegalArgumentException.class, () -> new CategoryRoutedTradeMatcher(registry, null));
+    }
+}
@@ -0,0 +1,371 @@
+package com.rulesengine.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DataServiceManager.
+ */
+public class DataServiceManagerTest {
+
+    /**
+     * A data source that returns "dataType:parameters", counts its calls and can be made to wait or fail.
+     * Batches are served in one call.
+     */
+    private static final class CountingDataSource implements DataSource {
+        final AtomicInteger calls = new AtomicInteger();
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        volatile CountDownLatch release;
+        volatile boolean failNext;
+
+        @Override
+        public String getName() {
+            return "counting";
+        }
+
+        @Override
+        public String getDataType() {
+            return "prices";
+        }
+
+        @Override
+        public boolean supportsDataType(String dataType) {
+            return "prices".equals(dataType);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T getData(String dataType, Object... parameters) {
+            calls.incrementAndGet();
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("Source unavailable");
+            }
+            CountDownLatch latch = release;
+            if (latch != null) {
+                try {
+                    latch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return (T) (dataType + ":" + String.join(",", toStrings(parameters)));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> List<T> getDataBatch(String dataType, List<Object[]> parametersList) {
+            batchSizes.add(parametersList.size());
+            List<T> results = new ArrayList<>();
+            for (Object[] parameters : parametersList) {
+                results.add((T) (dataType + ":" + String.join(",", toStrings(parameters))));
+            }
+            return results;
+        }
+
+        private static List<String> toStrings(Object[] parameters) {
+            List<String> strings = new ArrayList<>();
+            for (Object parameter : parameters) {
+                strings.add(String.valueOf(parameter));
+            }
+            return strings;
+        }
+    }
+
+    @Test
+    public void testRequestsAreNotCachedByDefault() {
+        CountingDataSource source = new CountingDataSource();
+        DataServiceManager manager = new DataServiceManager().loadDataSource(source);
+
+        assertEquals("prices:AAPL", manager.requestData("prices", "AAPL"));
+        assertEquals("prices:AAPL", manager.requestDataByName("counting", "prices", "AAPL"));
+
+        assertEquals(2, source.calls.get());
+        assertEquals(0, manager.getCacheSize());
+    }
+
+    @Test
+    public void testConcurrentAsyncRequestsAreCoalesced() throws Exception {
+        CountingDataSource source = new CountingDataSource();
+        source.release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            DataServiceManager manager = new DataServiceManager().setExecutor(executor).loadDataSource(source);
+
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(manager.requestDataAsync("prices", "AAPL", 1));
+            }
+            CompletableFuture<String> other = manager.requestDataByNameAsync("counting", "prices", "MSFT", 1);
+            source.release.countDown();
+
+            for (CompletableFuture<String> future : futures) {
+                assertEquals("prices:AAPL,1", future.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals("prices:MSFT,1", other.get(10, TimeUnit.SECONDS));
+            assertEquals(2, source.calls.get());
+            assertEquals(2, manager.getLoadCount());
+            assertEquals(9, manager.getCoalescedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCallersCannotCompleteSharedRequest() throws Exception {
+        CountingDataSource source = new CountingDataSource();
+        source.release = new CountDownLatch(1);
+        DataServiceManager manager = new DataServiceManager().loadDataSource(source);
+
+        CompletableFuture<String> first = manager.requestDataAsync("prices", "AAPL");
+        CompletableFuture<String> second = manager.requestDataAsync("prices", "AAPL");
+        first.complete("tampered");
+        source.release.countDown();
+
+        assertEquals("prices:AAPL", second.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testResultsAreCachedPerParameters() {
+        CountingDataSource source = new CountingDataSource();
+        DataServiceManager manager = new DataServiceManager()
+                .setCacheTtl(Duration.ofMinutes(5))
+                .loadDataSource(source);
+
+        assertEquals("prices:AAPL", manager.requestData("prices", "AAPL"));
+        assertEquals("prices:AAPL", manager.requestData("prices", "AAPL"));
+        assertEquals("prices:AAPL", manager.requestDataByName("counting", "prices", "AAPL"));
+        assertEquals("prices:MSFT", manager.requestData("prices", "MSFT"));
+        assertEquals("prices:", manager.requestData("prices"));
+
+        assertEquals(3, source.calls.get());
+        assertEquals(2, manager.getCacheHitCount());
+        assertEquals(3, manager.getCacheSize());
+
+        manager.invalidateCache("prices");
+        manager.requestData("prices", "AAPL");
+        assertEquals(4, source.calls.get());
+    }
+
+    @Test
+    public void testCachedResultsExpire() throws Exception {
+        CountingDataSource source = new CountingDataSource();
+        DataServiceManager manager = new DataServiceManager()
+                .setCacheTtl(Duration.ofMillis(20))
+                .loadDataSource(source);
+
+        manager.requestData("prices", "AAPL");
+        manager.requestData("prices", "AAPL");
+        assertEquals(1, source.calls.get());
+
+        Thread.sleep(50);
+        manager.requestData("prices", "AAPL");
+        assertEquals(2, source.calls.get());
+    }
+
+    @Test
+    public void testCacheIsBoundedByCapacity() {
+        CountingDataSource source = new CountingDataSource();
+        DataServiceManager manager = new DataServiceManager()
+                .setCacheTtl(Duration.ofMinutes(5))
+                .setCacheCapacity(10)
+                .loadDataSource(source);
+
+        for (int i = 0; i < 50; i++) {
+            manager.requestData("prices", "instrument" + i);
+        }
+
+        assertTrue(manager.getCacheSize() <= 10, "size " + manager.getCacheSize());
+        assertTrue(manager.getEvictionCount() >= 40, "evictions " + manager.getEvictionCount());
+        // The most recently loaded result is still cached
+        manager.requestData("prices", "instrument49");
+        assertEquals(50, source.calls.get());
+    }
+
+    @Test
+    public void testFailuresAreNotCached() {
+        CountingDataSource source = new CountingDataSource();
+        DataServiceManager manager = new DataServiceManager()
+                .setCacheTtl(Duration.ofMinutes(5))
+                .loadDataSource(source);
+        source.failNext = true;
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> manager.requestData("prices", "AAPL"));
+        assertEquals("Source unavailable", e.getMessage());
+        assertEquals("prices:AAPL", manager.requestData("prices", "AAPL"));
+        assertEquals(2, source.calls.get());
+    }
+
+    @Test
+    public void testRejectedLoadsFailAndAreNotCached() throws Exception {
+        CountingDataSource source = new CountingDataSource();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        DataServiceManager manager = new DataServiceManager()
+                .setCacheTtl(Duration.ofMinutes(5))
+                .setExecutor(executor)
+                .loadDataSource(source);
+
+        CompletableFuture<String> future = manager.requestDataAsync("prices", "AAPL");
+        CompletableFuture<List<String>> batch = manager.requestDataBatchAsync("prices",
+                List.<Object[]>of(new Object[]{"MSFT"}));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+        e = assertThrows(ExecutionException.class, () -> batch.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+        assertEquals(0, manager.getCacheSize());
+        assertEquals("prices:AAPL", manager.requestData("prices", "AAPL"));
+        assertEquals(List.of("prices:MSFT"), manager.requestDataBatch("prices", List.<Object[]>of(new Object[]{"MSFT"})));
+    }
+
+    @Test
+    public void testReusedParameterArraysDoNotCorruptTheCache() {
+        CountingDataSource source = new CountingDataSource();
+        DataServiceManager manager = new DataServiceManager()
+                .setCacheTtl(Duration.ofMinutes(5))
+                .loadDataSource(source);
+        Object[] parameters = {"AAPL"};
+
+        manager.requestData("prices", parameters);
+        parameters[0] = "MSFT";
+        manager.requestData("prices", parameters);
+        manager.requestData("prices", "AAPL");
+        manager.requestDataBatch("prices", List.<Object[]>of(parameters));
+
+        assertEquals(2, source.calls.get());
+        assertEquals(2, manager.getCacheHitCount());
+        manager.invalidateCache("prices");
+        assertEquals(0, manager.getCacheSize());
+    }
+
+    @Test
+    public void testReloadingSourceInvalidatesItsResults() {
+        CountingDataSource source = new CountingDataSource();
+        DataServiceManager manager = new DataServiceManager()
+                .setCacheTtl(Duration.ofMinutes(5))
+                .loadDataSource(source);
+        manager.requestData("prices", "AAPL");
+
+        CountingDataSource replacement = new CountingDataSource();
+        manager.loadDataSource(replacement);
+        manager.requestData("prices", "AAPL");
+
+        assertEquals(1, replacement.calls.get());
+        assertEquals(1, manager.getCacheSize());
+    }
+
+    private static List<Object[]> parameters(Object... values) {
+        List<Object[]> parametersList = new ArrayList<>();
+        for (Object value : values) {
+            parametersList.add(new Object[] {value});
+        }
+        return parametersList;
+    }
+
+    @Test
+    public void testBatchIsServedInOneCall() {
+        CountingDataSource source = new CountingDataSource();
+        DataServiceManager manager = new DataServiceManager().loadDataSource(source);
+
+        List<String> results = manager.requestDataBatch("prices", parameters("AAPL", "MSFT", "AAPL"));
+
+        assertEquals(List.of("prices:AAPL", "prices:MSFT", "prices:AAPL"), results);
+        assertEquals(List.of(3), source.batchSizes);
+        assertEquals(0, source.calls.get());
+        assertEquals(List.of("prices:IBM"),
+                manager.requestDataBatchByName("counting", "prices", parameters("IBM")));
+        assertNull(manager.requestDataBatch("missing", parameters("IBM")));
+    }
+
+    @Test
+    public void testBatchOnlyLoadsUncachedRequests() throws Exception {
+        CountingDataSource source = new CountingDataSource();
+        DataServiceManager manager = new DataServiceManager()
+                .setCacheTtl(Duration.ofMinutes(5))
+                .loadDataSource(source);
+        manager.requestData("prices", "AAPL");
+
+        List<String> results = manager.requestDataBatch("prices", parameters("AAPL", "MSFT", "MSFT", "IBM"));
+
+        assertEquals(List.of("prices:AAPL", "prices:MSFT", "prices:MSFT", "prices:IBM"), results);
+        // MSFT is loaded once for both requests, AAPL comes from the cache
+        assertEquals(List.of(2), source.batchSizes);
+        assertEquals(1, manager.getCacheHitCount());
+        assertEquals(1, manager.getCoalescedCount());
+        assertEquals(3, manager.getCacheSize());
+
+        List<String> cached = manager.<String>requestDataBatchAsync("prices", parameters("IBM", "AAPL"))
+                .get(10, TimeUnit.SECONDS);
+        assertEquals(List.of("prices:IBM", "prices:AAPL"), cached);
+        assertEquals(1, source.batchSizes.size());
+    }
+
+    @Test
+    public void testDefaultBatchCallsSourcePerRequest() {
+        CountingDataSource counting = new CountingDataSource();
+        DataSource plain = new DataSource() {
+            @Override
+            public String getName() {
+                return "plain";
+            }
+
+            @Override
+            public String getDataType() {
+                return "prices";
+            }
+
+            @Override
+            public boolean supportsDataType(String dataType) {
+                return counting.supportsDataType(dataType);
+            }
+
+            @Override
+            public <T> T getData(String dataType, Object... parameters) {
+                return counting.getData(dataType, parameters);
+            }
+        };
+
+        List<String> results = plain.getDataBatch("prices", parameters("AAPL", "MSFT"));
+
+        assertEquals(List.of("prices:AAPL", "prices:MSFT"), results);
+        assertEquals(2, counting.calls.get());
+    }
+
+    @Test
+    public void testCustomDataSourceServesBatch() {
+        CustomDataSource source = new CustomDataSource("custom", "rates");
+        source.addData("rates", 1.5);
+
+        assertEquals(List.of(1.5, 1.5, 1.5), source.getDataBatch("rates", parameters("EUR", "GBP", "JPY")));
+        assertEquals(Arrays.asList(null, null), source.getDataBatch("prices", parameters("EUR", "GBP")));
+    }
+
+    @Test
+    public void testMissingSourcesAndInvalidSettings() throws Exception {
+        DataServiceManager manager = new DataServiceManager();
+
+        assertNull(manager.requestData(null));
+        assertNull(manager.requestDataAsync("missing").get());
+        assertNull(manager.requestDataByNameAsync("missing", "prices").get());
+        assertThrows(IllegalArgumentException.class, () -> manager.setCacheTtl(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> manager.setCacheCapacity(0));
+        assertThrows(IllegalArgumentException.class, () -> manager.setExecutor(null));
+    }
+}
@@ -0,0 +1,135 @@
+package com.rulesengine.demo.service;
+
+import com.rulesengine.core.service.LookupServiceRegistry;
+import com.rulesengine.demo.model.Trade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DemoTradeRecordMatcher.
+ */
+public class DemoTradeRecordMatcherTest {
+    private static final List<String> VALIDATORS = List.of("InstrumentTypes", "Markets", "Missing");
+
+    private DemoTradeRecordMatcher matcher;
+    private DemoTradeRecordMatcher parallelMatcher;
+
+    @BeforeEach
+    public void setUp() {
+        LookupServiceRegistry registry = new LookupServiceRegistry();
+        registry.registerService(new LookupService("InstrumentTypes", Arrays.asList("Equity", "Bond")));
+        registry.registerService(new LookupService("Markets", Arrays.asList("NYSE", "LSE")));
+        registry.registerService(new LookupService("TradeStatuses", Arrays.asList("Executed")));
+        matcher = new DemoTradeRecordMatcher(registry);
+        parallelMatcher = new DemoTradeRecordMatcher(registry, true);
+    }
+
+    /**
+     * Create trades of which every third one carries an unknown value.
+     */
+    private static List<Trade> trades(int count) {
+        String[] values = {"Equity", "NYSE", "Unknown"};
+        List<Trade> trades = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            trades.add(new Trade("T" + i, values[i % values.length], "InstrumentType"));
+        }
+        return trades;
+    }
+
+    @Test
+    public void testFindMatchingAndNonMatchingRecords() {
+        List<Trade> trades = List.of(
+                new Trade("T1", "Equity", "InstrumentType"),
+                new Trade("T2", "Executed", "TradeStatus"),
+                new Trade("T3", "LSE", "Market"));
+
+        List<Trade> matching = matcher.findMatchingRecords(trades, VALIDATORS);
+        List<Trade> nonMatching = matcher.findNonMatchingRecords(trades, VALIDATORS);
+
+        assertEquals(List.of(trades.get(0), trades.get(2)), matching);
+        assertEquals(List.of(trades.get(1)), nonMatching);
+        assertTrue(matcher.findMatchingRecords(trades, List.of("Missing")).isEmpty());
+    }
+
+    @Test
+    public void testLargeListsAreMatchedOnTheCallingThreadByDefault() {
+        List<Trade> trades = trades(DemoTradeRecordMatcher.PARALLEL_THRESHOLD * 3);
+        Thread caller = Thread.currentThread();
+        LookupServiceRegistry registry = new LookupServiceRegistry();
+        registry.registerService(new LookupService("Markets", Arrays.asList("NYSE")) {
+            @Override
+            public boolean validate(Object value) {
+                assertSame(caller, Thread.currentThread());
+                return super.validate(value);
+            }
+        });
+        DemoTradeRecordMatcher matcher = new DemoTradeRecordMatcher(registry);
+
+        assertFalse(matcher.isParallel());
+        assertEquals(DemoTradeRecordMatcher.PARALLEL_THRESHOLD,
+                matcher.findMatchingRecords(trades, List.of("Markets")).size());
+        assertEquals(DemoTradeRecordMatcher.PARALLEL_THRESHOLD * 2,
+                matcher.partitionRecords(trades, List.of("Markets")).get(false).size());
+    }
+
+    @Test
+    public void testLargeListsAreMatchedInSourceOrder() {
+        List<Trade> trades = trades(DemoTradeRecordMatcher.PARALLEL_THRESHOLD * 3);
+
+        List<Trade> matching = parallelMatcher.findMatchingRecords(trades, VALIDATORS);
+        List<Trade> nonMatching = parallelMatcher.findNonMatchingRecords(trades, VALIDATORS);
+        Map<Boolean, List<Trade>> partition = parallelMatcher.partitionRecords(trades, VALIDATORS);
+
+        assertEquals(DemoTradeRecordMatcher.PARALLEL_THRESHOLD * 2, matching.size());
+        assertEquals(DemoTradeRecordMatcher.PARALLEL_THRESHOLD, nonMatching.size());
+        for (int i = 0; i < nonMatching.size(); i++) {
+            assertSame(trades.get(i * 3 + 2), nonMatching.get(i));
+        }
+        assertEquals(matching, partition.get(true));
+        assertEquals(nonMatching, partition.get(false));
+        assertTrue(parallelMatcher.isParallel());
+        assertEquals(matching, matcher.findMatchingRecords(trades, VALIDATORS));
+    }
+
+    @Test
+    public void testMatchRecordsStreamsTrades() {
+        List<Trade> trades = trades(30_000);
+        LongAdder matching = new LongAdder();
+        AtomicInteger nonMatching = new AtomicInteger();
+
+        matcher.matchRecords(trades.parallelStream(), VALIDATORS,
+                trade -> matching.increment(),
+                trade -> {
+                    assertEquals("Unknown", trade.getValue());
+                    nonMatching.incrementAndGet();
+                });
+
+        assertEquals(20_000, matching.sum());
+        assertEquals(10_000, nonMatching.get());
+    }
+
+    @Test
+    public void testMatcherUsesValidatorsResolvedOnce() {
+        LookupServiceRegistry registry = new LookupServiceRegistry();
+        LookupService markets = new LookupService("Markets", Arrays.asList("NYSE"));
+        registry.registerService(markets);
+        DemoTradeRecordMatcher matcher = new DemoTradeRecordMatcher(registry);
+
+        Predicate<Trade> predicate = matcher.matcher(List.of("Markets"));
+        registry.registerService(new LookupService("Markets", Arrays.asList("LSE")));
+
+        assertTrue(predicate.test(new Trade("T1", "NYSE", "Market")));
+        assertFalse(predicate.test(new Trade("T2", "LSE", "Market")));
+        assertTrue(matcher.matcher(List.of("Markets")).test(new Trade("T2", "LSE", "Market")));
+    }
+}
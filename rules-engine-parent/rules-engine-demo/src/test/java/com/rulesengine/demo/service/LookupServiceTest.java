@@ -0,0 +1,92 @@
+package com.rulesengine.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for LookupService.
+ */
+public class LookupServiceTest {
+
+    private static List<String> codes(int count) {
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            codes.add("CODE" + i);
+        }
+        return codes;
+    }
+
+    @Test
+    public void testValidatesShortAndLongLists() {
+        for (int size : new int[] {0, 3, 8, 9, 10000}) {
+            LookupService service = new LookupService("codes", codes(size));
+
+            for (int i = 0; i < size; i += Math.max(1, size / 100)) {
+                assertTrue(service.validate("CODE" + i), "CODE" + i + " of " + size);
+                assertTrue(service.containsValue("CODE" + i));
+            }
+            assertFalse(service.validate("CODE" + size));
+            assertFalse(service.validate("code0"));
+            assertFalse(service.validate(42));
+            assertFalse(service.validate(null));
+            assertFalse(service.containsValue(null));
+        }
+    }
+
+    @Test
+    public void testSetLookupValuesRebuildsIndex() {
+        LookupService service = new LookupService("markets", Arrays.asList("NYSE", "LSE"));
+        List<String> values = Arrays.asList("TSE", null);
+        long version = service.getVersion();
+
+        service.setLookupValues(values);
+
+        assertSame(values, service.getLookupValues());
+        assertTrue(service.getVersion() > version);
+        assertTrue(service.validate("TSE"));
+        assertFalse(service.validate("NYSE"));
+        assertTrue(service.containsValue(null));
+    }
+
+    @Test
+    public void testCaseInsensitiveMode() {
+        for (List<String> values : List.of(Arrays.asList("NYSE", "LSE"), codes(100))) {
+            List<String> markets = new ArrayList<>(values);
+            markets.add("NASDAQ");
+            LookupService service = new LookupService("markets", markets);
+            assertFalse(service.validate("nasdaq"));
+
+            service.setCaseInsensitive(true);
+
+            assertTrue(service.isCaseInsensitive());
+            assertTrue(service.validate("nasdaq"));
+            assertTrue(service.validate("Nasdaq"));
+            assertTrue(service.containsValue("NASDAQ"));
+            assertFalse(service.validate("nasdaq2"));
+        }
+    }
+
+    @Test
+    public void testEnrichAndTransformUseAcceptedValue() {
+        LookupService service = new LookupService("markets", Arrays.asList("NYSE", "LSE"));
+        service.setEnrichmentData(Map.of("NYSE", "New York Stock Exchange"));
+        service.setTransformationFunction(value -> value + "!");
+
+        assertEquals("New York Stock Exchange", service.enrich("NYSE"));
+        assertEquals("nyse", service.enrich("nyse"));
+        assertEquals("nyse!", service.transform("nyse"));
+
+        service.setCaseInsensitive(true);
+
+        assertEquals("New York Stock Exchange", service.enrich("nyse"));
+        assertEquals("NYSE!", service.transform("nyse"));
+        assertEquals("TSE!", service.transform("TSE"));
+        assertEquals(42, service.enrich(42));
+    }
+}